@@ -0,0 +1,75 @@
+package io.cockroachdb.ledger.domain;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.cockroachdb.ledger.config.JacksonConfig;
+import io.cockroachdb.ledger.util.Money;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransferRequestJsonBenchmark {
+    @Param({"2", "128"})
+    private int legs;
+
+    private ObjectMapper objectMapper;
+
+    private TransferRequest transferRequest;
+
+    private String json;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        objectMapper = new JacksonConfig().objectMapper();
+
+        Money amount = Money.of("500.00", Money.USD);
+
+        TransferRequest.Builder builder = TransferRequest.builder()
+                .withId(UUID.randomUUID())
+                .withCity(City.of("new york", "USA", "USD"))
+                .withTransferType(TransferType.GRANT)
+                .withBookingDate(LocalDate.now())
+                .withTransferDate(LocalDate.now());
+
+        builder.addItem()
+                .withId(UUID.randomUUID())
+                .withAmount(amount.multiply(legs - 1).negate())
+                .withNote("debit")
+                .then();
+
+        for (int i = 1; i < legs; i++) {
+            builder.addItem()
+                    .withId(UUID.randomUUID())
+                    .withAmount(amount)
+                    .withNote("credit " + i)
+                    .then();
+        }
+
+        transferRequest = builder.build();
+        json = objectMapper.writeValueAsString(transferRequest);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(transferRequest);
+    }
+
+    @Benchmark
+    public TransferRequest deserialize() throws JsonProcessingException {
+        return objectMapper.readValue(json, TransferRequest.class);
+    }
+}
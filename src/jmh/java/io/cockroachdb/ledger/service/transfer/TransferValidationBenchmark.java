@@ -0,0 +1,61 @@
+package io.cockroachdb.ledger.service.transfer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.cockroachdb.ledger.domain.AccountItem;
+import io.cockroachdb.ledger.util.Money;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransferValidationBenchmark {
+    @Param({"2", "16", "128"})
+    private int legs;
+
+    private List<AccountItem> accountItems;
+
+    @Setup
+    public void setup() {
+        // Grant style transfer with one debit leg and n-1 credit legs
+        Money amount = Money.of("500.00", Money.USD);
+
+        accountItems = new ArrayList<>();
+
+        AccountItem debit = new AccountItem();
+        debit.setId(UUID.randomUUID());
+        debit.setAmount(amount.multiply(legs - 1).negate());
+        accountItems.add(debit);
+
+        for (int i = 1; i < legs; i++) {
+            AccountItem credit = new AccountItem();
+            credit.setId(UUID.randomUUID());
+            credit.setAmount(amount);
+            accountItems.add(credit);
+        }
+    }
+
+    @Benchmark
+    public Set<UUID> validateAccountItems() {
+        return DefaultTransferService.validateAccountItems(accountItems);
+    }
+
+    @Benchmark
+    public Map<UUID, BigDecimal> coalesceItems() {
+        return DefaultTransferService.coalesceItems(accountItems);
+    }
+}
@@ -0,0 +1,55 @@
+package io.cockroachdb.ledger.util;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyBenchmark {
+    private final Money a = Money.of("1250.75", Money.USD);
+
+    private final Money b = Money.of("99.25", Money.USD);
+
+    @Benchmark
+    public Money plus() {
+        return a.plus(b);
+    }
+
+    @Benchmark
+    public Money minus() {
+        return a.minus(b);
+    }
+
+    @Benchmark
+    public Money multiply() {
+        return a.multiply(128);
+    }
+
+    @Benchmark
+    public Money negate() {
+        return a.negate();
+    }
+
+    @Benchmark
+    public Money ofString() {
+        return Money.of("1250.75", "USD");
+    }
+
+    @Benchmark
+    public Money ofBigDecimal() {
+        return Money.of(BigDecimal.valueOf(125075, 2), Money.USD);
+    }
+
+    @Benchmark
+    public Money parse() {
+        return Money.parse("1250.75 USD");
+    }
+}
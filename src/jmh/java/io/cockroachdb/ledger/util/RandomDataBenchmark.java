@@ -0,0 +1,41 @@
+package io.cockroachdb.ledger.util;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RandomDataBenchmark {
+    @Param({"1024", "8192"})
+    private int numAccounts;
+
+    @Param({"2", "128"})
+    private int count;
+
+    private List<UUID> accountIds;
+
+    @Setup
+    public void setup() {
+        accountIds = IntStream.range(0, numAccounts)
+                .mapToObj(value -> UUID.randomUUID())
+                .toList();
+    }
+
+    @Benchmark
+    public Collection<UUID> selectRandomUnique() {
+        return RandomData.selectRandomUnique(accountIds, count);
+    }
+}
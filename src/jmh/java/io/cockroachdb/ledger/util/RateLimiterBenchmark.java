@@ -0,0 +1,30 @@
+package io.cockroachdb.ledger.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RateLimiterBenchmark {
+    private final RateLimiter rateLimiter = new RateLimiter(4);
+
+    @Benchmark
+    @Threads(1)
+    public boolean tryAcquireSingleThread() {
+        return rateLimiter.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean tryAcquireContended() {
+        return rateLimiter.tryAcquire();
+    }
+}
@@ -0,0 +1,43 @@
+package io.cockroachdb.ledger.util.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetricsBenchmark {
+    private final Metrics metrics = Metrics.live();
+
+    private static Duration randomCallTime() {
+        return Duration.ofMicros(ThreadLocalRandom.current().nextLong(500, 50_000));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void markSuccessSingleThread() {
+        metrics.markSuccess(randomCallTime());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void markSuccessContended() {
+        metrics.markSuccess(randomCallTime());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public double readP99() {
+        metrics.markSuccess(randomCallTime());
+        return metrics.getP99();
+    }
+}
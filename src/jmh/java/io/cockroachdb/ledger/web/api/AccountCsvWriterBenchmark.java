@@ -0,0 +1,52 @@
+package io.cockroachdb.ledger.web.api;
+
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.domain.AccountType;
+import io.cockroachdb.ledger.util.Money;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AccountCsvWriterBenchmark {
+    private static final int BATCH_SIZE = 1024;
+
+    private List<AccountEntity> accounts;
+
+    private AccountCsvWriter csvWriter;
+
+    @Setup
+    public void setup() {
+        accounts = IntStream.range(0, BATCH_SIZE)
+                .mapToObj(value -> AccountEntity.builder()
+                        .withGeneratedId()
+                        .withCity("new york")
+                        .withName("user:" + value)
+                        .withBalance(Money.of("5000.00", Money.USD))
+                        .withAccountType(AccountType.ASSET)
+                        .withAllowNegative(false)
+                        .build())
+                .toList();
+        csvWriter = new AccountCsvWriter(new PrintWriter(OutputStream.nullOutputStream()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void writeItems() {
+        accounts.forEach(csvWriter::writeItem);
+    }
+}
@@ -10,13 +10,24 @@ public interface RetryHandler {
 
     void handleNonTransientException(SQLException sqlException);
 
-    void handleTransientException(SQLException sqlException,
-                                  int methodCalls,
-                                  Signature signature,
-                                  long maxBackoff);
+    /**
+     * Handle a transient exception before a retry, typically by backing off.
+     *
+     * @return true to retry or false to give up, for example if a retry budget is exhausted
+     */
+    boolean handleTransientException(SQLException sqlException,
+                                     int methodCalls,
+                                     Signature signature,
+                                     long maxBackoff);
 
     void handleTransientExceptionRecovery(SQLException sqlException,
                                           int methodCalls,
                                           Signature signature,
                                           Duration elapsedTime);
+
+    /**
+     * Invoked after each successful method call, with or without retries.
+     */
+    default void handleSuccess(Signature signature) {
+    }
 }
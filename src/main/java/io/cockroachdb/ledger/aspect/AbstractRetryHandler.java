@@ -0,0 +1,47 @@
+package io.cockroachdb.ledger.aspect;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import org.aspectj.lang.Signature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.cockroachdb.ledger.annotation.RetryHandler;
+
+/**
+ * Base class for retry handlers that share the classification of retryable
+ * state codes and the logging of non-transient errors and recoveries,
+ * leaving the backoff strategy to subclasses.
+ */
+public abstract class AbstractRetryHandler implements RetryHandler {
+    protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Override
+    public boolean isRetryable(SQLException sqlException) {
+        // 40001 is the only state code we are looking for in terms of safe retries, next
+        // to 55P03 (lock not available) raised by NOWAIT locking reads before any writes
+//        return PSQLState.SERIALIZATION_FAILURE.getState().equals(sqlException.getSQLState());
+        return "40001".equals(sqlException.getSQLState())
+               || "55P03".equals(sqlException.getSQLState());
+    }
+
+    @Override
+    public void handleNonTransientException(SQLException sqlException) {
+        sqlException.forEach(ex -> {
+            SQLException nested = (SQLException) ex;
+            logger.warn("Non-transient SQL error (%s): %s".formatted(
+                    nested.getSQLState(), nested.getMessage()));
+        });
+    }
+
+    @Override
+    public void handleTransientExceptionRecovery(SQLException sqlException, int methodCalls, Signature signature,
+                                                 Duration elapsedTime) {
+        logger.info("Recovered from transient SQL error (%s) for method [%s] attempt (%d) time spent: %s"
+                .formatted(sqlException.getSQLState(),
+                        signature.toShortString(),
+                        methodCalls,
+                        elapsedTime.toString()));
+    }
+}
@@ -0,0 +1,118 @@
+package io.cockroachdb.ledger.aspect;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import io.cockroachdb.ledger.domain.RetrySettings;
+import io.cockroachdb.ledger.util.Backoff;
+import io.cockroachdb.ledger.util.RetryBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Retry handler that adapts to contention rather than backing off the same way for every
+ * method regardless of system state:
+ * <ul>
+ *     <li>Delays use decorrelated jitter, so workers aborted together don't retry in lockstep.</li>
+ *     <li>The base delay grows with the abort rate, a moving average of transient errors
+ *     over all calls.</li>
+ *     <li>Retries are bounded by a global and a per-method retry budget refilled by
+ *     successful calls, so retries can't amplify an abort spike into a storm.</li>
+ * </ul>
+ */
+public class AdaptiveRetryHandler extends AbstractRetryHandler {
+    // Weight of each call outcome in the abort rate average
+    private static final double ALPHA = 0.01;
+
+    private final RetrySettings settings;
+
+    private final RetryBudget globalBudget;
+
+    private final Map<Object, RetryBudget> methodBudgets = new ConcurrentHashMap<>();
+
+    private final AtomicLong abortRate = new AtomicLong(Double.doubleToLongBits(0));
+
+    private final ThreadLocal<Long> previousDelay = ThreadLocal.withInitial(() -> 0L);
+
+    public AdaptiveRetryHandler(RetrySettings settings, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.globalBudget = new RetryBudget(settings.getGlobalBudget(), settings.getBudgetRatio());
+
+        meterRegistry.gauge("ledger.transaction.retries.abort-rate", this, AdaptiveRetryHandler::abortRate);
+        meterRegistry.gauge("ledger.transaction.retries.budget", globalBudget, RetryBudget::availableTokens);
+    }
+
+    public double abortRate() {
+        return Double.longBitsToDouble(abortRate.get());
+    }
+
+    private void recordOutcome(double aborted) {
+        abortRate.updateAndGet(bits -> Double.doubleToLongBits(
+                Double.longBitsToDouble(bits) * (1 - ALPHA) + aborted * ALPHA));
+    }
+
+    /**
+     * @return the min backoff delay, scaled by the abort rate
+     */
+    long baseDelayMillis() {
+        return Math.max(1, (long) (settings.getBaseDelay().toMillis()
+                                   * (1 + settings.getContentionFactor() * abortRate())));
+    }
+
+    private RetryBudget methodBudget(Signature signature) {
+        // Spring AOP creates signatures per invocation, so key by method
+        Object key = signature instanceof MethodSignature methodSignature
+                ? methodSignature.getMethod() : signature.toLongString();
+        return methodBudgets.computeIfAbsent(key,
+                s -> new RetryBudget(settings.getMethodBudget(), settings.getBudgetRatio()));
+    }
+
+    @Override
+    public boolean handleTransientException(SQLException sqlException, int methodCalls, Signature signature,
+                                            long maxBackoff) {
+        recordOutcome(1);
+
+        RetryBudget methodBudget = methodBudget(signature);
+        if (!methodBudget.tryAcquire()) {
+            logger.warn("Retry budget exhausted for method [%s]".formatted(signature.toShortString()));
+            return false;
+        }
+        if (!globalBudget.tryAcquire()) {
+            methodBudget.release();
+            logger.warn("Global retry budget exhausted for method [%s]".formatted(signature.toShortString()));
+            return false;
+        }
+
+        final long baseMillis = baseDelayMillis();
+        final long capMillis = Math.max(baseMillis, maxBackoff);
+        final long backoffMillis = Backoff.decorrelatedJitter(baseMillis, capMillis,
+                methodCalls > 1 ? previousDelay.get() : 0);
+        previousDelay.set(backoffMillis);
+
+        logger.warn("Transient SQL error (%s) for method [%s] attempt (%d) backoff %s ms: %s".formatted(
+                sqlException.getSQLState(),
+                signature.toShortString(),
+                methodCalls,
+                backoffMillis,
+                sqlException.getMessage()));
+
+        try {
+            TimeUnit.MILLISECONDS.sleep(backoffMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    @Override
+    public void handleSuccess(Signature signature) {
+        recordOutcome(0);
+        globalBudget.onSuccess();
+        methodBudget(signature).onSuccess();
+    }
+}
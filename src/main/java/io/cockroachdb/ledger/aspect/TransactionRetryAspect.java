@@ -7,18 +7,22 @@ import java.time.Duration;
 import java.time.Instant;
 
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.core.NestedExceptionUtils;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.annotation.Order;
 import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
 import io.cockroachdb.ledger.annotation.AdvisorOrder;
 import io.cockroachdb.ledger.annotation.RetryHandler;
 import io.cockroachdb.ledger.annotation.Retryable;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * AOP aspect that automatically retries operations that throw transient SQL exceptions
@@ -30,6 +34,9 @@ import io.cockroachdb.ledger.annotation.Retryable;
  * levels such as serializable when a workload is contended (interleaved RW, WR or WW operations
  * that don't serialize).
  * <p>
+ * Optimistic locking failures from compare-and-set updates are retried the same way, but
+ * counted separately in the retry metrics to tell them apart from database conflicts.
+ * <p>
  * This aspect is separate from {@link TransactionDecoratorAspect} which allows it to
  * be used directly with {@link org.springframework.transaction.annotation.Transactional}
  * using propagation attribute {@link org.springframework.transaction.annotation.Propagation#REQUIRES_NEW}.
@@ -61,8 +68,27 @@ public class TransactionRetryAspect {
 
     private final RetryHandler retryHandler;
 
-    public TransactionRetryAspect(RetryHandler retryHandler) {
+    private final MeterRegistry meterRegistry;
+
+    public TransactionRetryAspect(RetryHandler retryHandler, MeterRegistry meterRegistry) {
         this.retryHandler = retryHandler;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private void countRetry(Throwable throwable, SQLException sqlException, Signature signature) {
+        meterRegistry.counter("ledger.transaction.retries",
+                "cause", throwable instanceof OptimisticLockingFailureException
+                        ? "optimistic-conflict" : sqlException.getSQLState(),
+                "method", signature.toShortString()).increment();
+    }
+
+    private void recordRecovery(Signature signature, Duration elapsedTime) {
+        Timer.builder("ledger.transaction.retries.recovery")
+                .description("Time from first call to success for retried methods")
+                .tag("method", signature.toShortString())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedTime);
     }
 
     @Around(value = "io.cockroachdb.ledger.aspect.Pointcuts.anyRetryableOperation(retryable)",
@@ -83,7 +109,7 @@ public class TransactionRetryAspect {
 
         final Instant callTime = Instant.now();
 
-        do {
+        while (true) {
             final Throwable throwable;
             try {
                 methodCalls++;
@@ -92,9 +118,13 @@ public class TransactionRetryAspect {
 
                 Object rv = pjp.proceed();
 
+                retryHandler.handleSuccess(pjp.getSignature());
+
                 if (methodCalls > 1) {
+                    Duration elapsedTime = Duration.between(callTime, Instant.now());
+                    recordRecovery(pjp.getSignature(), elapsedTime);
                     retryHandler.handleTransientExceptionRecovery(sqlException, methodCalls, pjp.getSignature(),
-                            Duration.between(callTime, Instant.now()));
+                            elapsedTime);
                 }
 
                 return rv;
@@ -110,8 +140,18 @@ public class TransactionRetryAspect {
             if (cause instanceof SQLException) {
                 sqlException = (SQLException) cause;
                 if (retryHandler.isRetryable(sqlException)) {
-                    retryHandler.handleTransientException(sqlException, methodCalls, pjp.getSignature(),
-                            retryable.maxBackoff());
+                    if (methodCalls - 1 >= retryable.retryAttempts()) {
+                        break;
+                    }
+                    if (!retryHandler.handleTransientException(sqlException, methodCalls, pjp.getSignature(),
+                            retryable.maxBackoff())) {
+                        meterRegistry.counter("ledger.transaction.retries.throttled",
+                                "method", pjp.getSignature().toShortString()).increment();
+                        throw new ConcurrencyFailureException(
+                                "Retry budget exhausted for method ["
+                                + pjp.getSignature().toShortString() + "]", throwable);
+                    }
+                    countRetry(throwable, sqlException, pjp.getSignature());
                 } else {
                     retryHandler.handleNonTransientException(sqlException);
                     throw throwable;
@@ -119,7 +159,10 @@ public class TransactionRetryAspect {
             } else {
                 throw throwable;
             }
-        } while (methodCalls - 1 < retryable.retryAttempts());
+        }
+
+        meterRegistry.counter("ledger.transaction.retries.exhausted",
+                "method", pjp.getSignature().toShortString()).increment();
 
         throw new ConcurrencyFailureException(
                 "Too many transient SQL errors (" + methodCalls + ") for method ["
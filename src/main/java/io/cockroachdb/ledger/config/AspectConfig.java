@@ -9,13 +9,17 @@ import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Profile;
 
 import io.cockroachdb.ledger.ProfileNames;
+import io.cockroachdb.ledger.aspect.AdaptiveRetryHandler;
 import io.cockroachdb.ledger.aspect.ExponentialBackoffRetryHandler;
 import io.cockroachdb.ledger.service.transfer.OutboxAspect;
 import io.cockroachdb.ledger.annotation.RetryHandler;
 import io.cockroachdb.ledger.aspect.TransactionDecoratorAspect;
 import io.cockroachdb.ledger.aspect.TransactionRetryAspect;
+import io.cockroachdb.ledger.domain.ApplicationProperties;
+import io.cockroachdb.ledger.domain.RetrySettings;
 import io.cockroachdb.ledger.repository.OutboxRepository;
 import io.cockroachdb.ledger.repository.jdbc.JdbcOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableAspectJAutoProxy(proxyTargetClass = true)
@@ -34,14 +38,20 @@ public class AspectConfig {
 
     @Bean
     @Profile(ProfileNames.RETRIES)
-    public TransactionRetryAspect transactionRetryAspect() {
-        return new TransactionRetryAspect(retryHandler());
+    public TransactionRetryAspect transactionRetryAspect(@Autowired RetryHandler retryHandler,
+                                                         @Autowired MeterRegistry meterRegistry) {
+        return new TransactionRetryAspect(retryHandler, meterRegistry);
     }
 
     @Bean
     @Profile(ProfileNames.RETRIES)
-    public RetryHandler retryHandler() {
-        return new ExponentialBackoffRetryHandler();
+    public RetryHandler retryHandler(@Autowired ApplicationProperties applicationProperties,
+                                     @Autowired MeterRegistry meterRegistry) {
+        RetrySettings settings = applicationProperties.getRetry();
+        return switch (settings.getPolicy()) {
+            case EXPONENTIAL -> new ExponentialBackoffRetryHandler();
+            case ADAPTIVE -> new AdaptiveRetryHandler(settings, meterRegistry);
+        };
     }
 
     @Bean
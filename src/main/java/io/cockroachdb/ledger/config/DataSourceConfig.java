@@ -21,6 +21,7 @@ import net.ttddyy.dsproxy.listener.logging.SLF4JQueryLoggingListener;
 import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
 
 import io.cockroachdb.ledger.ProfileNames;
+import io.cockroachdb.ledger.util.metrics.StatementShapeRegistry;
 
 @Configuration
 @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
@@ -37,6 +38,12 @@ public class DataSourceConfig {
         return new DataSourceProperties();
     }
 
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public StatementShapeRegistry statementShapeRegistry() {
+        return new StatementShapeRegistry(10_000);
+    }
+
     @Bean
     @Primary
     @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
@@ -63,6 +70,7 @@ public class DataSourceConfig {
                 .name("SQL-Trace")
                 .asJson()
                 .listener(listener)
+                .listener(statementShapeRegistry())
                 .multiline()
                 .build();
     }
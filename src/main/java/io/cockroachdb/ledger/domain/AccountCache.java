@@ -0,0 +1,55 @@
+package io.cockroachdb.ledger.domain;
+
+import java.time.Duration;
+
+import org.springframework.validation.annotation.Validated;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Validated
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccountCache {
+    private boolean enabled = true;
+
+    @Min(1)
+    private int maxCandidates = 8192;
+
+    @NotNull
+    private Duration timeToLive = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    public void setMaxCandidates(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    public @NotNull Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(@NotNull Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountCache{" +
+               "enabled=" + enabled +
+               ", maxCandidates=" + maxCandidates +
+               ", timeToLive=" + timeToLive +
+               '}';
+    }
+}
@@ -65,6 +65,9 @@ public class AccountEntity extends AbstractEntity<UUID> {
     @Column(nullable = false)
     private int allowNegative;
 
+    @Column(insertable = false, updatable = false)
+    private long version;
+
     protected AccountEntity() {
     }
 
@@ -125,6 +128,13 @@ public class AccountEntity extends AbstractEntity<UUID> {
         return allowNegative > 0;
     }
 
+    /**
+     * @return version counter incremented on each balance update
+     */
+    public long getVersion() {
+        return version;
+    }
+
     @Override
     public String toString() {
         return "Account{" +
@@ -216,6 +226,11 @@ public class AccountEntity extends AbstractEntity<UUID> {
             return this;
         }
 
+        public Builder withVersion(long version) {
+            this.instance.version = version;
+            return this;
+        }
+
         public AccountEntity build() {
             return instance;
         }
@@ -1,9 +1,12 @@
 package io.cockroachdb.ledger.domain;
 
+import java.time.Duration;
+
 import org.springframework.validation.annotation.Validated;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 import io.cockroachdb.ledger.util.Multiplier;
@@ -16,6 +19,12 @@ public class AccountPlan {
     @NotNull
     private Double initialBalance;
 
+    @Min(0)
+    private int liabilityShards;
+
+    @NotNull
+    private Duration consolidationInterval = Duration.ofMinutes(1);
+
     public String getAccountsPerCity() {
         return accountsPerCity;
     }
@@ -36,11 +45,29 @@ public class AccountPlan {
         this.initialBalance = initialBalance;
     }
 
+    public int getLiabilityShards() {
+        return liabilityShards;
+    }
+
+    public void setLiabilityShards(int liabilityShards) {
+        this.liabilityShards = liabilityShards;
+    }
+
+    public @NotNull Duration getConsolidationInterval() {
+        return consolidationInterval;
+    }
+
+    public void setConsolidationInterval(@NotNull Duration consolidationInterval) {
+        this.consolidationInterval = consolidationInterval;
+    }
+
     @Override
     public String toString() {
         return "AccountPlan{" +
                "accountsPerCity=" + accountsPerCity +
                ", initialBalance='" + initialBalance + '\'' +
+               ", liabilityShards=" + liabilityShards +
+               ", consolidationInterval=" + consolidationInterval +
                '}';
     }
 }
@@ -0,0 +1,19 @@
+package io.cockroachdb.ledger.domain;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.cockroachdb.ledger.util.StatementCursor;
+
+/**
+ * A keyset-paged slice of the legs of an account in chronological order.
+ *
+ * @param accountId the account ID
+ * @param entries   the legs of this page
+ * @param next      cursor for the next page or null if this is the last page
+ */
+public record AccountStatement(UUID accountId, List<StatementEntry> entries, StatementCursor next) {
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -20,8 +20,38 @@ import jakarta.validation.constraints.NotNull;
 public class ApplicationProperties {
     private boolean usingLocks;
 
+    private boolean orderedLocks = true;
+
+    private boolean optimisticLocking;
+
+    @NotNull
+    private LockWaitPolicy lockWaitPolicy = LockWaitPolicy.WAIT;
+
     private boolean idempotencyCheck;
 
+    private boolean singleStatementTransfers;
+
+    private boolean approximateCounts = true;
+
+    private TransferBatching transferBatching = new TransferBatching();
+
+    private AccountCache accountCache = new AccountCache();
+
+    private IdempotencyCache idempotencyCache = new IdempotencyCache();
+
+    private BalanceSheetRollup balanceSheetRollup = new BalanceSheetRollup();
+
+    private Retention retention = new Retention();
+
+    private RetrySettings retry = new RetrySettings();
+
+    private OutboxRelaySettings outboxRelay = new OutboxRelaySettings();
+
+    @NotNull
+    private OutboxEncoding outboxEncoding = OutboxEncoding.JSON;
+
+    private boolean outboxCompression;
+
     @NotNull
     private AccountPlan accountPlan;
 
@@ -56,6 +86,78 @@ public class ApplicationProperties {
         this.usingLocks = usingLocks;
     }
 
+    public boolean isOrderedLocks() {
+        return orderedLocks;
+    }
+
+    public void setOrderedLocks(boolean orderedLocks) {
+        this.orderedLocks = orderedLocks;
+    }
+
+    public boolean isOptimisticLocking() {
+        return optimisticLocking;
+    }
+
+    public void setOptimisticLocking(boolean optimisticLocking) {
+        this.optimisticLocking = optimisticLocking;
+    }
+
+    public LockWaitPolicy getLockWaitPolicy() {
+        return lockWaitPolicy;
+    }
+
+    public void setLockWaitPolicy(LockWaitPolicy lockWaitPolicy) {
+        this.lockWaitPolicy = lockWaitPolicy;
+    }
+
+    public BalanceSheetRollup getBalanceSheetRollup() {
+        return balanceSheetRollup;
+    }
+
+    public void setBalanceSheetRollup(BalanceSheetRollup balanceSheetRollup) {
+        this.balanceSheetRollup = balanceSheetRollup;
+    }
+
+    public RetrySettings getRetry() {
+        return retry;
+    }
+
+    public void setRetry(RetrySettings retry) {
+        this.retry = retry;
+    }
+
+    public Retention getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Retention retention) {
+        this.retention = retention;
+    }
+
+    public OutboxRelaySettings getOutboxRelay() {
+        return outboxRelay;
+    }
+
+    public void setOutboxRelay(OutboxRelaySettings outboxRelay) {
+        this.outboxRelay = outboxRelay;
+    }
+
+    public @NotNull OutboxEncoding getOutboxEncoding() {
+        return outboxEncoding;
+    }
+
+    public void setOutboxEncoding(@NotNull OutboxEncoding outboxEncoding) {
+        this.outboxEncoding = outboxEncoding;
+    }
+
+    public boolean isOutboxCompression() {
+        return outboxCompression;
+    }
+
+    public void setOutboxCompression(boolean outboxCompression) {
+        this.outboxCompression = outboxCompression;
+    }
+
     public boolean isIdempotencyCheck() {
         return idempotencyCheck;
     }
@@ -64,6 +166,46 @@ public class ApplicationProperties {
         this.idempotencyCheck = idempotencyCheck;
     }
 
+    public boolean isSingleStatementTransfers() {
+        return singleStatementTransfers;
+    }
+
+    public void setSingleStatementTransfers(boolean singleStatementTransfers) {
+        this.singleStatementTransfers = singleStatementTransfers;
+    }
+
+    public boolean isApproximateCounts() {
+        return approximateCounts;
+    }
+
+    public void setApproximateCounts(boolean approximateCounts) {
+        this.approximateCounts = approximateCounts;
+    }
+
+    public TransferBatching getTransferBatching() {
+        return transferBatching;
+    }
+
+    public void setTransferBatching(TransferBatching transferBatching) {
+        this.transferBatching = transferBatching;
+    }
+
+    public AccountCache getAccountCache() {
+        return accountCache;
+    }
+
+    public void setAccountCache(AccountCache accountCache) {
+        this.accountCache = accountCache;
+    }
+
+    public IdempotencyCache getIdempotencyCache() {
+        return idempotencyCache;
+    }
+
+    public void setIdempotencyCache(IdempotencyCache idempotencyCache) {
+        this.idempotencyCache = idempotencyCache;
+    }
+
     public List<Region> getRegions() {
         return regions.stream()
                 .filter(region -> visibleRegions.isEmpty()
@@ -98,6 +240,20 @@ public class ApplicationProperties {
     public String toString() {
         return "ApplicationModel{" +
                ", selectForUpdate=" + usingLocks +
+               ", orderedLocks=" + orderedLocks +
+               ", lockWaitPolicy=" + lockWaitPolicy +
+               ", optimisticLocking=" + optimisticLocking +
+               ", singleStatementTransfers=" + singleStatementTransfers +
+               ", approximateCounts=" + approximateCounts +
+               ", transferBatching=" + transferBatching +
+               ", accountCache=" + accountCache +
+               ", idempotencyCache=" + idempotencyCache +
+               ", balanceSheetRollup=" + balanceSheetRollup +
+               ", retention=" + retention +
+               ", retry=" + retry +
+               ", outboxRelay=" + outboxRelay +
+               ", outboxEncoding=" + outboxEncoding +
+               ", outboxCompression=" + outboxCompression +
                ", accountPlan=" + accountPlan +
                ", regions=" + regions +
                ", regionMappings=" + regionMappings +
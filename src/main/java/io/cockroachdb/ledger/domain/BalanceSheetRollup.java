@@ -0,0 +1,54 @@
+package io.cockroachdb.ledger.domain;
+
+import java.time.Duration;
+
+import org.springframework.validation.annotation.Validated;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jakarta.validation.constraints.NotNull;
+
+@Validated
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BalanceSheetRollup {
+    private boolean enabled = true;
+
+    @NotNull
+    private Duration reconcileInterval = Duration.ofMinutes(1);
+
+    @NotNull
+    private Duration pushInterval = Duration.ofMillis(250);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public @NotNull Duration getReconcileInterval() {
+        return reconcileInterval;
+    }
+
+    public void setReconcileInterval(@NotNull Duration reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    public @NotNull Duration getPushInterval() {
+        return pushInterval;
+    }
+
+    public void setPushInterval(@NotNull Duration pushInterval) {
+        this.pushInterval = pushInterval;
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceSheetRollup{" +
+               "enabled=" + enabled +
+               ", reconcileInterval=" + reconcileInterval +
+               ", pushInterval=" + pushInterval +
+               '}';
+    }
+}
@@ -0,0 +1,44 @@
+package io.cockroachdb.ledger.domain;
+
+import java.time.Duration;
+
+import org.springframework.validation.annotation.Validated;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Validated
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IdempotencyCache {
+    @Min(1)
+    private int maxEntries = 10_000;
+
+    @NotNull
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public @NotNull Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(@NotNull Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyCache{" +
+               "maxEntries=" + maxEntries +
+               ", timeToLive=" + timeToLive +
+               '}';
+    }
+}
@@ -0,0 +1,31 @@
+package io.cockroachdb.ledger.domain;
+
+/**
+ * Lock wait policy for pessimistic {@code SELECT .. FOR UPDATE} account reads.
+ */
+public enum LockWaitPolicy {
+    /**
+     * Block until conflicting locks are released (default).
+     */
+    WAIT(""),
+    /**
+     * Fail fast with state code 55P03 if a row is locked, which is retried.
+     */
+    NOWAIT(" NOWAIT"),
+    /**
+     * Skip locked rows. If fewer rows are returned than requested, an unlocked count tells
+     * missing rows from skipped rows. Missing rows are returned as a shortfall and rejected
+     * as a bad request, while skipped rows fail with state code 55P03, which is retried.
+     */
+    SKIP_LOCKED(" SKIP LOCKED");
+
+    private final String clause;
+
+    LockWaitPolicy(String clause) {
+        this.clause = clause;
+    }
+
+    public String getClause() {
+        return clause;
+    }
+}
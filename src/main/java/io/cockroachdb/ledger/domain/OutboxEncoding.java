@@ -0,0 +1,16 @@
+package io.cockroachdb.ledger.domain;
+
+/**
+ * Encoding of outbox event payloads.
+ */
+public enum OutboxEncoding {
+    /**
+     * JSON document of the event aggregate in the {@code payload} column.
+     */
+    JSON,
+    /**
+     * Compact binary encoding in the {@code payload_bin} column, available for transfers
+     * and falling back to JSON for other aggregates.
+     */
+    BINARY
+}
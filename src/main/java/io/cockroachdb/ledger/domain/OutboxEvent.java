@@ -0,0 +1,44 @@
+package io.cockroachdb.ledger.domain;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * An event row claimed from the outbox table.
+ *
+ * @param id            the event ID
+ * @param aggregateId   the ID of the aggregate the event originates from (nullable)
+ * @param aggregateType the aggregate type name
+ * @param encoding      the stored payload encoding
+ * @param insertedAt    the time the event was written
+ * @param payload       the JSON payload, decoded if stored as binary
+ */
+public record OutboxEvent(UUID id,
+                          UUID aggregateId,
+                          String aggregateType,
+                          OutboxEncoding encoding,
+                          Instant insertedAt,
+                          @JsonRawValue String payload) {
+    /**
+     * Compact a batch of events in insertion order by keeping only the latest
+     * event per aggregate. Events without an aggregate ID are always kept.
+     *
+     * @param events the events in insertion order
+     * @return the compacted events in insertion order
+     */
+    public static List<OutboxEvent> compact(List<OutboxEvent> events) {
+        Map<Object, OutboxEvent> latest = new LinkedHashMap<>();
+        events.forEach(event -> {
+            Object key = event.aggregateId() != null ? event.aggregateId() : event.id();
+            latest.remove(key);
+            latest.put(key, event);
+        });
+        return new ArrayList<>(latest.values());
+    }
+}
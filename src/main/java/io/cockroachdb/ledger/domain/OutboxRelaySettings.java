@@ -0,0 +1,102 @@
+package io.cockroachdb.ledger.domain;
+
+import java.time.Duration;
+
+import org.springframework.validation.annotation.Validated;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Validated
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OutboxRelaySettings {
+    private boolean enabled;
+
+    @NotNull
+    private OutboxSinkType sink = OutboxSinkType.JOURNAL;
+
+    @Min(1)
+    private int batchSize = 256;
+
+    @Min(1)
+    private int maxBatchesPerPoll = 64;
+
+    @NotNull
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    private boolean compact;
+
+    @NotNull
+    private String journalFile = ".log/outbox.ndjson";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public @NotNull OutboxSinkType getSink() {
+        return sink;
+    }
+
+    public void setSink(@NotNull OutboxSinkType sink) {
+        this.sink = sink;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxBatchesPerPoll() {
+        return maxBatchesPerPoll;
+    }
+
+    public void setMaxBatchesPerPoll(int maxBatchesPerPoll) {
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+    }
+
+    public @NotNull Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(@NotNull Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
+    public @NotNull String getJournalFile() {
+        return journalFile;
+    }
+
+    public void setJournalFile(@NotNull String journalFile) {
+        this.journalFile = journalFile;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxRelaySettings{" +
+               "enabled=" + enabled +
+               ", sink=" + sink +
+               ", batchSize=" + batchSize +
+               ", maxBatchesPerPoll=" + maxBatchesPerPoll +
+               ", pollInterval=" + pollInterval +
+               ", compact=" + compact +
+               ", journalFile='" + journalFile + '\'' +
+               '}';
+    }
+}
@@ -0,0 +1,19 @@
+package io.cockroachdb.ledger.domain;
+
+/**
+ * Destination for outbox events published by the relay.
+ */
+public enum OutboxSinkType {
+    /**
+     * Append events as NDJSON lines to a local journal file.
+     */
+    JOURNAL,
+    /**
+     * Publish events as in-process application events.
+     */
+    LISTENER,
+    /**
+     * Push event batches to a WebSocket topic.
+     */
+    TOPIC
+}
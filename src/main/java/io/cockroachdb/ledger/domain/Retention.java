@@ -0,0 +1,79 @@
+package io.cockroachdb.ledger.domain;
+
+import java.time.Duration;
+
+import org.springframework.validation.annotation.Validated;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Validated
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Retention {
+    private boolean enabled;
+
+    @NotNull
+    private Duration maxAge = Duration.ofDays(7);
+
+    @Min(1)
+    private int batchSize = 256;
+
+    @Min(1)
+    private int maxBatchesPerSecond = 10;
+
+    @NotNull
+    private Duration interval = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public @NotNull Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(@NotNull Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxBatchesPerSecond() {
+        return maxBatchesPerSecond;
+    }
+
+    public void setMaxBatchesPerSecond(int maxBatchesPerSecond) {
+        this.maxBatchesPerSecond = maxBatchesPerSecond;
+    }
+
+    public @NotNull Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(@NotNull Duration interval) {
+        this.interval = interval;
+    }
+
+    @Override
+    public String toString() {
+        return "Retention{" +
+               "enabled=" + enabled +
+               ", maxAge=" + maxAge +
+               ", batchSize=" + batchSize +
+               ", maxBatchesPerSecond=" + maxBatchesPerSecond +
+               ", interval=" + interval +
+               '}';
+    }
+}
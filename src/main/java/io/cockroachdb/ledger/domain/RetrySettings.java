@@ -0,0 +1,101 @@
+package io.cockroachdb.ledger.domain;
+
+import java.time.Duration;
+
+import org.springframework.validation.annotation.Validated;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Validated
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RetrySettings {
+    public enum Policy {
+        /**
+         * Exponential backoff with additive jitter and no budget.
+         */
+        EXPONENTIAL,
+        /**
+         * Decorrelated jitter scaled by observed contention, with retry budgets.
+         */
+        ADAPTIVE
+    }
+
+    @NotNull
+    private Policy policy = Policy.ADAPTIVE;
+
+    @NotNull
+    private Duration baseDelay = Duration.ofMillis(20);
+
+    private double contentionFactor = 4.0;
+
+    private double budgetRatio = 0.2;
+
+    @Min(1)
+    private int globalBudget = 500;
+
+    @Min(1)
+    private int methodBudget = 100;
+
+    public @NotNull Policy getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(@NotNull Policy policy) {
+        this.policy = policy;
+    }
+
+    public @NotNull Duration getBaseDelay() {
+        return baseDelay;
+    }
+
+    public void setBaseDelay(@NotNull Duration baseDelay) {
+        this.baseDelay = baseDelay;
+    }
+
+    public double getContentionFactor() {
+        return contentionFactor;
+    }
+
+    public void setContentionFactor(double contentionFactor) {
+        this.contentionFactor = contentionFactor;
+    }
+
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+
+    public void setBudgetRatio(double budgetRatio) {
+        this.budgetRatio = budgetRatio;
+    }
+
+    public int getGlobalBudget() {
+        return globalBudget;
+    }
+
+    public void setGlobalBudget(int globalBudget) {
+        this.globalBudget = globalBudget;
+    }
+
+    public int getMethodBudget() {
+        return methodBudget;
+    }
+
+    public void setMethodBudget(int methodBudget) {
+        this.methodBudget = methodBudget;
+    }
+
+    @Override
+    public String toString() {
+        return "RetrySettings{" +
+               "policy=" + policy +
+               ", baseDelay=" + baseDelay +
+               ", contentionFactor=" + contentionFactor +
+               ", budgetRatio=" + budgetRatio +
+               ", globalBudget=" + globalBudget +
+               ", methodBudget=" + methodBudget +
+               '}';
+    }
+}
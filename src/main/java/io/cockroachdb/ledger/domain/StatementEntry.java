@@ -0,0 +1,37 @@
+package io.cockroachdb.ledger.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.cockroachdb.ledger.util.Money;
+import io.cockroachdb.ledger.util.StatementCursor;
+
+/**
+ * A transfer leg as it appears on an account statement.
+ *
+ * @param transferId     the transfer ID
+ * @param itemPos        the leg position within the transfer
+ * @param createdAt      the transaction time of the transfer
+ * @param city           the leg city
+ * @param amount         the leg amount
+ * @param runningBalance the account balance before the leg was applied
+ * @param note           the leg note (nullable)
+ */
+public record StatementEntry(UUID transferId,
+                             int itemPos,
+                             Instant createdAt,
+                             String city,
+                             Money amount,
+                             Money runningBalance,
+                             String note) {
+    @JsonProperty
+    public Money balanceAfter() {
+        return runningBalance.plus(amount);
+    }
+
+    public StatementCursor cursor() {
+        return new StatementCursor(createdAt, transferId, itemPos);
+    }
+}
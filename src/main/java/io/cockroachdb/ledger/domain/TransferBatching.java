@@ -0,0 +1,55 @@
+package io.cockroachdb.ledger.domain;
+
+import java.time.Duration;
+
+import org.springframework.validation.annotation.Validated;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Validated
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransferBatching {
+    private boolean enabled;
+
+    @Min(1)
+    private int maxBatchSize = 16;
+
+    @NotNull
+    private Duration maxLinger = Duration.ofMillis(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public @NotNull Duration getMaxLinger() {
+        return maxLinger;
+    }
+
+    public void setMaxLinger(@NotNull Duration maxLinger) {
+        this.maxLinger = maxLinger;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferBatching{" +
+               "enabled=" + enabled +
+               ", maxBatchSize=" + maxBatchSize +
+               ", maxLinger=" + maxLinger +
+               '}';
+    }
+}
@@ -13,8 +13,6 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -29,8 +27,8 @@ import io.cockroachdb.ledger.annotation.EventAggregate;
 @Table(name = "transfer")
 //@DynamicInsert
 public class TransferEntity extends AbstractEntity<UUID> implements EventAggregate<UUID> {
+    // Assigned, either the client transfer ID or a random ID
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
 
     @Column(name = "city")
@@ -5,7 +5,11 @@ public enum TopicName {
     WORKLOAD_REFRESH_PAGE("/topic/workload/refresh"),
 
     BALANCE_SHEET_UPDATE("/topic/balance-sheet/update"),
-    METRIC_CHARTS_UPDATE("/topic/metric/charts");
+    METRIC_CHARTS_UPDATE("/topic/metric/charts"),
+
+    ACCOUNT_IMPORT_PROGRESS("/topic/account/import"),
+
+    OUTBOX_EVENTS("/topic/outbox/events");
 
     final String value;
 
@@ -1,6 +1,7 @@
 package io.cockroachdb.ledger.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -8,12 +9,12 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.util.Pair;
 
 import io.cockroachdb.ledger.domain.AccountEntity;
 import io.cockroachdb.ledger.domain.AccountType;
+import io.cockroachdb.ledger.domain.LockWaitPolicy;
+import io.cockroachdb.ledger.util.KeysetPage;
 import io.cockroachdb.ledger.util.Money;
 
 public interface AccountRepository {
@@ -21,6 +22,15 @@ public interface AccountRepository {
 
     List<UUID> createAccounts(Supplier<AccountEntity> factory, int batchSize);
 
+    /**
+     * Bulk write a chunk of accounts, using COPY FROM STDIN when supported
+     * or multi-row inserts otherwise.
+     *
+     * @param accountEntities the accounts to write
+     * @return number of rows written
+     */
+    long importAccounts(List<AccountEntity> accountEntities);
+
     Optional<AccountEntity> getAccountById(UUID id);
 
     Money getBalance(UUID id);
@@ -33,6 +43,17 @@ public interface AccountRepository {
 
     void updateBalances(Map<UUID, BigDecimal> balanceUpdates);
 
+    /**
+     * Compare-and-set balance update that only applies if all account versions
+     * are unchanged since read.
+     *
+     * @param balanceUpdates   the balance deltas per account
+     * @param expectedVersions the account versions read
+     * @throws io.cockroachdb.ledger.repository.OptimisticConflictException if any version changed
+     * @throws org.springframework.dao.IncorrectResultSizeDataAccessException on negative balance
+     */
+    void updateBalances(Map<UUID, BigDecimal> balanceUpdates, Map<UUID, Long> expectedVersions);
+
     void deleteAll();
 
     List<AccountEntity> findByCriteria(Set<String> cities,
@@ -40,7 +61,46 @@ public interface AccountRepository {
                                        Pair<BigDecimal, BigDecimal> range,
                                        int limit);
 
-    List<AccountEntity> findById(Set<UUID> ids, boolean forUpdate);
+    /**
+     * Find accounts in a city by exact name, without any limit.
+     *
+     * @param city  the city name
+     * @param names the account names
+     * @return the accounts found in no particular order
+     */
+    List<AccountEntity> findByNames(String city, Collection<String> names);
+
+    default List<AccountEntity> findById(Set<UUID> ids, boolean forUpdate) {
+        return findById(ids, forUpdate, false, LockWaitPolicy.WAIT);
+    }
+
+    /**
+     * Find accounts by ID and optionally lock the rows. Locking reads require a transaction.
+     *
+     * @param ids        the account IDs
+     * @param forUpdate  lock the account rows for update
+     * @param ordered    lock rows in ascending ID order
+     * @param waitPolicy lock wait policy if locking
+     * @return the accounts found, fewer than requested if any account doesn't exist
+     * @throws org.springframework.dao.CannotAcquireLockException if rows exist but were skipped
+     *                                                            by {@link LockWaitPolicy#SKIP_LOCKED}
+     */
+    List<AccountEntity> findById(Set<UUID> ids, boolean forUpdate, boolean ordered, LockWaitPolicy waitPolicy);
+
+    /**
+     * Find accounts of a given type in ascending ID order.
+     *
+     * @param accountType the account type
+     * @param after       cursor to fetch rows after, see {@link KeysetPage#FIRST}
+     * @param size        page size
+     * @return the page without total
+     */
+    KeysetPage<AccountEntity> findAll(AccountType accountType, UUID after, int size);
 
-    Page<AccountEntity> findAll(AccountType accountType, Pageable page);
+    /**
+     * @param accountType the account type
+     * @param approximate estimate from table statistics if supported
+     * @return the (approximate) count
+     */
+    long countAll(AccountType accountType, boolean approximate);
 }
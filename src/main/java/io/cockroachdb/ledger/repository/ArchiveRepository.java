@@ -0,0 +1,46 @@
+package io.cockroachdb.ledger.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import io.cockroachdb.ledger.util.LegChain;
+
+/**
+ * Moves transfers and their legs to archive tables and maintains per-account checkpoints
+ * of the archived legs, see {@link LegChain#residual(Collection)}.
+ */
+public interface ArchiveRepository {
+    /**
+     * Find the next batch of transfers created before the cutoff time, in key order.
+     *
+     * @param cutoff the cutoff time (exclusive)
+     * @param after  the last key of the previous batch (exclusive)
+     * @param limit  batch size
+     * @return transfer IDs
+     */
+    List<UUID> findTransfersBefore(Instant cutoff, UUID after, int limit);
+
+    /**
+     * @return legs per account, with legs of the same transfer coalesced
+     */
+    Map<UUID, List<LegChain.Link>> findLegsByTransferIds(Collection<UUID> transferIds);
+
+    Map<UUID, List<LegChain.Link>> findCheckpoints(Collection<UUID> accountIds);
+
+    /**
+     * Replace the checkpoint links of the given accounts.
+     */
+    void saveCheckpoints(Map<UUID, List<LegChain.Link>> checkpoints);
+
+    /**
+     * Copy transfers and legs to the archive tables and delete them from the hot tables.
+     *
+     * @return number of transfers archived
+     */
+    int archiveTransfers(Collection<UUID> transferIds);
+
+    void deleteAll();
+}
@@ -0,0 +1,80 @@
+package io.cockroachdb.ledger.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.util.LegChain;
+import io.cockroachdb.ledger.util.Money;
+
+/**
+ * Keyset-chunked reads and checkpoint bookkeeping for the consistency checker.
+ * All chunk reads are done at the given snapshot time using {@code AS OF SYSTEM TIME}
+ * if supported by the database, or at the current time if the snapshot is null.
+ */
+public interface ConsistencyRepository {
+    record Check(UUID id, Instant snapshotTime, int chunkSize, int partitions,
+                 Instant startedAt, Instant completedAt) {
+    }
+
+    record Checkpoint(String phase, int partition, UUID lastKey, long rowsChecked, boolean completed) {
+    }
+
+    record Anomaly(String phase, UUID entityId, String message) {
+    }
+
+    record Imbalance(UUID transferId, Money sum) {
+    }
+
+    /**
+     * @return a non-blocking snapshot time to read at or null if not supported
+     */
+    Instant snapshotTime();
+
+    Check createCheck(Instant snapshotTime, int chunkSize, int partitions);
+
+    Optional<Check> findLatestCheck();
+
+    void completeCheck(UUID checkId);
+
+    List<Checkpoint> findCheckpoints(UUID checkId);
+
+    void saveCheckpoint(UUID checkId, Checkpoint checkpoint);
+
+    void saveAnomalies(UUID checkId, Collection<Anomaly> anomalies);
+
+    List<Anomaly> findAnomalies(UUID checkId, int limit);
+
+    long countAnomalies(UUID checkId);
+
+    /**
+     * Find the next chunk of accounts in key order.
+     *
+     * @param snapshotTime snapshot to read at (nullable)
+     * @param after        the last key of the previous chunk (exclusive) or range start (inclusive)
+     * @param inclusive    whether the after key is inclusive
+     * @param before       the range end (exclusive) or null for unbounded
+     * @param limit        chunk size
+     * @return accounts with id and balance only
+     */
+    List<AccountEntity> findAccountChunk(Instant snapshotTime, UUID after, boolean inclusive,
+                                         UUID before, int limit);
+
+    /**
+     * @return legs per account, with legs of the same transfer coalesced and archived
+     * legs represented by checkpoint links
+     */
+    Map<UUID, List<LegChain.Link>> findLegsByAccountIds(Instant snapshotTime, Collection<UUID> accountIds);
+
+    List<UUID> findTransferChunk(Instant snapshotTime, UUID after, boolean inclusive,
+                                 UUID before, int limit);
+
+    /**
+     * @return per-currency leg sums that are not zero for the given transfers
+     */
+    List<Imbalance> findImbalancedTransfers(Instant snapshotTime, Collection<UUID> transferIds);
+}
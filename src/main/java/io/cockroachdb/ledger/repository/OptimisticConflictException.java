@@ -0,0 +1,18 @@
+package io.cockroachdb.ledger.repository;
+
+import java.sql.SQLException;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Thrown when a compare-and-set balance update finds an account version changed
+ * by a concurrent transaction. The cause carries state code 40001 so that the
+ * transaction is retried like any other serialization conflict.
+ */
+public class OptimisticConflictException extends OptimisticLockingFailureException {
+    public static final String SQL_STATE = "40001";
+
+    public OptimisticConflictException(String message) {
+        super(message, new SQLException(message, SQL_STATE));
+    }
+}
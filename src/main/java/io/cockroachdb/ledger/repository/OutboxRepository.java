@@ -1,9 +1,29 @@
 package io.cockroachdb.ledger.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
 import io.cockroachdb.ledger.annotation.EventAggregate;
+import io.cockroachdb.ledger.domain.OutboxEvent;
 
 public interface OutboxRepository {
     <ID> void writeEvent(EventAggregate<ID> event);
 
+    /**
+     * Claim the oldest events by locking them for the rest of the transaction, skipping
+     * events locked by other relays.
+     *
+     * @param limit max number of events to claim
+     * @return the claimed events in insertion order
+     */
+    List<OutboxEvent> claimEvents(int limit);
+
+    /**
+     * @param ids the event IDs to delete
+     * @return number of deleted events
+     */
+    int deleteEvents(Collection<UUID> ids);
+
     void deleteAllInBatch();
 }
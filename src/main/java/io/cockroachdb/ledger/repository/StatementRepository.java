@@ -0,0 +1,23 @@
+package io.cockroachdb.ledger.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.cockroachdb.ledger.domain.StatementEntry;
+import io.cockroachdb.ledger.util.StatementCursor;
+
+/**
+ * Account statement reads served from the covering {@code (account_id, created_at)} indexes
+ * on live and archived transfer legs, without touching the transfer tables.
+ */
+public interface StatementRepository {
+    /**
+     * Find the legs of an account in {@code (created_at, transfer_id, item_pos)} order.
+     *
+     * @param accountId the account ID
+     * @param after     the cursor to fetch legs after (exclusive)
+     * @param limit     max number of legs
+     * @return the legs
+     */
+    List<StatementEntry> findEntries(UUID accountId, StatementCursor after, int limit);
+}
@@ -1,30 +1,93 @@
 package io.cockroachdb.ledger.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import io.cockroachdb.ledger.domain.AccountItem;
 import io.cockroachdb.ledger.domain.TransferEntity;
 import io.cockroachdb.ledger.domain.TransferItemEntity;
 import io.cockroachdb.ledger.domain.TransferType;
+import io.cockroachdb.ledger.util.KeysetPage;
 
 public interface TransferRepository {
     TransferEntity createTransfer(TransferEntity transferEntity);
 
+    /**
+     * Create multiple transfers using a single batch (multi-row) insert.
+     *
+     * @param transferEntities the transfer headers
+     * @return the created transfers with IDs assigned
+     */
+    List<TransferEntity> createTransfers(List<TransferEntity> transferEntities);
+
     List<TransferItemEntity> createTransferItems(List<TransferItemEntity> items);
 
+    /**
+     * Create a transfer with all its legs and apply the account balance updates
+     * in a single statement, including the negative balance check.
+     *
+     * @param transferEntity the transfer header
+     * @param accountItems   the transfer legs
+     * @param forUpdate      lock the account rows before reading the running balance
+     * @return the created transfer including legs with running balances
+     * @throws org.springframework.dao.IncorrectResultSizeDataAccessException on negative balance outcome
+     * @throws org.springframework.dao.DataRetrievalFailureException on missing accounts
+     */
+    TransferEntity createTransfer(TransferEntity transferEntity,
+                                  List<AccountItem> accountItems,
+                                  boolean forUpdate);
+
     TransferEntity findTransferById(UUID transferId);
 
+    /**
+     * Find transfers including all legs using one set-based query for the transfers
+     * and one for the legs, rather than one query for the legs of each transfer.
+     *
+     * @param transferIds the transfer IDs
+     * @return the transfers found, in the order of the given IDs
+     */
+    List<TransferEntity> findTransfersWithItems(Collection<UUID> transferIds);
+
     boolean checkTransferExists(UUID requestId);
 
-    Page<TransferEntity> findAllTransfersByAccountId(UUID accountId, Pageable pageable);
+    /**
+     * Find transfers with a leg on the given account, in ascending ID order.
+     *
+     * @param accountId the account ID
+     * @param after     cursor to fetch rows after, see {@link KeysetPage#FIRST}
+     * @param size      page size
+     * @return the page without total
+     */
+    KeysetPage<TransferEntity> findAllTransfersByAccountId(UUID accountId, UUID after, int size);
+
+    KeysetPage<TransferEntity> findAllTransfersByCity(String city, UUID after, int size);
+
+    KeysetPage<TransferEntity> findAllTransfers(TransferType transferType, UUID after, int size);
+
+    /**
+     * Count transfers with a leg on the given account.
+     *
+     * @param accountId   the account ID
+     * @param approximate estimate from table statistics if supported
+     * @return the (approximate) count
+     */
+    long countTransfersByAccountId(UUID accountId, boolean approximate);
 
-    Page<TransferEntity> findAllTransfersByCity(String city, Pageable pageable);
+    long countTransfersByCity(String city, boolean approximate);
 
-    Page<TransferEntity> findAllTransfers(TransferType transferType, Pageable pageable);
+    long countTransfers(TransferType transferType, boolean approximate);
 
+    /**
+     * Find the legs of a transfer in item position order.
+     *
+     * @param transferId the transfer ID
+     * @param pageable   the page to fetch or unpaged for all legs
+     * @return the page, counted only if the total can't be derived from the page
+     */
     Page<TransferItemEntity> findAllTransferItems(UUID transferId, Pageable pageable);
 
     void deleteAll();
@@ -0,0 +1,44 @@
+package io.cockroachdb.ledger.repository;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+
+/**
+ * Classifies the outcome of a compare-and-set balance update that updated fewer rows
+ * than expected. A changed account version is a concurrent update and retryable, while
+ * unchanged versions means the negative balance check rejected the update.
+ */
+public abstract class VersionCheck {
+    private VersionCheck() {
+    }
+
+    /**
+     * @param expectedRows     number of rows expected to be updated
+     * @param actualRows       number of rows updated
+     * @param expectedVersions the account versions read before the update
+     * @param actualVersions   the account versions read after the update
+     * @throws OptimisticConflictException             if any account version changed
+     * @throws IncorrectResultSizeDataAccessException if no version changed but rows are missing
+     */
+    public static void verify(int expectedRows, int actualRows,
+                              Map<UUID, Long> expectedVersions,
+                              Map<UUID, Long> actualVersions) {
+        if (actualRows == expectedRows) {
+            return;
+        }
+
+        long conflicts = actualVersions.entrySet()
+                .stream()
+                .filter(e -> !Objects.equals(e.getValue(), expectedVersions.get(e.getKey())))
+                .count();
+        if (conflicts > 0) {
+            throw new OptimisticConflictException("Optimistic conflict on %d of %d account(s)"
+                    .formatted(conflicts, expectedRows));
+        }
+
+        throw new IncorrectResultSizeDataAccessException(expectedRows, actualRows);
+    }
+}
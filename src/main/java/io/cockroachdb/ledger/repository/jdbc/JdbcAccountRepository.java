@@ -1,10 +1,16 @@
 package io.cockroachdb.ledger.repository.jdbc;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.math.BigDecimal;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -14,18 +20,21 @@ import java.util.function.Supplier;
 
 import javax.sql.DataSource;
 
+import org.postgresql.PGConnection;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.CannotAcquireLockException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.util.Pair;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.support.SqlArrayValue;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,19 +44,34 @@ import org.springframework.util.Assert;
 import io.cockroachdb.ledger.ProfileNames;
 import io.cockroachdb.ledger.domain.AccountEntity;
 import io.cockroachdb.ledger.domain.AccountType;
+import io.cockroachdb.ledger.domain.LockWaitPolicy;
 import io.cockroachdb.ledger.repository.AccountRepository;
+import io.cockroachdb.ledger.repository.VersionCheck;
+import io.cockroachdb.ledger.util.KeysetPage;
+import io.cockroachdb.ledger.util.MetadataUtils;
 import io.cockroachdb.ledger.util.Money;
 
 @Repository
 @Transactional(propagation = Propagation.SUPPORTS) // to support both explicit and implicit
 @Profile(ProfileNames.NOT_JPA)
 public class JdbcAccountRepository implements AccountRepository {
+    // Explicit column list and array parameters keep the statement text fixed regardless
+    // of schema changes and number of IDs, which allows reuse of prepared statements and plans
+    static final String ACCOUNT_COLUMNS
+            = "id,city,name,balance,currency,type,description,closed,allow_negative,updated_at";
+
+    private DataSource dataSource;
+
     private JdbcTemplate jdbcTemplate;
 
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
+    @Autowired
+    private Environment environment;
+
     @Autowired
     public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
     }
@@ -104,15 +128,87 @@ public class JdbcAccountRepository implements AccountRepository {
         return ids;
     }
 
+    @Override
+    public long importAccounts(List<AccountEntity> accountEntities) {
+        if (ProfileNames.acceptsPostgresSQL(environment)) {
+            return copyAccounts(accountEntities);
+        }
+
+        int[] rows = jdbcTemplate.batchUpdate(
+                "INSERT INTO account "
+                + "(id, city, balance, currency, name, description, type, closed, allow_negative) "
+                + "VALUES(?,?,?,?,?,?,?::account_type,?,?)", new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        AccountEntity accountEntity = accountEntities.get(i);
+                        int idx = 1;
+
+                        ps.setObject(idx++, accountEntity.getId());
+                        ps.setString(idx++, accountEntity.getCity());
+                        ps.setBigDecimal(idx++, accountEntity.getBalance().getAmount());
+                        ps.setString(idx++, accountEntity.getBalance().getCurrency().getCurrencyCode());
+                        ps.setString(idx++, accountEntity.getName());
+                        ps.setString(idx++, accountEntity.getDescription());
+                        ps.setString(idx++, accountEntity.getAccountType().getCode());
+                        ps.setBoolean(idx++, accountEntity.isClosed());
+                        ps.setInt(idx, accountEntity.getAllowNegative());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return accountEntities.size();
+                    }
+                });
+        // Rewritten batches may not report update counts, in which case each insert wrote one row
+        return Arrays.stream(rows)
+                .mapToLong(count -> count == Statement.SUCCESS_NO_INFO ? 1 : count)
+                .sum();
+    }
+
+    private long copyAccounts(List<AccountEntity> accountEntities) {
+        final StringBuilder sb = new StringBuilder(accountEntities.size() * 128);
+
+        accountEntities.forEach(accountEntity -> sb
+                .append(accountEntity.getId()).append(',')
+                .append(csvQuote(accountEntity.getCity())).append(',')
+                .append(accountEntity.getBalance().getAmount().toPlainString()).append(',')
+                .append(accountEntity.getBalance().getCurrency().getCurrencyCode()).append(',')
+                .append(csvQuote(accountEntity.getName())).append(',')
+                .append(accountEntity.getDescription() != null ? csvQuote(accountEntity.getDescription()) : "")
+                .append(',')
+                .append(accountEntity.getAccountType().getCode()).append(',')
+                .append(accountEntity.isClosed()).append(',')
+                .append(accountEntity.getAllowNegative())
+                .append('\n'));
+
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn("COPY account "
+                                + "(id, city, balance, currency, name, description, type, closed, allow_negative) "
+                                + "FROM STDIN WITH (FORMAT csv)", new StringReader(sb.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY failed", e);
+            }
+        });
+        return rows != null ? rows : 0;
+    }
+
+    private static String csvQuote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
     @Override
     public void updateBalances(Map<UUID, BigDecimal> balanceUpdates) {
         int rows = jdbcTemplate.update(
-                "UPDATE account SET balance = account.balance + data_table.balance, updated_at=clock_timestamp() "
+                "UPDATE account SET balance = account.balance + data_table.balance, "
+                + "version = account.version + 1, updated_at=clock_timestamp() "
                 + "FROM "
                 + "(select unnest(?) as id, unnest(?) as balance) as data_table "
                 + "WHERE account.id=data_table.id "
                 + "AND (account.balance + data_table.balance) * abs(account.allow_negative-1) >= 0",
                 ps -> {
+                    // Arrays are built in map iteration order, which is the lock order if sorted
                     List<UUID> ids = new ArrayList<>();
                     List<BigDecimal> balances = new ArrayList<>();
 
@@ -133,6 +229,47 @@ public class JdbcAccountRepository implements AccountRepository {
         }
     }
 
+    @Override
+    public void updateBalances(Map<UUID, BigDecimal> balanceUpdates, Map<UUID, Long> expectedVersions) {
+        int rows = jdbcTemplate.update(
+                "UPDATE account SET balance = account.balance + data_table.balance, "
+                + "version = account.version + 1, updated_at=clock_timestamp() "
+                + "FROM "
+                + "(select unnest(?) as id, unnest(?) as balance, unnest(?) as version) as data_table "
+                + "WHERE account.id=data_table.id "
+                + "AND account.version=data_table.version "
+                + "AND (account.balance + data_table.balance) * abs(account.allow_negative-1) >= 0",
+                ps -> {
+                    List<UUID> ids = new ArrayList<>();
+                    List<BigDecimal> balances = new ArrayList<>();
+                    List<Long> versions = new ArrayList<>();
+
+                    balanceUpdates
+                            .forEach((uuid, amount) -> {
+                                ids.add(uuid);
+                                balances.add(amount);
+                                versions.add(expectedVersions.get(uuid));
+                            });
+
+                    ps.setArray(1, ps.getConnection()
+                            .createArrayOf("UUID", ids.toArray()));
+                    ps.setArray(2, ps.getConnection()
+                            .createArrayOf("DECIMAL", balances.toArray()));
+                    ps.setArray(3, ps.getConnection()
+                            .createArrayOf("BIGINT", versions.toArray()));
+                });
+
+        if (rows != balanceUpdates.size()) {
+            // Either a version changed or a negative balance check failed, tell which
+            Map<UUID, Long> actualVersions = new HashMap<>();
+            this.jdbcTemplate.query(
+                    "SELECT id,version FROM account WHERE id = ANY(?)",
+                    (RowCallbackHandler) rs -> actualVersions.put((UUID) rs.getObject(1), rs.getLong(2)),
+                    new SqlArrayValue("UUID", balanceUpdates.keySet().toArray()));
+            VersionCheck.verify(balanceUpdates.size(), rows, expectedVersions, actualVersions);
+        }
+    }
+
     @Override
     public void closeAccount(UUID id) {
         int rowsAffected = jdbcTemplate.update(
@@ -169,7 +306,7 @@ public class JdbcAccountRepository implements AccountRepository {
     public Optional<AccountEntity> getAccountById(UUID id) {
         try {
             return Optional.ofNullable(this.jdbcTemplate.queryForObject(
-                    "SELECT * FROM account WHERE id=?",
+                    "SELECT " + ACCOUNT_COLUMNS + " FROM account WHERE id=?",
                     (rs, rowNum) -> readAccount(rs),
                     id
             ));
@@ -200,6 +337,10 @@ public class JdbcAccountRepository implements AccountRepository {
     }
 
     private AccountEntity readAccount(ResultSet rs) throws SQLException {
+        return readAccount(rs, false);
+    }
+
+    private AccountEntity readAccount(ResultSet rs, boolean withVersion) throws SQLException {
         Money balance = Money.of(
                 rs.getBigDecimal("balance"),
                 rs.getString("currency"));
@@ -214,6 +355,7 @@ public class JdbcAccountRepository implements AccountRepository {
                 .withClosed(rs.getBoolean("closed"))
                 .withAllowNegative(rs.getInt("allow_negative") > 0)
                 .withUpdated(rs.getTimestamp("updated_at").toLocalDateTime())
+                .withVersion(withVersion ? rs.getLong("version") : 0)
                 .build();
     }
 
@@ -237,20 +379,20 @@ public class JdbcAccountRepository implements AccountRepository {
         // Equality cancels out balance range filtering.
         if (range.getFirst().equals(range.getSecond())) {
             sql = "WITH accounts AS ( " +
-                  "SELECT *, ROW_NUMBER() OVER (PARTITION BY city ORDER BY id) n " +
-                  "FROM account WHERE city IN (:cities) "
+                  "SELECT " + ACCOUNT_COLUMNS + ", ROW_NUMBER() OVER (PARTITION BY city ORDER BY id) n " +
+                  "FROM account WHERE city = ANY(:cities) "
                   + "AND account.type = :type) " +
-                  "SELECT * " +
+                  "SELECT " + ACCOUNT_COLUMNS + " " +
                   "FROM accounts " +
                   "WHERE n <= :limit " +
                   "ORDER BY city";
         } else {
             sql = "WITH accounts AS ( " +
-                  "SELECT *, ROW_NUMBER() OVER (PARTITION BY city ORDER BY id) n " +
-                  "FROM account WHERE city IN (:cities) "
+                  "SELECT " + ACCOUNT_COLUMNS + ", ROW_NUMBER() OVER (PARTITION BY city ORDER BY id) n " +
+                  "FROM account WHERE city = ANY(:cities) "
                   + "AND account.balance BETWEEN :min AND :max "
                   + "AND account.type = :type) " +
-                  "SELECT * " +
+                  "SELECT " + ACCOUNT_COLUMNS + " " +
                   "FROM accounts " +
                   "WHERE n <= :limit " +
                   "ORDER BY city";
@@ -258,7 +400,7 @@ public class JdbcAccountRepository implements AccountRepository {
 
         return this.namedParameterJdbcTemplate.query(sql,
                 new MapSqlParameterSource()
-                        .addValue("cities", cities)
+                        .addValue("cities", new SqlArrayValue("VARCHAR", cities.toArray()))
                         .addValue("min", range.getFirst())
                         .addValue("max", range.getSecond())
                         .addValue("type", accountType.getCode())
@@ -267,42 +409,87 @@ public class JdbcAccountRepository implements AccountRepository {
     }
 
     @Override
-    public List<AccountEntity> findById(Set<UUID> ids, boolean forUpdate) {
-        Assert.isTrue(TransactionSynchronizationManager.isActualTransactionActive(), "Expected transaction");
+    public List<AccountEntity> findByNames(String city, Collection<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        return this.namedParameterJdbcTemplate.query(
+                "SELECT " + ACCOUNT_COLUMNS + " FROM account "
+                + "WHERE city = :city AND name = ANY(:names)",
+                new MapSqlParameterSource()
+                        .addValue("city", city)
+                        .addValue("names", new SqlArrayValue("VARCHAR", names.toArray())),
+                (rs, rowNum) -> readAccount(rs));
+    }
 
-        MapSqlParameterSource parameters = new MapSqlParameterSource();
-        parameters.addValue("ids", ids);
+    @Override
+    public List<AccountEntity> findById(Set<UUID> ids, boolean forUpdate, boolean ordered,
+                                        LockWaitPolicy waitPolicy) {
+        Assert.isTrue(!forUpdate || TransactionSynchronizationManager.isActualTransactionActive(),
+                "Expected transaction");
 
-        return this.namedParameterJdbcTemplate.query(
-                "SELECT * FROM account WHERE id in (:ids) "
-                + (forUpdate ? " FOR UPDATE" : ""),
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        parameters.addValue("ids", new SqlArrayValue("UUID", ids.toArray()));
+
+        // Rows are locked in the order they are returned, so ordering by primary key
+        // gives a globally consistent lock acquisition order
+        List<AccountEntity> accountEntities = this.namedParameterJdbcTemplate.query(
+                "SELECT " + ACCOUNT_COLUMNS + ",version FROM account WHERE id = ANY(:ids) "
+                + (ordered ? " ORDER BY id" : "")
+                + (forUpdate ? " FOR UPDATE" + waitPolicy.getClause() : ""),
                 parameters,
-                (rs, rowNum) -> readAccount(rs));
+                (rs, rowNum) -> readAccount(rs, true));
+
+        if (forUpdate && waitPolicy == LockWaitPolicy.SKIP_LOCKED && accountEntities.size() < ids.size()) {
+            // Tell missing from skipped rows with an unlocked read, where missing rows are
+            // returned as a shortfall for the caller to reject rather than retried
+            Integer existing = this.namedParameterJdbcTemplate.queryForObject(
+                    "SELECT count(id) FROM account WHERE id = ANY(:ids)", parameters, Integer.class);
+            if (existing == null || existing < ids.size()) {
+                return accountEntities;
+            }
+            throw new CannotAcquireLockException("Skipped %d locked account(s)"
+                    .formatted(ids.size() - accountEntities.size()),
+                    new SQLException("Could not lock all accounts", "55P03"));
+        }
+
+        return accountEntities;
     }
 
     @Override
-    public Page<AccountEntity> findAll(AccountType accountType, Pageable page) {
+    public KeysetPage<AccountEntity> findAll(AccountType accountType, UUID after, int size) {
         MapSqlParameterSource parameters = new MapSqlParameterSource()
                 .addValue("type", accountType.getCode())
-                .addValue("limit", page.getPageSize())
-                .addValue("offset", page.getOffset());
+                .addValue("after", after)
+                .addValue("limit", size + 1);
 
-        String sql =
-                "SELECT * "
+        List<AccountEntity> rows = this.namedParameterJdbcTemplate.query(
+                "SELECT " + ACCOUNT_COLUMNS + " "
                 + "FROM account a "
-                + "WHERE a.type = :type "
-                + "ORDER BY id, city "
-                + "LIMIT :limit OFFSET :offset ";
+                + "WHERE a.type = :type AND a.id > :after "
+                + "ORDER BY a.id "
+                + "LIMIT :limit",
+                parameters,
+                (rs, rowNum) -> readAccount(rs));
 
-        List<AccountEntity> accountEntityEntities = this.namedParameterJdbcTemplate
-                .query(sql, parameters, (rs, rowNum) -> readAccount(rs));
+        return KeysetPage.of(rows, after, size, AccountEntity::getId);
+    }
 
-        Long total = this.namedParameterJdbcTemplate.queryForObject(
-                "SELECT count(id) FROM account a "
-                + "WHERE a.type = :type",
-                parameters,
-                Long.class);
+    @Override
+    public long countAll(AccountType accountType, boolean approximate) {
+        final String sql = "SELECT a.id FROM account a WHERE a.type = ?";
+
+        if (approximate) {
+            long estimate = MetadataUtils.estimateRowCount(dataSource, sql, accountType.getCode());
+            if (estimate >= 0) {
+                return estimate;
+            }
+        }
 
-        return new PageImpl<>(accountEntityEntities, page, total);
+        Long count = this.jdbcTemplate.queryForObject(
+                "SELECT count(a.id) FROM account a WHERE a.type = ?",
+                Long.class,
+                accountType.getCode());
+        return count != null ? count : 0;
     }
 }
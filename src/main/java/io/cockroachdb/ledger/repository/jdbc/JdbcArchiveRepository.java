@@ -0,0 +1,162 @@
+package io.cockroachdb.ledger.repository.jdbc;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.cockroachdb.ledger.repository.ArchiveRepository;
+import io.cockroachdb.ledger.util.LegChain;
+
+@Repository
+@Transactional(propagation = Propagation.SUPPORTS) // to support both explicit and implicit
+public class JdbcArchiveRepository implements ArchiveRepository {
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    public void setDataSource(DataSource dataSource) {
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<UUID> findTransfersBefore(Instant cutoff, UUID after, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.from(cutoff))
+                .addValue("after", after)
+                .addValue("limit", limit);
+
+        return namedParameterJdbcTemplate.queryForList(
+                "SELECT id FROM transfer "
+                + "WHERE id > :after AND created_at < :cutoff "
+                + "ORDER BY id LIMIT :limit",
+                parameters,
+                UUID.class);
+    }
+
+    @Override
+    public Map<UUID, List<LegChain.Link>> findLegsByTransferIds(Collection<UUID> transferIds) {
+        final Map<UUID, List<LegChain.Link>> legs = new HashMap<>();
+
+        if (transferIds.isEmpty()) {
+            return legs;
+        }
+
+        // Coalesced legs of the same transfer share the same running balance
+        namedParameterJdbcTemplate.query(
+                "SELECT account_id,min(running_balance) AS running_balance,sum(amount) AS amount "
+                + "FROM transfer_item "
+                + "WHERE transfer_id = ANY(:ids) "
+                + "GROUP BY account_id,transfer_id",
+                new MapSqlParameterSource("ids", new SqlArrayValue("UUID", transferIds.toArray())),
+                rs -> {
+                    legs.computeIfAbsent((UUID) rs.getObject("account_id"), id -> new ArrayList<>())
+                            .add(new LegChain.Link(rs.getBigDecimal("running_balance"),
+                                    rs.getBigDecimal("amount")));
+                });
+
+        return legs;
+    }
+
+    @Override
+    public Map<UUID, List<LegChain.Link>> findCheckpoints(Collection<UUID> accountIds) {
+        final Map<UUID, List<LegChain.Link>> checkpoints = new HashMap<>();
+
+        if (accountIds.isEmpty()) {
+            return checkpoints;
+        }
+
+        namedParameterJdbcTemplate.query(
+                "SELECT account_id,running_balance,amount "
+                + "FROM account_checkpoint "
+                + "WHERE account_id = ANY(:ids)",
+                new MapSqlParameterSource("ids", new SqlArrayValue("UUID", accountIds.toArray())),
+                rs -> {
+                    checkpoints.computeIfAbsent((UUID) rs.getObject("account_id"), id -> new ArrayList<>())
+                            .add(new LegChain.Link(rs.getBigDecimal("running_balance"),
+                                    rs.getBigDecimal("amount")));
+                });
+
+        return checkpoints;
+    }
+
+    @Override
+    public void saveCheckpoints(Map<UUID, List<LegChain.Link>> checkpoints) {
+        if (checkpoints.isEmpty()) {
+            return;
+        }
+
+        namedParameterJdbcTemplate.update(
+                "DELETE FROM account_checkpoint WHERE account_id = ANY(:ids)",
+                new MapSqlParameterSource("ids", new SqlArrayValue("UUID", checkpoints.keySet().toArray())));
+
+        final List<MapSqlParameterSource> batch = new ArrayList<>();
+
+        checkpoints.forEach((accountId, links) -> {
+            for (int i = 0; i < links.size(); i++) {
+                batch.add(new MapSqlParameterSource()
+                        .addValue("accountId", accountId)
+                        .addValue("linkPos", i)
+                        .addValue("runningBalance", links.get(i).before())
+                        .addValue("amount", links.get(i).amount()));
+            }
+        });
+
+        namedParameterJdbcTemplate.batchUpdate(
+                "INSERT INTO account_checkpoint (account_id,link_pos,running_balance,amount) "
+                + "VALUES (:accountId,:linkPos,:runningBalance,:amount)",
+                batch.toArray(MapSqlParameterSource[]::new));
+    }
+
+    @Override
+    public int archiveTransfers(Collection<UUID> transferIds) {
+        if (transferIds.isEmpty()) {
+            return 0;
+        }
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("ids", new SqlArrayValue("UUID", transferIds.toArray()));
+
+        namedParameterJdbcTemplate.update(
+                "INSERT INTO transfer_archive "
+                + "(id,city,booking_date,transfer_date,transfer_type,created_at) "
+                + "SELECT id,city,booking_date,transfer_date,transfer_type,created_at "
+                + "FROM transfer WHERE id = ANY(:ids)",
+                parameters);
+
+        namedParameterJdbcTemplate.update(
+                "INSERT INTO transfer_item_archive "
+                + "(transfer_id,account_id,item_pos,city,amount,currency,note,running_balance,created_at) "
+                + "SELECT transfer_id,account_id,item_pos,city,amount,currency,note,running_balance,created_at "
+                + "FROM transfer_item WHERE transfer_id = ANY(:ids)",
+                parameters);
+
+        namedParameterJdbcTemplate.update(
+                "DELETE FROM transfer_item WHERE transfer_id = ANY(:ids)",
+                parameters);
+
+        return namedParameterJdbcTemplate.update(
+                "DELETE FROM transfer WHERE id = ANY(:ids)",
+                parameters);
+    }
+
+    @Override
+    public void deleteAll() {
+        namedParameterJdbcTemplate.getJdbcTemplate().execute("TRUNCATE TABLE transfer_item_archive");
+        namedParameterJdbcTemplate.getJdbcTemplate().execute("TRUNCATE TABLE transfer_archive");
+        namedParameterJdbcTemplate.getJdbcTemplate().execute("TRUNCATE TABLE account_checkpoint");
+    }
+}
@@ -0,0 +1,297 @@
+package io.cockroachdb.ledger.repository.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.repository.ConsistencyRepository;
+import io.cockroachdb.ledger.util.LegChain;
+import io.cockroachdb.ledger.util.MetadataUtils;
+import io.cockroachdb.ledger.util.Money;
+
+@Repository
+@Transactional(propagation = Propagation.SUPPORTS) // to support both explicit and implicit
+public class JdbcConsistencyRepository implements ConsistencyRepository {
+    private static final DateTimeFormatter SNAPSHOT_FORMAT
+            = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS").withZone(ZoneOffset.UTC);
+
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private boolean usingCockroachDB;
+
+    @Autowired
+    public void setDataSource(DataSource dataSource) {
+        this.usingCockroachDB = MetadataUtils.isCockroachDB(dataSource);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    private String asOfSystemTime(Instant snapshotTime) {
+        // Formatted from an instant, so safe to inline (AOST does not accept placeholders)
+        return snapshotTime != null ? " AS OF SYSTEM TIME '" + SNAPSHOT_FORMAT.format(snapshotTime) + "'" : "";
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    @Override
+    public Instant snapshotTime() {
+        if (!usingCockroachDB) {
+            return null;
+        }
+        // Far enough in the past to not block on intents of in-flight transactions
+        return namedParameterJdbcTemplate.queryForObject("SELECT follower_read_timestamp()",
+                new MapSqlParameterSource(), Timestamp.class).toInstant();
+    }
+
+    @Override
+    public Check createCheck(Instant snapshotTime, int chunkSize, int partitions) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("snapshotTime", snapshotTime != null ? Timestamp.from(snapshotTime) : null)
+                .addValue("chunkSize", chunkSize)
+                .addValue("partitions", partitions);
+
+        return namedParameterJdbcTemplate.queryForObject(
+                "INSERT INTO consistency_check (snapshot_time,chunk_size,partitions) "
+                + "VALUES (:snapshotTime,:chunkSize,:partitions) "
+                + "RETURNING id,snapshot_time,chunk_size,partitions,started_at,completed_at",
+                parameters,
+                (rs, rowNum) -> readCheck(rs));
+    }
+
+    @Override
+    public Optional<Check> findLatestCheck() {
+        return namedParameterJdbcTemplate.query(
+                        "SELECT id,snapshot_time,chunk_size,partitions,started_at,completed_at "
+                        + "FROM consistency_check "
+                        + "ORDER BY started_at DESC LIMIT 1",
+                        new MapSqlParameterSource(),
+                        (rs, rowNum) -> readCheck(rs))
+                .stream()
+                .findFirst();
+    }
+
+    private Check readCheck(ResultSet rs) throws SQLException {
+        return new Check((UUID) rs.getObject("id"),
+                toInstant(rs.getTimestamp("snapshot_time")),
+                rs.getInt("chunk_size"),
+                rs.getInt("partitions"),
+                toInstant(rs.getTimestamp("started_at")),
+                toInstant(rs.getTimestamp("completed_at")));
+    }
+
+    @Override
+    public void completeCheck(UUID checkId) {
+        namedParameterJdbcTemplate.update(
+                "UPDATE consistency_check SET completed_at=clock_timestamp() WHERE id=:id",
+                new MapSqlParameterSource("id", checkId));
+    }
+
+    @Override
+    public List<Checkpoint> findCheckpoints(UUID checkId) {
+        return namedParameterJdbcTemplate.query(
+                "SELECT phase,part_no,last_key,rows_checked,completed "
+                + "FROM consistency_checkpoint "
+                + "WHERE check_id=:checkId",
+                new MapSqlParameterSource("checkId", checkId),
+                (rs, rowNum) -> new Checkpoint(
+                        rs.getString("phase"),
+                        rs.getInt("part_no"),
+                        (UUID) rs.getObject("last_key"),
+                        rs.getLong("rows_checked"),
+                        rs.getBoolean("completed")));
+    }
+
+    @Override
+    public void saveCheckpoint(UUID checkId, Checkpoint checkpoint) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("checkId", checkId)
+                .addValue("phase", checkpoint.phase())
+                .addValue("partNo", checkpoint.partition())
+                .addValue("lastKey", checkpoint.lastKey())
+                .addValue("rowsChecked", checkpoint.rowsChecked())
+                .addValue("completed", checkpoint.completed());
+
+        namedParameterJdbcTemplate.update(
+                "INSERT INTO consistency_checkpoint "
+                + "(check_id,phase,part_no,last_key,rows_checked,completed) "
+                + "VALUES (:checkId,:phase,:partNo,:lastKey,:rowsChecked,:completed) "
+                + "ON CONFLICT (check_id,phase,part_no) DO UPDATE SET "
+                + "last_key=excluded.last_key,"
+                + "rows_checked=excluded.rows_checked,"
+                + "completed=excluded.completed,"
+                + "updated_at=clock_timestamp()",
+                parameters);
+    }
+
+    @Override
+    public void saveAnomalies(UUID checkId, Collection<Anomaly> anomalies) {
+        if (anomalies.isEmpty()) {
+            return;
+        }
+
+        // Idempotent since a chunk is re-verified if resumed before its checkpoint was saved
+        namedParameterJdbcTemplate.batchUpdate(
+                "INSERT INTO consistency_anomaly (check_id,phase,entity_id,message) "
+                + "VALUES (:checkId,:phase,:entityId,:message) "
+                + "ON CONFLICT (check_id,phase,entity_id) DO UPDATE SET message=excluded.message",
+                anomalies.stream()
+                        .map(anomaly -> new MapSqlParameterSource()
+                                .addValue("checkId", checkId)
+                                .addValue("phase", anomaly.phase())
+                                .addValue("entityId", anomaly.entityId())
+                                .addValue("message", anomaly.message()))
+                        .toArray(MapSqlParameterSource[]::new));
+    }
+
+    @Override
+    public List<Anomaly> findAnomalies(UUID checkId, int limit) {
+        return namedParameterJdbcTemplate.query(
+                "SELECT phase,entity_id,message "
+                + "FROM consistency_anomaly "
+                + "WHERE check_id=:checkId "
+                + "ORDER BY phase,entity_id LIMIT :limit",
+                new MapSqlParameterSource()
+                        .addValue("checkId", checkId)
+                        .addValue("limit", limit),
+                (rs, rowNum) -> new Anomaly(
+                        rs.getString("phase"),
+                        (UUID) rs.getObject("entity_id"),
+                        rs.getString("message")));
+    }
+
+    @Override
+    public long countAnomalies(UUID checkId) {
+        return namedParameterJdbcTemplate.queryForObject(
+                "SELECT count(1) FROM consistency_anomaly WHERE check_id=:checkId",
+                new MapSqlParameterSource("checkId", checkId),
+                Long.class);
+    }
+
+    private String keyRange(String column, boolean inclusive, UUID before) {
+        return " WHERE " + column + (inclusive ? " >= :after" : " > :after")
+               + (before != null ? " AND " + column + " < :before" : "");
+    }
+
+    @Override
+    public List<AccountEntity> findAccountChunk(Instant snapshotTime, UUID after, boolean inclusive,
+                                                UUID before, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("after", after)
+                .addValue("before", before)
+                .addValue("limit", limit);
+
+        return namedParameterJdbcTemplate.query(
+                "SELECT id,balance,currency FROM account"
+                + asOfSystemTime(snapshotTime)
+                + keyRange("id", inclusive, before)
+                + " ORDER BY id LIMIT :limit",
+                parameters,
+                (rs, rowNum) -> AccountEntity.builder()
+                        .withId((UUID) rs.getObject("id"))
+                        .withBalance(Money.of(rs.getBigDecimal("balance"), rs.getString("currency")))
+                        .build());
+    }
+
+    @Override
+    public Map<UUID, List<LegChain.Link>> findLegsByAccountIds(Instant snapshotTime,
+                                                               Collection<UUID> accountIds) {
+        final Map<UUID, List<LegChain.Link>> legs = new HashMap<>();
+
+        if (accountIds.isEmpty()) {
+            return legs;
+        }
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("ids", new SqlArrayValue("UUID", accountIds.toArray()));
+
+        // Coalesced legs of the same transfer share the same running balance
+        namedParameterJdbcTemplate.query(
+                "SELECT account_id,min(running_balance) AS running_balance,sum(amount) AS amount "
+                + "FROM transfer_item"
+                + asOfSystemTime(snapshotTime)
+                + " WHERE account_id = ANY(:ids)"
+                + " GROUP BY account_id,transfer_id",
+                parameters,
+                rs -> {
+                    legs.computeIfAbsent((UUID) rs.getObject("account_id"), id -> new ArrayList<>())
+                            .add(new LegChain.Link(rs.getBigDecimal("running_balance"),
+                                    rs.getBigDecimal("amount")));
+                });
+
+        // Archived legs are represented by their checkpoint links
+        namedParameterJdbcTemplate.query(
+                "SELECT account_id,running_balance,amount "
+                + "FROM account_checkpoint"
+                + asOfSystemTime(snapshotTime)
+                + " WHERE account_id = ANY(:ids)",
+                parameters,
+                rs -> {
+                    legs.computeIfAbsent((UUID) rs.getObject("account_id"), id -> new ArrayList<>())
+                            .add(new LegChain.Link(rs.getBigDecimal("running_balance"),
+                                    rs.getBigDecimal("amount")));
+                });
+
+        return legs;
+    }
+
+    @Override
+    public List<UUID> findTransferChunk(Instant snapshotTime, UUID after, boolean inclusive,
+                                        UUID before, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("after", after)
+                .addValue("before", before)
+                .addValue("limit", limit);
+
+        return namedParameterJdbcTemplate.queryForList(
+                "SELECT id FROM transfer"
+                + asOfSystemTime(snapshotTime)
+                + keyRange("id", inclusive, before)
+                + " ORDER BY id LIMIT :limit",
+                parameters,
+                UUID.class);
+    }
+
+    @Override
+    public List<Imbalance> findImbalancedTransfers(Instant snapshotTime, Collection<UUID> transferIds) {
+        if (transferIds.isEmpty()) {
+            return List.of();
+        }
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("ids", new SqlArrayValue("UUID", transferIds.toArray()));
+
+        return namedParameterJdbcTemplate.query(
+                "SELECT transfer_id,currency,sum(amount) AS amount "
+                + "FROM transfer_item"
+                + asOfSystemTime(snapshotTime)
+                + " WHERE transfer_id = ANY(:ids)"
+                + " GROUP BY transfer_id,currency"
+                + " HAVING sum(amount) != 0",
+                parameters,
+                (rs, rowNum) -> new Imbalance(
+                        (UUID) rs.getObject("transfer_id"),
+                        Money.of(rs.getBigDecimal("amount"), rs.getString("currency"))));
+    }
+}
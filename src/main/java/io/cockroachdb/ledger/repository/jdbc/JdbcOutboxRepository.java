@@ -1,9 +1,18 @@
 package io.cockroachdb.ledger.repository.jdbc;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.support.SqlArrayValue;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,12 +20,22 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 import org.springframework.util.Assert;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import jakarta.annotation.PostConstruct;
 
 import io.cockroachdb.ledger.annotation.EventAggregate;
+import io.cockroachdb.ledger.domain.ApplicationProperties;
+import io.cockroachdb.ledger.domain.OutboxEncoding;
+import io.cockroachdb.ledger.domain.OutboxEvent;
+import io.cockroachdb.ledger.domain.TransferEntity;
 import io.cockroachdb.ledger.repository.OutboxRepository;
+import io.cockroachdb.ledger.util.MetadataUtils;
+import io.cockroachdb.ledger.util.TransferCodec;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Repository
 @Transactional(propagation = Propagation.SUPPORTS) // to support both explicit and implicit
@@ -27,11 +46,36 @@ public class JdbcOutboxRepository implements OutboxRepository {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private JdbcTemplate jdbcTemplate;
 
+    private String insertStatement;
+
+    private final Map<OutboxEncoding, DistributionSummary> payloadSizes = new EnumMap<>(OutboxEncoding.class);
+
     @PostConstruct
     public void init() {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.insertStatement = MetadataUtils.isCockroachDB(dataSource)
+                ? "UPSERT INTO outbox (id,aggregate_id,aggregate_type,encoding,payload,payload_bin) "
+                  + "VALUES (?,?,?,?,?::JSONB,?)"
+                : "INSERT INTO outbox (id,aggregate_id,aggregate_type,encoding,payload,payload_bin) "
+                  + "VALUES (?,?,?,?,?::JSONB,?) "
+                  + "ON CONFLICT (id) DO UPDATE SET aggregate_type=excluded.aggregate_type, "
+                  + "encoding=excluded.encoding, payload=excluded.payload, payload_bin=excluded.payload_bin";
+
+        for (OutboxEncoding encoding : OutboxEncoding.values()) {
+            payloadSizes.put(encoding, DistributionSummary.builder("ledger.outbox.payload.bytes")
+                    .description("Size of outbox event payloads")
+                    .baseUnit("bytes")
+                    .tag("encoding", encoding.name())
+                    .register(meterRegistry));
+        }
     }
 
     @Override
@@ -44,16 +88,91 @@ public class JdbcOutboxRepository implements OutboxRepository {
         Assert.isTrue(TransactionSynchronizationManager.isActualTransactionActive(),
                 "Expected existing transaction - check advisor @Order");
 
+        if (applicationProperties.getOutboxEncoding() == OutboxEncoding.BINARY
+            && event instanceof TransferEntity transfer) {
+            byte[] payload = TransferCodec.encode(TransferPayloads.toTransfer(transfer),
+                    applicationProperties.isOutboxCompression());
+            insertEvent(transfer.getEventId(), transfer.getEntityId(), event, OutboxEncoding.BINARY,
+                    null, payload);
+            recordPayloadSize(OutboxEncoding.BINARY, payload.length);
+            return;
+        }
+
         try {
-            String payload = objectMapper.writer().writeValueAsString(event);
-            jdbcTemplate.update(
-                    "UPSERT INTO outbox (aggregate_type,payload) VALUES (?,?)",
-                    ps -> {
-                        ps.setString(1, event.getClass().getSimpleName());
-                        ps.setObject(2, payload);
-                    });
+            // Read IDs back from the payload since event IDs may be generated per call
+            JsonNode node = objectMapper.valueToTree(event);
+            String payload = objectMapper.writer().writeValueAsString(node);
+            insertEvent(toUUID(node.get("eventId")), toUUID(node.get("entityId")), event, OutboxEncoding.JSON,
+                    payload, null);
+            recordPayloadSize(OutboxEncoding.JSON, payload.length());
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Error serializing outbox JSON payload", e);
         }
     }
+
+    private void insertEvent(UUID id, UUID aggregateId, Object event, OutboxEncoding encoding,
+                             String payload, byte[] payloadBin) {
+        jdbcTemplate.update(insertStatement, ps -> {
+            ps.setObject(1, id);
+            ps.setObject(2, aggregateId);
+            ps.setString(3, event.getClass().getSimpleName());
+            ps.setString(4, encoding.name());
+            ps.setString(5, payload);
+            ps.setBytes(6, payloadBin);
+        });
+    }
+
+    private void recordPayloadSize(OutboxEncoding encoding, int size) {
+        payloadSizes.get(encoding).record(size);
+    }
+
+    @Override
+    public List<OutboxEvent> claimEvents(int limit) {
+        Assert.isTrue(TransactionSynchronizationManager.isActualTransactionActive(),
+                "Expected existing transaction");
+
+        // No index on inserted_at since it would be a sequential write hotspot,
+        // the table is expected to stay small when drained
+        return jdbcTemplate.query(
+                "SELECT id,aggregate_id,aggregate_type,encoding,inserted_at,payload,payload_bin FROM outbox "
+                + "ORDER BY inserted_at LIMIT ? FOR UPDATE SKIP LOCKED",
+                (rs, rowNum) -> mapEvent(rs),
+                limit);
+    }
+
+    @Override
+    public int deleteEvents(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("DELETE FROM outbox WHERE id = ANY(?)",
+                new SqlArrayValue("UUID", ids.toArray()));
+    }
+
+    private static UUID toUUID(JsonNode node) {
+        return node != null && !node.isNull() ? UUID.fromString(node.asText()) : null;
+    }
+
+    private OutboxEvent mapEvent(ResultSet rs) throws SQLException {
+        OutboxEncoding encoding = OutboxEncoding.valueOf(rs.getString("encoding"));
+        UUID id = rs.getObject("id", UUID.class);
+        String payload;
+        if (encoding == OutboxEncoding.BINARY) {
+            try {
+                payload = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT)
+                        .writeValueAsString(TransferPayloads.toJson(objectMapper, id, rs.getBytes("payload_bin")));
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Error serializing decoded outbox payload", e);
+            }
+        } else {
+            payload = rs.getString("payload");
+        }
+        return new OutboxEvent(
+                id,
+                rs.getObject("aggregate_id", UUID.class),
+                rs.getString("aggregate_type"),
+                encoding,
+                rs.getTimestamp("inserted_at").toInstant(),
+                payload);
+    }
 }
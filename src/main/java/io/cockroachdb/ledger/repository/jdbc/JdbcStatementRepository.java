@@ -0,0 +1,61 @@
+package io.cockroachdb.ledger.repository.jdbc;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.cockroachdb.ledger.domain.StatementEntry;
+import io.cockroachdb.ledger.repository.StatementRepository;
+import io.cockroachdb.ledger.util.Money;
+import io.cockroachdb.ledger.util.StatementCursor;
+
+@Repository
+@Transactional(propagation = Propagation.SUPPORTS) // to support both explicit and implicit
+public class JdbcStatementRepository implements StatementRepository {
+    private static final String STATEMENT_COLUMNS
+            = "transfer_id,item_pos,created_at,city,amount,currency,note,running_balance";
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public void setDataSource(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<StatementEntry> findEntries(UUID accountId, StatementCursor after, int limit) {
+        // Row value comparison to seek in the index rather than filtering on each column.
+        // Archived legs are older than the live legs but are merged anyway to be exact.
+        return this.jdbcTemplate.query(
+                "(SELECT " + STATEMENT_COLUMNS + " FROM transfer_item_archive "
+                + "WHERE account_id = ? AND (created_at,transfer_id,item_pos) > (?,?,?) "
+                + "ORDER BY created_at,transfer_id,item_pos LIMIT ?) "
+                + "UNION ALL "
+                + "(SELECT " + STATEMENT_COLUMNS + " FROM transfer_item "
+                + "WHERE account_id = ? AND (created_at,transfer_id,item_pos) > (?,?,?) "
+                + "ORDER BY created_at,transfer_id,item_pos LIMIT ?) "
+                + "ORDER BY created_at,transfer_id,item_pos LIMIT ?",
+                (rs, rowNum) -> {
+                    String currency = rs.getString("currency");
+                    return new StatementEntry(
+                            (UUID) rs.getObject("transfer_id"),
+                            rs.getInt("item_pos"),
+                            rs.getTimestamp("created_at").toInstant(),
+                            rs.getString("city"),
+                            Money.of(rs.getBigDecimal("amount"), currency),
+                            Money.of(rs.getBigDecimal("running_balance"), currency),
+                            rs.getString("note"));
+                },
+                accountId, Timestamp.from(after.createdAt()), after.transferId(), after.itemPos(), limit,
+                accountId, Timestamp.from(after.createdAt()), after.transferId(), after.itemPos(), limit,
+                limit);
+    }
+}
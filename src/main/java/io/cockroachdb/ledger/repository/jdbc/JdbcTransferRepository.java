@@ -1,22 +1,39 @@
 package io.cockroachdb.ledger.repository.jdbc;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Array;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 import javax.sql.DataSource;
 
+import org.postgresql.PGConnection;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.util.Pair;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.support.SqlArrayValue;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
@@ -24,20 +41,38 @@ import org.springframework.transaction.annotation.Transactional;
 
 import io.cockroachdb.ledger.ProfileNames;
 import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.domain.AccountItem;
 import io.cockroachdb.ledger.domain.TransferEntity;
 import io.cockroachdb.ledger.domain.TransferItemEntity;
 import io.cockroachdb.ledger.domain.TransferType;
 import io.cockroachdb.ledger.repository.TransferRepository;
+import io.cockroachdb.ledger.util.KeysetPage;
+import io.cockroachdb.ledger.util.MetadataUtils;
 import io.cockroachdb.ledger.util.Money;
 
 @Repository
 @Transactional(propagation = Propagation.SUPPORTS) // to support both explicit and implicit
 @Profile(ProfileNames.NOT_JPA)
 public class JdbcTransferRepository implements TransferRepository {
+    static final String TRANSFER_COLUMNS
+            = "id,city,booking_date,transfer_date,transfer_type";
+
+    static final String TRANSFER_ITEM_COLUMNS
+            = "transfer_id,city,item_pos,account_id,amount,currency,note,running_balance";
+
+    // Min number of legs for using COPY rather than a single insert with arrays (PostgreSQL only)
+    private static final int COPY_THRESHOLD = 512;
+
+    private DataSource dataSource;
+
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private Environment environment;
+
     @Autowired
     public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
     }
 
@@ -46,6 +81,19 @@ public class JdbcTransferRepository implements TransferRepository {
         final LocalDate bookingDate = transferEntity.getBookingDate();
         final LocalDate transferDate = transferEntity.getTransferDate();
 
+        // Client assigned ID used as primary key for idempotency
+        if (transferEntity.getId() != null) {
+            jdbcTemplate.update("INSERT INTO transfer "
+                                + "(id,city,booking_date,transfer_date,transfer_type) "
+                                + "VALUES(?,?,?,?,?::transfer_type)",
+                    transferEntity.getId(),
+                    transferEntity.getCity(),
+                    bookingDate != null ? bookingDate : LocalDate.now(),
+                    transferDate != null ? transferDate : LocalDate.now(),
+                    transferEntity.getTransferType().getCode());
+            return transferEntity;
+        }
+
         GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
 
         jdbcTemplate.update(conn -> {
@@ -66,39 +114,292 @@ public class JdbcTransferRepository implements TransferRepository {
     }
 
     @Override
-    public List<TransferItemEntity> createTransferItems(List<TransferItemEntity> items) {
+    public List<TransferEntity> createTransfers(List<TransferEntity> transferEntities) {
+        // Assign IDs up front since the order of returned keys from a batch is not guaranteed
+        transferEntities.forEach(transferEntity -> {
+            if (transferEntity.getId() == null) {
+                transferEntity.setId(UUID.randomUUID());
+            }
+        });
+
         jdbcTemplate.batchUpdate(
-                "INSERT INTO transfer_item "
-                + "(transfer_id, city, item_pos, account_id, amount, currency, note, running_balance) "
-                + "VALUES(?,?,?,?,?,?,?,?)", new BatchPreparedStatementSetter() {
+                "INSERT INTO transfer "
+                + "(id,city,booking_date,transfer_date,transfer_type) "
+                + "VALUES(?,?,?,?,?::transfer_type)", new BatchPreparedStatementSetter() {
                     @Override
                     public void setValues(PreparedStatement ps, int i) throws SQLException {
-                        TransferItemEntity item = items.get(i);
-
-                        ps.setObject(1, item.getTransferEntity().getId());
-                        ps.setString(2, item.getCity());
-                        ps.setInt(3, i);
-                        ps.setObject(4, item.getAccountEntity().getId());
-                        ps.setBigDecimal(5, item.getAmount().getAmount());
-                        ps.setString(6, item.getAmount().getCurrency().getCurrencyCode());
-                        ps.setString(7, item.getNote());
-                        ps.setBigDecimal(8, item.getRunningBalance().getAmount());
+                        TransferEntity transferEntity = transferEntities.get(i);
+                        LocalDate bookingDate = transferEntity.getBookingDate();
+                        LocalDate transferDate = transferEntity.getTransferDate();
+
+                        ps.setObject(1, transferEntity.getId());
+                        ps.setObject(2, transferEntity.getCity());
+                        ps.setObject(3, bookingDate != null ? bookingDate : LocalDate.now());
+                        ps.setObject(4, transferDate != null ? transferDate : LocalDate.now());
+                        ps.setObject(5, transferEntity.getTransferType().getCode());
                     }
 
                     @Override
                     public int getBatchSize() {
-                        return items.size();
+                        return transferEntities.size();
                     }
                 });
+        return transferEntities;
+    }
+
+    @Override
+    public List<TransferItemEntity> createTransferItems(List<TransferItemEntity> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        if (items.size() >= COPY_THRESHOLD && ProfileNames.acceptsPostgresSQL(environment)) {
+            copyTransferItems(items);
+            return items;
+        }
+
+        final int size = items.size();
+        final Object[] transferIds = new Object[size];
+        final Object[] cities = new Object[size];
+        final Object[] positions = new Object[size];
+        final Object[] accountIds = new Object[size];
+        final Object[] amounts = new Object[size];
+        final Object[] currencies = new Object[size];
+        final Object[] notes = new Object[size];
+        final Object[] runningBalances = new Object[size];
+
+        for (int i = 0; i < size; i++) {
+            TransferItemEntity item = items.get(i);
+            transferIds[i] = item.getTransferEntity().getId();
+            cities[i] = item.getCity();
+            positions[i] = item.getId().getItemPos();
+            accountIds[i] = item.getAccountEntity().getId();
+            amounts[i] = item.getAmount().getAmount();
+            currencies[i] = item.getAmount().getCurrency().getCurrencyCode();
+            notes[i] = item.getNote();
+            runningBalances[i] = item.getRunningBalance().getAmount();
+        }
+
+        // One statement with one typed array per column, regardless of the number of legs
+        int rows = jdbcTemplate.update(
+                "INSERT INTO transfer_item "
+                + "(transfer_id, city, item_pos, account_id, amount, currency, note, running_balance) "
+                + "SELECT unnest(?), unnest(?), unnest(?), unnest(?), unnest(?), unnest(?), unnest(?), unnest(?)",
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("UUID", transferIds));
+                    ps.setArray(2, ps.getConnection().createArrayOf("VARCHAR", cities));
+                    ps.setArray(3, ps.getConnection().createArrayOf("INT", positions));
+                    ps.setArray(4, ps.getConnection().createArrayOf("UUID", accountIds));
+                    ps.setArray(5, ps.getConnection().createArrayOf("DECIMAL", amounts));
+                    ps.setArray(6, ps.getConnection().createArrayOf("VARCHAR", currencies));
+                    ps.setArray(7, ps.getConnection().createArrayOf("VARCHAR", notes));
+                    ps.setArray(8, ps.getConnection().createArrayOf("DECIMAL", runningBalances));
+                });
+
+        if (rows != size) {
+            throw new IncorrectResultSizeDataAccessException(size, rows);
+        }
+
         return items;
     }
 
+    private void copyTransferItems(List<TransferItemEntity> items) {
+        final StringBuilder sb = new StringBuilder(items.size() * 160);
+
+        items.forEach(item -> sb
+                .append(item.getTransferEntity().getId()).append(',')
+                .append(csvQuote(item.getCity())).append(',')
+                .append(item.getId().getItemPos()).append(',')
+                .append(item.getAccountEntity().getId()).append(',')
+                .append(item.getAmount().getAmount().toPlainString()).append(',')
+                .append(item.getAmount().getCurrency().getCurrencyCode()).append(',')
+                .append(item.getNote() != null ? csvQuote(item.getNote()) : "").append(',')
+                .append(item.getRunningBalance().getAmount().toPlainString())
+                .append('\n'));
+
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn("COPY transfer_item "
+                                + "(transfer_id, city, item_pos, account_id, amount, currency, note, running_balance) "
+                                + "FROM STDIN WITH (FORMAT csv)", new StringReader(sb.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY failed", e);
+            }
+        });
+
+        if (rows == null || rows != items.size()) {
+            throw new IncorrectResultSizeDataAccessException(items.size(), rows != null ? rows.intValue() : 0);
+        }
+    }
+
+    private static String csvQuote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    @Override
+    public TransferEntity createTransfer(TransferEntity transferEntity,
+                                         List<AccountItem> accountItems,
+                                         boolean forUpdate) {
+        final LocalDate bookingDate = transferEntity.getBookingDate();
+        final LocalDate transferDate = transferEntity.getTransferDate();
+
+        if (transferEntity.getId() == null) {
+            transferEntity.setId(UUID.randomUUID());
+        }
+
+        final long numAccounts = accountItems.stream()
+                .map(AccountItem::getId)
+                .distinct()
+                .count();
+
+        // Read (and lock) accounts, write transfer and legs and update balances in one round-trip.
+        // All sub-statements see the same snapshot, so the running balance is the balance before update.
+        final String sql = "WITH legs AS ("
+                           + " SELECT unnest(?) AS account_id, unnest(?) AS amount, unnest(?) AS currency,"
+                           + " unnest(?) AS note, unnest(?) AS item_pos"
+                           + "), accounts AS ("
+                           + " SELECT a.id, a.balance FROM account a"
+                           + " WHERE a.id IN (SELECT account_id FROM legs)"
+                           + (forUpdate ? " ORDER BY a.id FOR UPDATE" : "")
+                           + "), new_transfer AS ("
+                           + " INSERT INTO transfer (id,city,booking_date,transfer_date,transfer_type)"
+                           + " VALUES (?,?,?,?,?::transfer_type) RETURNING id"
+                           + "), new_items AS ("
+                           + " INSERT INTO transfer_item"
+                           + " (transfer_id, city, item_pos, account_id, amount, currency, note, running_balance)"
+                           + " SELECT t.id, ?, l.item_pos, l.account_id, l.amount, l.currency, l.note, a.balance"
+                           + " FROM new_transfer t, legs l JOIN accounts a ON a.id = l.account_id"
+                           + " RETURNING item_pos, running_balance"
+                           + "), updated AS ("
+                           + " UPDATE account SET balance = account.balance + data_table.balance,"
+                           + " version = account.version + 1,"
+                           + " updated_at=clock_timestamp()"
+                           + " FROM (SELECT account_id AS id, sum(amount) AS balance FROM legs GROUP BY account_id)"
+                           + " AS data_table"
+                           + " WHERE account.id=data_table.id"
+                           + " AND (account.balance + data_table.balance) * abs(account.allow_negative-1) >= 0"
+                           + " RETURNING account.id"
+                           + ") "
+                           + "SELECT t.id,"
+                           + " (SELECT count(*) FROM accounts),"
+                           + " (SELECT count(*) FROM updated),"
+                           + " (SELECT array_agg(running_balance ORDER BY item_pos) FROM new_items) "
+                           + "FROM new_transfer t";
+
+        final List<Pair<UUID, List<BigDecimal>>> results = new ArrayList<>();
+
+        jdbcTemplate.query(sql, ps -> {
+            List<UUID> ids = new ArrayList<>();
+            List<BigDecimal> amounts = new ArrayList<>();
+            List<String> currencies = new ArrayList<>();
+            List<String> notes = new ArrayList<>();
+            List<Integer> positions = new ArrayList<>();
+
+            accountItems.forEach(accountItem -> {
+                ids.add(accountItem.getId());
+                amounts.add(accountItem.getAmount().getAmount());
+                currencies.add(accountItem.getAmount().getCurrency().getCurrencyCode());
+                notes.add(accountItem.getNote());
+                positions.add(positions.size());
+            });
+
+            int idx = 1;
+            ps.setArray(idx++, ps.getConnection().createArrayOf("UUID", ids.toArray()));
+            ps.setArray(idx++, ps.getConnection().createArrayOf("DECIMAL", amounts.toArray()));
+            ps.setArray(idx++, ps.getConnection().createArrayOf("VARCHAR", currencies.toArray()));
+            ps.setArray(idx++, ps.getConnection().createArrayOf("VARCHAR", notes.toArray()));
+            ps.setArray(idx++, ps.getConnection().createArrayOf("INTEGER", positions.toArray()));
+            ps.setObject(idx++, transferEntity.getId());
+            ps.setString(idx++, transferEntity.getCity());
+            ps.setObject(idx++, bookingDate != null ? bookingDate : LocalDate.now());
+            ps.setObject(idx++, transferDate != null ? transferDate : LocalDate.now());
+            ps.setString(idx++, transferEntity.getTransferType().getCode());
+            ps.setString(idx, transferEntity.getCity());
+        }, rs -> {
+            long accountsRead = rs.getLong(2);
+            long accountsUpdated = rs.getLong(3);
+
+            if (accountsRead != numAccounts) {
+                throw new DataRetrievalFailureException("Expected %d accounts, found %d"
+                        .formatted(numAccounts, accountsRead));
+            }
+            if (accountsUpdated != numAccounts) {
+                throw new IncorrectResultSizeDataAccessException((int) numAccounts, (int) accountsUpdated);
+            }
+
+            Array array = rs.getArray(4);
+            results.add(Pair.of((UUID) rs.getObject(1),
+                    array != null ? Arrays.asList((BigDecimal[]) array.getArray()) : List.of()));
+        });
+
+        if (results.size() != 1) {
+            throw new IncorrectResultSizeDataAccessException(1, results.size());
+        }
+
+        transferEntity.setId(results.get(0).getFirst());
+
+        final List<BigDecimal> runningBalances = results.get(0).getSecond();
+
+        final TransferItemEntity.Builder itemBuilder = TransferItemEntity.builder()
+                .withTransfer(transferEntity);
+
+        for (int i = 0; i < accountItems.size(); i++) {
+            AccountItem accountItem = accountItems.get(i);
+            itemBuilder
+                    .withCity(transferEntity.getCity())
+                    .withAccount(AccountEntity.builder().withId(accountItem.getId()).build())
+                    .withRunningBalance(Money.of(runningBalances.get(i), accountItem.getAmount().getCurrency()))
+                    .withAmount(accountItem.getAmount())
+                    .withNote(accountItem.getNote())
+                    .and();
+        }
+
+        return transferEntity.addItems(itemBuilder.build());
+    }
+
     @Override
     public TransferEntity findTransferById(UUID transferId) {
-        return DataAccessUtils.singleResult(this.jdbcTemplate.query(
-                "SELECT * FROM transfer WHERE id=?",
-                (rs, rowNum) -> mapTransfer(rs, true),
-                transferId));
+        return DataAccessUtils.singleResult(findTransfersWithItems(List.of(transferId)));
+    }
+
+    @Override
+    public List<TransferEntity> findTransfersWithItems(Collection<UUID> transferIds) {
+        if (transferIds.isEmpty()) {
+            return List.of();
+        }
+
+        final Map<UUID, TransferEntity> transfers = new HashMap<>(transferIds.size() * 2);
+
+        this.jdbcTemplate.query(
+                "SELECT " + TRANSFER_COLUMNS + " FROM transfer WHERE id = ANY(?)",
+                rs -> {
+                    TransferEntity transferEntity = mapTransfer(rs);
+                    transfers.put(transferEntity.getId(), transferEntity);
+                },
+                new SqlArrayValue("UUID", transferIds.toArray()));
+
+        if (transfers.isEmpty()) {
+            return List.of();
+        }
+
+        final Map<UUID, List<TransferItemEntity>> items = new HashMap<>(transfers.size() * 2);
+
+        this.jdbcTemplate.query(
+                "SELECT " + TRANSFER_ITEM_COLUMNS + " FROM transfer_item WHERE transfer_id = ANY(?) "
+                + "ORDER BY transfer_id,item_pos",
+                rs -> {
+                    TransferItemEntity item = mapTransferItem(rs);
+                    items.computeIfAbsent(item.getId().getTransferId(), id -> new ArrayList<>()).add(item);
+                },
+                new SqlArrayValue("UUID", transfers.keySet().toArray()));
+
+        return transferIds.stream()
+                .distinct()
+                .map(transfers::get)
+                .filter(Objects::nonNull)
+                .map(transferEntity -> transferEntity.addItems(
+                        items.getOrDefault(transferEntity.getId(), List.of())))
+                .toList();
     }
 
     @Override
@@ -110,139 +411,131 @@ public class JdbcTransferRepository implements TransferRepository {
     }
 
     @Override
-    public Page<TransferEntity> findAllTransfersByAccountId(UUID accountId, Pageable pageable) {
-        List<Integer> results = this.jdbcTemplate.query(
-                "SELECT count(1) FROM transfer t JOIN transfer_item ti ON t.id = ti.transfer_id "
-                + "WHERE ti.account_id = ?",
-                (rs, rowNum) -> rs.getInt(1),
-                accountId);
-
-        Integer count = DataAccessUtils.nullableSingleResult(results);
-
-        List<TransferEntity> content = this.jdbcTemplate.query(
-                "SELECT t.* FROM transfer t JOIN transfer_item ti ON t.id = ti.transfer_id "
-                + "WHERE ti.account_id = ? "
-                + "ORDER BY transfer_date LIMIT ? OFFSET ?",
-                (rs, rowNum) -> mapTransfer(rs, false),
-                accountId, pageable.getPageSize(), pageable.getOffset());
-
-        return new PageImpl<>(content, pageable, count != null ? count : 0);
+    public KeysetPage<TransferEntity> findAllTransfersByAccountId(UUID accountId, UUID after, int size) {
+        List<TransferEntity> rows = this.jdbcTemplate.query(
+                "SELECT " + TRANSFER_COLUMNS + " FROM transfer t "
+                + "WHERE t.id IN (SELECT ti.transfer_id FROM transfer_item ti "
+                + "WHERE ti.account_id = ? AND ti.transfer_id > ?) "
+                + "ORDER BY t.id LIMIT ?",
+                (rs, rowNum) -> mapTransfer(rs),
+                accountId, after, size + 1);
+
+        return KeysetPage.of(rows, after, size, TransferEntity::getId);
     }
 
     @Override
-    public Page<TransferEntity> findAllTransfersByCity(String city, Pageable pageable) {
-        List<Integer> results = this.jdbcTemplate.query(
-                "SELECT count(1) FROM transfer t "
-                + "WHERE t.city = ?",
-                (rs, rowNum) -> rs.getInt(1),
-                city);
+    public KeysetPage<TransferEntity> findAllTransfersByCity(String city, UUID after, int size) {
+        List<TransferEntity> rows = this.jdbcTemplate.query(
+                "SELECT " + TRANSFER_COLUMNS + " FROM transfer t "
+                + "WHERE t.city = ? AND t.id > ? "
+                + "ORDER BY t.id LIMIT ?",
+                (rs, rowNum) -> mapTransfer(rs),
+                city, after, size + 1);
+
+        return KeysetPage.of(rows, after, size, TransferEntity::getId);
+    }
 
-        Integer count = DataAccessUtils.singleResult(results);
+    @Override
+    public KeysetPage<TransferEntity> findAllTransfers(TransferType transferType, UUID after, int size) {
+        List<TransferEntity> rows = this.jdbcTemplate.query(
+                "SELECT " + TRANSFER_COLUMNS + " FROM transfer t "
+                + "WHERE t.transfer_type = ? AND t.id > ? "
+                + "ORDER BY t.id LIMIT ?",
+                (rs, rowNum) -> mapTransfer(rs),
+                transferType.getCode(), after, size + 1);
+
+        return KeysetPage.of(rows, after, size, TransferEntity::getId);
+    }
 
-        List<TransferEntity> content = this.jdbcTemplate.query(
-                "SELECT t.*  FROM transfer t "
-                + "WHERE t.city = ? "
-                + "ORDER BY transfer_date LIMIT ? OFFSET ?",
-                (rs, rowNum) -> mapTransfer(rs, false),
-                city, pageable.getPageSize(), pageable.getOffset());
+    private long count(boolean approximate, String sql, Object... args) {
+        if (approximate) {
+            long estimate = MetadataUtils.estimateRowCount(dataSource, sql, args);
+            if (estimate >= 0) {
+                return estimate;
+            }
+        }
+        Long count = this.jdbcTemplate.queryForObject("SELECT count(1) FROM (" + sql + ") AS q", Long.class, args);
+        return count != null ? count : 0;
+    }
 
-        return new PageImpl<>(content, pageable, count != null ? count : 0);
+    @Override
+    public long countTransfersByAccountId(UUID accountId, boolean approximate) {
+        return count(approximate,
+                "SELECT DISTINCT ti.transfer_id FROM transfer_item ti WHERE ti.account_id = ?",
+                accountId);
     }
 
     @Override
-    public Page<TransferEntity> findAllTransfers(TransferType transferType, Pageable pageable) {
-        int count = countAllTransfers(transferType);
-
-        List<TransferEntity> content = this.jdbcTemplate.query(
-                "SELECT * FROM transfer "
-                + "WHERE transfer_type=? "
-                + "ORDER BY transfer_date LIMIT ? OFFSET ?",
-                (rs, rowNum) -> mapTransfer(rs, false),
-                transferType.getCode(),
-                pageable.getPageSize(),
-                pageable.getOffset());
-
-        return new PageImpl<>(content, pageable, count);
+    public long countTransfersByCity(String city, boolean approximate) {
+        return count(approximate,
+                "SELECT t.id FROM transfer t WHERE t.city = ?",
+                city);
     }
 
-    private Integer countAllTransfers(TransferType transferType) {
-        List<Integer> results = this.jdbcTemplate.query(
-                "SELECT count(id) FROM transfer "
-                + "WHERE transfer_type=?",
-                (rs, rowNum) -> rs.getInt(1),
+    @Override
+    public long countTransfers(TransferType transferType, boolean approximate) {
+        return count(approximate,
+                "SELECT t.id FROM transfer t WHERE t.transfer_type = ?",
                 transferType.getCode());
-        return DataAccessUtils.singleResult(results);
     }
 
     @Override
     public Page<TransferItemEntity> findAllTransferItems(UUID transferId, Pageable pageable) {
-        long count = countItemsByTransferId(transferId);
-
-        List<TransferItemEntity> content = this.jdbcTemplate.query(
-                "SELECT * FROM transfer_item WHERE transfer_id=?",
-                (rs, rowNum) -> mapTransferItem(rs, rowNum),
-                transferId
-        );
-
-        return new PageImpl<>(content, pageable, count);
+        List<TransferItemEntity> content = pageable.isPaged()
+                ? this.jdbcTemplate.query(
+                "SELECT " + TRANSFER_ITEM_COLUMNS + " FROM transfer_item WHERE transfer_id=? "
+                + "ORDER BY item_pos LIMIT ? OFFSET ?",
+                (rs, rowNum) -> mapTransferItem(rs),
+                transferId, pageable.getPageSize(), pageable.getOffset())
+                : this.jdbcTemplate.query(
+                "SELECT " + TRANSFER_ITEM_COLUMNS + " FROM transfer_item WHERE transfer_id=? "
+                + "ORDER BY item_pos",
+                (rs, rowNum) -> mapTransferItem(rs),
+                transferId);
+
+        // Only counts if the total can't be derived from the page itself
+        return PageableExecutionUtils.getPage(content, pageable, () -> countItemsByTransferId(transferId));
     }
 
-    private Long countItemsByTransferId(UUID id) {
-        List<Long> results =
-                this.jdbcTemplate.query(
-                        "SELECT count(transfer_id) FROM transfer_item WHERE transfer_id=?",
-                        (rs, rowNum) -> rs.getLong(1),
-                        id
-                );
-        return DataAccessUtils.singleResult(results);
+    private long countItemsByTransferId(UUID id) {
+        Long count = this.jdbcTemplate.queryForObject(
+                "SELECT count(transfer_id) FROM transfer_item WHERE transfer_id=?",
+                Long.class,
+                id);
+        return count != null ? count : 0;
     }
 
-    private TransferEntity mapTransfer(ResultSet rs, boolean includeItems) throws SQLException {
+    private TransferEntity mapTransfer(ResultSet rs) throws SQLException {
         UUID transferId = (UUID) rs.getObject("id");
         String city = rs.getString("city");
         TransferType transferType = TransferType.of(rs.getString("transfer_type"));
         LocalDate bookingDate = rs.getDate("booking_date").toLocalDate();
         LocalDate transferDate = rs.getDate("transfer_date").toLocalDate();
 
-        // N+1
-
-        TransferEntity t = TransferEntity.builder()
+        return TransferEntity.builder()
                 .withId(transferId)
                 .withCity(city)
                 .withTransferType(transferType)
                 .withBookingDate(bookingDate)
                 .withTransferDate(transferDate)
                 .build();
-
-        if (includeItems) {
-            t.addItems(findTransferItems(transferId));
-        }
-
-        return t;
-    }
-
-    private List<TransferItemEntity> findTransferItems(UUID id) {
-        return this.jdbcTemplate.query(
-                "SELECT * FROM transfer_item WHERE transfer_id=?",
-                (rs, rowNum) -> mapTransferItem(rs, rowNum),
-                id
-        );
     }
 
-    private TransferItemEntity mapTransferItem(ResultSet rs, int rowNum) throws SQLException {
+    private TransferItemEntity mapTransferItem(ResultSet rs) throws SQLException {
         UUID accountId = (UUID) rs.getObject("account_id");
         UUID transferId = (UUID) rs.getObject("transfer_id");
         String city = rs.getString("city");
         Money amount = Money.of(rs.getBigDecimal("amount"), rs.getString("currency"));
         Money runningBalance = Money.of(rs.getBigDecimal("running_balance"), rs.getString("currency"));
         String note = rs.getString("note");
+        int itemPos = rs.getInt("item_pos");
 
         // Shallow to avoid N+1
         TransferEntity transferEntity = TransferEntity.builder().withId(transferId).build();
         // Shallow to avoid N+1
         AccountEntity accountEntity = AccountEntity.builder().withId(accountId).build();
 
-        TransferItemEntity item = new TransferItemEntity(transferEntity, accountEntity, rowNum);
+        TransferItemEntity item = new TransferItemEntity(transferEntity, accountEntity, itemPos);
         item.setCity(city);
         item.setAmount(amount);
         item.setRunningBalance(runningBalance);
@@ -0,0 +1,78 @@
+package io.cockroachdb.ledger.repository.jdbc;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.domain.TransferEntity;
+import io.cockroachdb.ledger.domain.TransferItemEntity;
+import io.cockroachdb.ledger.domain.TransferType;
+import io.cockroachdb.ledger.util.TransferCodec;
+
+/**
+ * Maps transfers to and from the binary outbox encoding. Decoded transfers are rebuilt
+ * as entities, so readers get the same JSON document as with the JSON encoding.
+ */
+public abstract class TransferPayloads {
+    private TransferPayloads() {
+    }
+
+    public static TransferCodec.Transfer toTransfer(TransferEntity transfer) {
+        return new TransferCodec.Transfer(
+                transfer.getId(),
+                transfer.getCity(),
+                transfer.getTransferType().getCode(),
+                transfer.getTransferDate(),
+                transfer.getBookingDate(),
+                transfer.getItems().stream()
+                        .map(item -> new TransferCodec.Leg(
+                                item.getId().getAccountId(),
+                                item.getId().getItemPos(),
+                                item.getCity(),
+                                item.getAmount(),
+                                item.getRunningBalance(),
+                                item.getNote()))
+                        .toList());
+    }
+
+    public static TransferEntity toEntity(TransferCodec.Transfer transfer) {
+        TransferEntity transferEntity = TransferEntity.builder()
+                .withId(transfer.id())
+                .withCity(transfer.city())
+                .withTransferType(TransferType.of(transfer.transferType()))
+                .withTransferDate(transfer.transferDate())
+                .withBookingDate(transfer.bookingDate())
+                .build();
+
+        transferEntity.addItems(transfer.legs().stream()
+                .map(leg -> {
+                    TransferItemEntity item = new TransferItemEntity(transferEntity,
+                            AccountEntity.builder().withId(leg.accountId()).build(), leg.itemPos());
+                    item.setCity(leg.city());
+                    item.setAmount(leg.amount());
+                    item.setRunningBalance(leg.runningBalance());
+                    item.setNote(leg.note());
+                    return item;
+                })
+                .toList());
+
+        return transferEntity;
+    }
+
+    /**
+     * Decode a binary transfer payload into the JSON document of the JSON encoding.
+     *
+     * @param objectMapper the mapper used for the JSON encoding
+     * @param eventId      the outbox event ID
+     * @param data         the binary payload
+     * @return the JSON document
+     */
+    public static ObjectNode toJson(ObjectMapper objectMapper, UUID eventId, byte[] data) {
+        ObjectNode node = objectMapper.valueToTree(toEntity(TransferCodec.decode(data)));
+        // Event IDs are generated per call, use the one stored with the event
+        node.put("eventId", eventId.toString());
+        return node;
+    }
+}
@@ -59,11 +59,23 @@ public interface AccountJpaRepository extends JpaRepository<AccountEntity, UUID>
     @Lock(LockModeType.PESSIMISTIC_READ)
     List<AccountEntity> findAllWithLock(Set<UUID> ids);
 
+    @Query(value = "select a "
+                   + "from AccountEntity a "
+                   + "where a.id in (?1) "
+                   + "order by a.id")
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    List<AccountEntity> findAllWithLockOrdered(Set<UUID> ids);
+
     @Query(value = "select a "
                    + "from AccountEntity a "
                    + "where a.id in (?1)")
     List<AccountEntity> findAll(Set<UUID> ids);
 
+    @Query(value = "select a "
+                   + "from AccountEntity a "
+                   + "where a.city = ?1 and a.name in (?2)")
+    List<AccountEntity> findAllByNames(String city, Collection<String> names);
+
     @Query(value
             = "select a "
               + "from AccountEntity a "
@@ -123,10 +135,15 @@ public interface AccountJpaRepository extends JpaRepository<AccountEntity, UUID>
     @Query(value
             = "select a "
               + "from AccountEntity a "
-              + "where a.accountType = :type",
-            countQuery
-                    = "select count(a.id) "
-                      + "from AccountEntity a "
-                      + "where a.accountType = :type")
-    Page<AccountEntity> findAll(@Param("type") AccountType type, Pageable pageable);
+              + "where a.accountType = :type and a.id > :after "
+              + "order by a.id")
+    List<AccountEntity> findAllAfter(@Param("type") AccountType type,
+                                     @Param("after") UUID after,
+                                     Pageable pageable);
+
+    @Query(value
+            = "select count(a.id) "
+              + "from AccountEntity a "
+              + "where a.accountType = :type")
+    long countByType(@Param("type") AccountType type);
 }
@@ -3,6 +3,7 @@ package io.cockroachdb.ledger.repository.jpa;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -15,9 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Repository;
 
@@ -29,7 +28,10 @@ import jakarta.persistence.Tuple;
 import io.cockroachdb.ledger.ProfileNames;
 import io.cockroachdb.ledger.domain.AccountEntity;
 import io.cockroachdb.ledger.domain.AccountType;
+import io.cockroachdb.ledger.domain.LockWaitPolicy;
 import io.cockroachdb.ledger.repository.AccountRepository;
+import io.cockroachdb.ledger.repository.VersionCheck;
+import io.cockroachdb.ledger.util.KeysetPage;
 import io.cockroachdb.ledger.util.Money;
 
 @Repository
@@ -55,6 +57,11 @@ public class JpaAccountRepository implements AccountRepository {
         return ids;
     }
 
+    @Override
+    public long importAccounts(List<AccountEntity> accountEntities) {
+        return accountRepository.saveAll(accountEntities).size();
+    }
+
     @Override
     public AccountEntity createAccount(AccountEntity accountEntity) {
         return accountRepository.save(accountEntity);
@@ -66,6 +73,7 @@ public class JpaAccountRepository implements AccountRepository {
             Query q = entityManager.createQuery("UPDATE AccountEntity a"
                                                 + " SET"
                                                 + "   a.balance.amount = a.balance.amount + ?2,"
+                                                + "   a.version = a.version + 1,"
                                                 + "   a.updatedAt = ?3"
                                                 + " WHERE a.id = ?1"
                                                 + "   AND (a.balance.amount + ?2) * abs(a.allowNegative - 1) >= 0");
@@ -82,6 +90,36 @@ public class JpaAccountRepository implements AccountRepository {
         });
     }
 
+    @Override
+    public void updateBalances(Map<UUID, BigDecimal> balanceUpdates, Map<UUID, Long> expectedVersions) {
+        balanceUpdates.forEach((uuid, amount) -> {
+            Query q = entityManager.createQuery("UPDATE AccountEntity a"
+                                                + " SET"
+                                                + "   a.balance.amount = a.balance.amount + ?2,"
+                                                + "   a.version = a.version + 1,"
+                                                + "   a.updatedAt = ?3"
+                                                + " WHERE a.id = ?1"
+                                                + "   AND a.version = ?4"
+                                                + "   AND (a.balance.amount + ?2) * abs(a.allowNegative - 1) >= 0");
+
+            q.setParameter(1, uuid);
+            q.setParameter(2, amount);
+            q.setParameter(3, LocalDateTime.now());
+            q.setParameter(4, expectedVersions.get(uuid));
+
+            int rows = q.executeUpdate();
+
+            if (rows != 1) {
+                // Either the version changed or the negative balance check failed, tell which
+                Long version = entityManager.createQuery(
+                                "SELECT a.version FROM AccountEntity a WHERE a.id = ?1", Long.class)
+                        .setParameter(1, uuid)
+                        .getSingleResult();
+                VersionCheck.verify(1, rows, Map.of(uuid, expectedVersions.get(uuid)), Map.of(uuid, version));
+            }
+        });
+    }
+
     @Override
     public void closeAccount(UUID id) {
         AccountEntity accountEntity = accountRepository.getReferenceById(id);
@@ -125,10 +163,23 @@ public class JpaAccountRepository implements AccountRepository {
     }
 
     @Override
-    public List<AccountEntity> findById(Set<UUID> ids, boolean forUpdate) {
-        return forUpdate
-                ? accountRepository.findAllWithLock(ids)
-                : accountRepository.findAll(ids);
+    public List<AccountEntity> findById(Set<UUID> ids, boolean forUpdate, boolean ordered,
+                                        LockWaitPolicy waitPolicy) {
+        // Lock wait policy is not supported in JPQL, always waits
+        if (forUpdate) {
+            return ordered
+                    ? accountRepository.findAllWithLockOrdered(ids)
+                    : accountRepository.findAllWithLock(ids);
+        }
+        return accountRepository.findAll(ids);
+    }
+
+    @Override
+    public List<AccountEntity> findByNames(String city, Collection<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        return accountRepository.findAllByNames(city, names);
     }
 
     @Override
@@ -159,7 +210,14 @@ public class JpaAccountRepository implements AccountRepository {
     }
 
     @Override
-    public Page<AccountEntity> findAll(AccountType accountType, Pageable page) {
-        return accountRepository.findAll(accountType, page);
+    public KeysetPage<AccountEntity> findAll(AccountType accountType, UUID after, int size) {
+        return KeysetPage.of(accountRepository.findAllAfter(accountType, after, PageRequest.ofSize(size + 1)),
+                after, size, AccountEntity::getId);
+    }
+
+    @Override
+    public long countAll(AccountType accountType, boolean approximate) {
+        // Always exact with JPA
+        return accountRepository.countByType(accountType);
     }
 }
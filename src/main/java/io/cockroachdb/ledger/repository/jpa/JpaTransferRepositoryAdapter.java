@@ -1,19 +1,30 @@
 package io.cockroachdb.ledger.repository.jpa;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import jakarta.annotation.PostConstruct;
+
 import io.cockroachdb.ledger.ProfileNames;
+import io.cockroachdb.ledger.domain.AccountItem;
+import io.cockroachdb.ledger.domain.ApplicationProperties;
 import io.cockroachdb.ledger.domain.TransferEntity;
 import io.cockroachdb.ledger.domain.TransferItemEntity;
 import io.cockroachdb.ledger.domain.TransferType;
 import io.cockroachdb.ledger.repository.TransferRepository;
+import io.cockroachdb.ledger.util.KeysetPage;
 
 @Repository
 @Profile(ProfileNames.JPA)
@@ -24,19 +35,65 @@ public class JpaTransferRepositoryAdapter implements TransferRepository {
     @Autowired
     private TransferItemJpaRepository transferItemJpaRepository;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @PostConstruct
+    public void init() {
+        if (applicationProperties.isSingleStatementTransfers()) {
+            throw new IllegalStateException(
+                    "Single statement transfers are not supported by JPA - disable "
+                    + "application.single-statement-transfers or the jpa profile");
+        }
+    }
+
     @Override
     public TransferEntity createTransfer(TransferEntity transferEntity) {
+        if (transferEntity.getId() == null) {
+            transferEntity.setId(UUID.randomUUID());
+        }
         return transferJpaRepository.save(transferEntity);
     }
 
+    @Override
+    public List<TransferEntity> createTransfers(List<TransferEntity> transferEntities) {
+        transferEntities.forEach(transferEntity -> {
+            if (transferEntity.getId() == null) {
+                transferEntity.setId(UUID.randomUUID());
+            }
+        });
+        return transferJpaRepository.saveAll(transferEntities);
+    }
+
     @Override
     public List<TransferItemEntity> createTransferItems(List<TransferItemEntity> items) {
         return items;
     }
 
+    @Override
+    public TransferEntity createTransfer(TransferEntity transferEntity,
+                                         List<AccountItem> accountItems,
+                                         boolean forUpdate) {
+        throw new UnsupportedOperationException("Single statement transfers are not supported by JPA");
+    }
+
     @Override
     public TransferEntity findTransferById(UUID transferId) {
-        return transferJpaRepository.findById(transferId).orElse(null);
+        return transferJpaRepository.findByIdWithItems(transferId).orElse(null);
+    }
+
+    @Override
+    public List<TransferEntity> findTransfersWithItems(Collection<UUID> transferIds) {
+        if (transferIds.isEmpty()) {
+            return List.of();
+        }
+        final Map<UUID, TransferEntity> transfers = transferJpaRepository.findAllByIdWithItems(transferIds)
+                .stream()
+                .collect(Collectors.toMap(TransferEntity::getId, Function.identity()));
+        return transferIds.stream()
+                .map(transfers::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Override
@@ -45,18 +102,38 @@ public class JpaTransferRepositoryAdapter implements TransferRepository {
     }
 
     @Override
-    public Page<TransferEntity> findAllTransfersByAccountId(UUID accountId, Pageable pageable) {
-        return transferJpaRepository.findAll(accountId, pageable);
+    public KeysetPage<TransferEntity> findAllTransfersByAccountId(UUID accountId, UUID after, int size) {
+        return KeysetPage.of(transferJpaRepository.findAllAfter(accountId, after, PageRequest.ofSize(size + 1)),
+                after, size, TransferEntity::getId);
+    }
+
+    @Override
+    public KeysetPage<TransferEntity> findAllTransfersByCity(String city, UUID after, int size) {
+        return KeysetPage.of(transferJpaRepository.findAllByCityAfter(city, after, PageRequest.ofSize(size + 1)),
+                after, size, TransferEntity::getId);
+    }
+
+    @Override
+    public KeysetPage<TransferEntity> findAllTransfers(TransferType transferType, UUID after, int size) {
+        return KeysetPage.of(transferJpaRepository.findAllAfter(transferType, after, PageRequest.ofSize(size + 1)),
+                after, size, TransferEntity::getId);
+    }
+
+    // Counts are always exact with JPA
+
+    @Override
+    public long countTransfersByAccountId(UUID accountId, boolean approximate) {
+        return transferJpaRepository.countByAccountId(accountId);
     }
 
     @Override
-    public Page<TransferEntity> findAllTransfersByCity(String city, Pageable pageable) {
-        return transferJpaRepository.findAllByCity(city, pageable);
+    public long countTransfersByCity(String city, boolean approximate) {
+        return transferJpaRepository.countByCity(city);
     }
 
     @Override
-    public Page<TransferEntity> findAllTransfers(TransferType transferType, Pageable pageable) {
-        return transferJpaRepository.findAll(transferType, pageable);
+    public long countTransfers(TransferType transferType, boolean approximate) {
+        return transferJpaRepository.countByType(transferType);
     }
 
     @Override
@@ -17,7 +17,8 @@ public interface TransferItemJpaRepository extends JpaRepository<TransferItemEnt
 
     @Query(value
             = "select item from TransferItemEntity item "
-              + "where item.transferEntity.id = :transferId",
+              + "where item.transferEntity.id = :transferId "
+              + "order by item.id.itemPos",
             countQuery
                     = "select count(item.id.transferId) from TransferItemEntity item "
                       + "where item.transferEntity.id = :transferId")
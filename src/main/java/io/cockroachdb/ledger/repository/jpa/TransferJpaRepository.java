@@ -1,8 +1,10 @@
 package io.cockroachdb.ledger.repository.jpa;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -15,26 +17,52 @@ import io.cockroachdb.ledger.domain.TransferType;
 public interface TransferJpaRepository extends JpaRepository<TransferEntity, UUID>,
         JpaSpecificationExecutor<TransferEntity> {
     @Query(value = "select t "
-                   + "from TransferEntity t join TransferItemEntity ti on t.id = ti.id.transferId "
-                   + "where ti.accountEntity.id = :accountId",
-            countQuery = "select count(t.id) "
-                         + "from TransferEntity t join TransferItemEntity ti on t.id = ti.id.transferId "
-                         + "where ti.accountEntity.id = :accountId")
-    Page<TransferEntity> findAll(@Param("accountId") UUID accountId, Pageable pageable);
+                   + "from TransferEntity t "
+                   + "where t.id in (select ti.id.transferId from TransferItemEntity ti "
+                   + "where ti.accountEntity.id = :accountId and ti.id.transferId > :after) "
+                   + "order by t.id")
+    List<TransferEntity> findAllAfter(@Param("accountId") UUID accountId,
+                                      @Param("after") UUID after,
+                                      Pageable pageable);
+
+    @Query(value = "select count(distinct ti.id.transferId) "
+                   + "from TransferItemEntity ti "
+                   + "where ti.accountEntity.id = :accountId")
+    long countByAccountId(@Param("accountId") UUID accountId);
+
+    @Query(value = "select t "
+                   + "from TransferEntity t "
+                   + "where t.city = :city and t.id > :after "
+                   + "order by t.id")
+    List<TransferEntity> findAllByCityAfter(@Param("city") String city,
+                                            @Param("after") UUID after,
+                                            Pageable pageable);
+
+    @Query(value = "select count(t.id) "
+                   + "from TransferEntity t "
+                   + "where t.city = :city")
+    long countByCity(@Param("city") String city);
 
     @Query(value = "select t "
-                   + "from TransferEntity t join TransferItemEntity ti on t.id = ti.id.transferId "
-                   + "where ti.accountEntity.city = :city",
-            countQuery = "select count(t.id) "
-                         + "from TransferEntity t join TransferItemEntity ti on t.id = ti.id.transferId "
-                         + "where ti.accountEntity.city = :city")
-    Page<TransferEntity> findAllByCity(@Param("city") String city, Pageable pageable);
+                   + "from TransferEntity t left join fetch t.items "
+                   + "where t.id = :id")
+    Optional<TransferEntity> findByIdWithItems(@Param("id") UUID id);
+
+    @Query(value = "select distinct t "
+                   + "from TransferEntity t left join fetch t.items "
+                   + "where t.id in :ids")
+    List<TransferEntity> findAllByIdWithItems(@Param("ids") Collection<UUID> ids);
 
     @Query(value = "select t "
                    + "from TransferEntity t "
-                   + "where t.transferType = :type",
-            countQuery = "select count(t.id) "
-                         + "from TransferEntity t  "
-                         + "where t.transferType = :type")
-    Page<TransferEntity> findAll(@Param("type") TransferType transferType, Pageable pageable);
+                   + "where t.transferType = :type and t.id > :after "
+                   + "order by t.id")
+    List<TransferEntity> findAllAfter(@Param("type") TransferType transferType,
+                                      @Param("after") UUID after,
+                                      Pageable pageable);
+
+    @Query(value = "select count(t.id) "
+                   + "from TransferEntity t "
+                   + "where t.transferType = :type")
+    long countByType(@Param("type") TransferType transferType);
 }
@@ -2,13 +2,10 @@ package io.cockroachdb.ledger.service;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.util.Pair;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
@@ -17,11 +14,15 @@ import io.cockroachdb.ledger.annotation.ServiceFacade;
 import io.cockroachdb.ledger.annotation.TransactionImplicit;
 import io.cockroachdb.ledger.domain.AccountBatchRequest;
 import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.domain.AccountStatement;
 import io.cockroachdb.ledger.domain.AccountType;
 import io.cockroachdb.ledger.domain.City;
+import io.cockroachdb.ledger.service.account.AccountCandidateCache;
 import io.cockroachdb.ledger.service.account.AccountService;
 import io.cockroachdb.ledger.util.CockroachFacts;
+import io.cockroachdb.ledger.util.KeysetPage;
 import io.cockroachdb.ledger.util.Money;
+import io.cockroachdb.ledger.util.StatementCursor;
 
 @ServiceFacade
 public class AccountFacade {
@@ -30,6 +31,9 @@ public class AccountFacade {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private AccountCandidateCache accountCandidateCache;
+
     @TransactionImplicit
     public AccountEntity createAccount(AccountEntity accountEntity) {
         return accountService.createAccount(accountEntity);
@@ -50,10 +54,28 @@ public class AccountFacade {
     }
 
     @TransactionImplicit(readOnly = true)
-    public Page<AccountEntity> findAccounts(AccountType accountType, Pageable pageable) {
-        return accountService.findAll(accountType, pageable);
+    public KeysetPage<AccountEntity> findAccounts(AccountType accountType, UUID after, int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Page size must be positive: " + size);
+        }
+        return accountService.findAll(accountType, after, size);
+    }
+
+    @TransactionImplicit(readOnly = true)
+    public AccountEntity findAccount(UUID id) {
+        return accountService.findById(id);
+    }
+
+    @TransactionImplicit(readOnly = true)
+    public AccountStatement findAccountStatement(UUID id, StatementCursor after, int size) {
+        return accountService.findStatement(id, after, size);
     }
 
+    /**
+     * Find account candidates in a city through the candidate cache. Without a balance
+     * range the returned accounts are balance-free snapshots, use the balance lookups
+     * for balances.
+     */
     @TransactionImplicit(readOnly = true)
     public List<AccountEntity> findAccounts(City city, AccountType accountType,
                                       Pair<BigDecimal, BigDecimal> range,
@@ -61,7 +83,7 @@ public class AccountFacade {
         Assert.isTrue(!TransactionSynchronizationManager.isActualTransactionActive(),
                 "Expecting no active transaction");
 
-        return accountService.findByCriteria(Set.of(city.getName()), accountType, range, limit);
+        return accountCandidateCache.findAccounts(city.getName(), accountType, range, limit);
     }
 
         @TransactionImplicit(readOnly = true)
@@ -0,0 +1,48 @@
+package io.cockroachdb.ledger.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+
+import io.cockroachdb.ledger.ProfileNames;
+import io.cockroachdb.ledger.annotation.ServiceFacade;
+import io.cockroachdb.ledger.annotation.TransactionExplicit;
+import io.cockroachdb.ledger.annotation.TransactionPriority;
+import io.cockroachdb.ledger.domain.OutboxEvent;
+import io.cockroachdb.ledger.repository.OutboxRepository;
+import io.cockroachdb.ledger.service.outbox.OutboxSink;
+
+@ServiceFacade
+@Profile(ProfileNames.OUTBOX)
+public class OutboxFacade {
+    public record RelayBatch(List<OutboxEvent> claimed, int published) {
+    }
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    /**
+     * Claim, publish and delete one batch of outbox events in a single transaction,
+     * at low priority to yield to the transfers writing events.
+     *
+     * @param limit   max number of events to claim
+     * @param compact publish only the latest event per aggregate in the batch
+     * @param sink    the sink to publish to
+     * @return the relayed batch
+     */
+    @TransactionExplicit(priority = TransactionPriority.LOW)
+    public RelayBatch relayEvents(int limit, boolean compact, OutboxSink sink) {
+        List<OutboxEvent> claimed = outboxRepository.claimEvents(limit);
+        if (claimed.isEmpty()) {
+            return new RelayBatch(claimed, 0);
+        }
+
+        List<OutboxEvent> events = compact ? OutboxEvent.compact(claimed) : claimed;
+        sink.publish(events);
+
+        outboxRepository.deleteEvents(claimed.stream().map(OutboxEvent::id).toList());
+
+        return new RelayBatch(claimed, events.size());
+    }
+}
@@ -11,16 +11,18 @@ import org.springframework.core.task.AsyncTaskExecutor;
 
 import io.cockroachdb.ledger.annotation.ServiceFacade;
 import io.cockroachdb.ledger.annotation.TransactionImplicit;
-import io.cockroachdb.ledger.domain.AccountSummary;
-import io.cockroachdb.ledger.domain.TransferSummary;
 import io.cockroachdb.ledger.domain.City;
-import io.cockroachdb.ledger.repository.ReportingRepository;
 import io.cockroachdb.ledger.domain.BalanceSheet;
+import io.cockroachdb.ledger.service.reporting.BalanceSheetAggregator;
+import io.cockroachdb.ledger.service.reporting.ConsistencyChecker;
 
 @ServiceFacade
 public class ReportingFacade {
     @Autowired
-    private ReportingRepository reportingRepository;
+    private BalanceSheetAggregator balanceSheetAggregator;
+
+    @Autowired
+    private ConsistencyChecker consistencyChecker;
 
     @Autowired
     @Qualifier("applicationTaskExecutor")
@@ -30,36 +32,9 @@ public class ReportingFacade {
     public List<BalanceSheet> getBalanceSheets(Set<City> cities) {
         List<CompletableFuture<BalanceSheet>> allFutures = new ArrayList<>();
 
-        cities.forEach(city -> {
-            CompletableFuture<AccountSummary> f1 = asyncTaskExecutor.submitCompletable(() -> {
-                return reportingRepository.accountSummary(city);
-            });
-
-            CompletableFuture<TransferSummary> f2 = asyncTaskExecutor.submitCompletable(() -> {
-                return reportingRepository.transferSummary(city);
-            });
-
-            CompletableFuture<BalanceSheet> combinedFuture = f1.thenCombine(f2,
-                    (accountSummary, transferSummary) -> {
-                BalanceSheet balanceSheet = new BalanceSheet();
-                balanceSheet.setCity(city);
-
-                balanceSheet.setUpdatedAt(accountSummary.getUpdatedAt());
-                balanceSheet.setNumberOfAccounts(accountSummary.getNumberOfAccounts());
-                balanceSheet.setMinBalance(accountSummary.getMaxBalance());
-                balanceSheet.setMaxBalance(accountSummary.getMaxBalance());
-                balanceSheet.setTotalBalance(accountSummary.getTotalBalance());
-
-                balanceSheet.setNumberOfTransfers(transferSummary.getNumberOfTransfers());
-                balanceSheet.setNumberOfLegs(transferSummary.getNumberOfLegs());
-                balanceSheet.setTotalTurnover(transferSummary.getTotalTurnover());
-                balanceSheet.setTotalChecksum(transferSummary.getTotalCheckSum());
-
-                return balanceSheet;
-            });
-
-            allFutures.add(combinedFuture);
-        });
+        // Served from incrementally maintained aggregates, scanning only if stale
+        cities.forEach(city -> allFutures.add(asyncTaskExecutor.submitCompletable(
+                () -> balanceSheetAggregator.getBalanceSheet(city))));
 
         final List<BalanceSheet> balanceSheets = new ArrayList<>();
 
@@ -69,4 +44,9 @@ public class ReportingFacade {
 
         return balanceSheets;
     }
+
+    @TransactionImplicit
+    public ConsistencyChecker.Report checkConsistency(int chunkSize, int partitions, boolean resume, int limit) {
+        return consistencyChecker.check(chunkSize, partitions, resume, limit);
+    }
 }
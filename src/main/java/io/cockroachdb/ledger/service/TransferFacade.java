@@ -1,5 +1,7 @@
 package io.cockroachdb.ledger.service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.slf4j.Logger;
@@ -20,6 +22,7 @@ import io.cockroachdb.ledger.domain.TransferItemEntity;
 import io.cockroachdb.ledger.domain.TransferRequest;
 import io.cockroachdb.ledger.domain.TransferType;
 import io.cockroachdb.ledger.service.transfer.TransferService;
+import io.cockroachdb.ledger.util.KeysetPage;
 
 @ServiceFacade
 public class TransferFacade {
@@ -35,9 +38,56 @@ public class TransferFacade {
         return transferService.create(request);
     }
 
+    /**
+     * Create a batch of transfers with disjoint account sets in one transaction. Not retried
+     * since the caller is expected to split the batch on failure.
+     */
+    @TransactionExplicit(priority = TransactionPriority.HIGH)
+    @ResponseOutboxEvent(value = TransferEntity.class)
+    public List<TransferEntity> createTransfers(List<TransferRequest> requests) {
+        return transferService.createAll(requests);
+    }
+
+    @TransactionImplicit(readOnly = true)
+    public KeysetPage<TransferEntity> findTransfers(TransferType transferType, UUID after, int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Page size must be positive: " + size);
+        }
+        return transferService.findAll(transferType, after, size);
+    }
+
+    @TransactionImplicit(readOnly = true)
+    public KeysetPage<TransferEntity> findTransfersByCity(String city, UUID after, int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Page size must be positive: " + size);
+        }
+        return transferService.findAllByCity(city, after, size);
+    }
+
+    @TransactionImplicit(readOnly = true)
+    public KeysetPage<TransferEntity> findTransfersByAccountId(UUID accountId, UUID after, int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Page size must be positive: " + size);
+        }
+        return transferService.findAllByAccountId(accountId, after, size);
+    }
+
+    @TransactionImplicit(readOnly = true)
+    public TransferEntity findTransfer(UUID id) {
+        return transferService.findById(id);
+    }
+
+    /**
+     * Archive a batch of transfers in one transaction, at low priority to yield to live transfers.
+     */
+    @TransactionExplicit(priority = TransactionPriority.LOW)
+    public int archiveTransfers(Collection<UUID> ids) {
+        return transferService.archive(ids);
+    }
+
     @TransactionImplicit(readOnly = true)
-    public Page<TransferEntity> findTransfers(TransferType transferType, @PageableDefault(size = 5) Pageable page) {
-        return transferService.findAll(transferType, page);
+    public List<TransferEntity> findTransfersWithItems(Collection<UUID> ids) {
+        return transferService.findAllWithItems(ids);
     }
 
     @TransactionImplicit(readOnly = true)
@@ -0,0 +1,145 @@
+package io.cockroachdb.ledger.service.account;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
+
+import io.cockroachdb.ledger.domain.AccountCache;
+import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.domain.AccountType;
+import io.cockroachdb.ledger.domain.ApplicationProperties;
+import io.cockroachdb.ledger.repository.AccountRepository;
+import io.cockroachdb.ledger.util.Money;
+
+/**
+ * Per-city read-through cache of account candidates used by workloads to pick accounts
+ * without repeating the windowed account scan on every iteration.
+ * <p>
+ * Each city and account type holds up to {@code max-candidates} accounts in ID order,
+ * loaded without a balance filter. Cached entries are balance-free snapshots that only
+ * retain id, city, name, type, currency (as a zero balance) and the closed and
+ * allow-negative flags. Entries expire by time-to-live and are invalidated when an
+ * account in that city is created, opened or closed.
+ * <p>
+ * Queries filtering by balance range read the current rows of the candidates by
+ * primary key, in ID order and in chunks, and apply the range to the fetched balances.
+ * This gives the same accounts as the windowed scan since transfers only change balances,
+ * not the candidate set. If the candidates run out before enough accounts are in range
+ * and the candidate set was truncated, the query falls back to the windowed scan.
+ */
+@Component
+public class AccountCandidateCache {
+    private static final int MIN_CHUNK_SIZE = 16;
+
+    private record Entry(List<AccountEntity> accounts, boolean truncated, long expiresAtMillis) {
+    }
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private final Map<String, Map<AccountType, Entry>> entriesPerCity = new ConcurrentHashMap<>();
+
+    public List<AccountEntity> findAccounts(String city,
+                                            AccountType accountType,
+                                            Pair<BigDecimal, BigDecimal> range,
+                                            int limit) {
+        final AccountCache settings = applicationProperties.getAccountCache();
+        if (!settings.isEnabled() || limit > settings.getMaxCandidates()) {
+            return accountRepository.findByCriteria(Set.of(city), accountType, range, limit);
+        }
+
+        final Entry entry = findCandidates(city, accountType, settings);
+
+        // Equal bounds means no balance filtering
+        if (range.getFirst().compareTo(range.getSecond()) == 0) {
+            return entry.accounts().subList(0, Math.min(limit, entry.accounts().size()));
+        }
+
+        final List<AccountEntity> candidates = entry.accounts();
+        final List<AccountEntity> accounts = new ArrayList<>(limit);
+        final int chunkSize = Math.max(limit, MIN_CHUNK_SIZE);
+
+        for (int i = 0; i < candidates.size() && accounts.size() < limit; i += chunkSize) {
+            Set<UUID> ids = new LinkedHashSet<>();
+            candidates.subList(i, Math.min(i + chunkSize, candidates.size()))
+                    .forEach(accountEntity -> ids.add(accountEntity.getId()));
+
+            accountRepository.findById(ids, false)
+                    .stream()
+                    .filter(accountEntity -> inRange(accountEntity.getBalance().getAmount(), range))
+                    .sorted(Comparator.comparing(AccountEntity::getId))
+                    .limit(limit - accounts.size())
+                    .forEach(accounts::add);
+        }
+
+        if (accounts.size() < limit && entry.truncated()) {
+            return accountRepository.findByCriteria(Set.of(city), accountType, range, limit);
+        }
+
+        return accounts;
+    }
+
+    private Entry findCandidates(String city, AccountType accountType, AccountCache settings) {
+        final Map<AccountType, Entry> entries = entriesPerCity.computeIfAbsent(city,
+                c -> new ConcurrentHashMap<>());
+        final long now = System.currentTimeMillis();
+
+        Entry entry = entries.get(accountType);
+        if (entry != null && entry.expiresAtMillis() > now) {
+            return entry;
+        }
+
+        // Concurrent misses for the same key are harmless, last load wins
+        final int maxCandidates = settings.getMaxCandidates();
+        final List<AccountEntity> accounts = accountRepository.findByCriteria(Set.of(city), accountType,
+                        Pair.of(BigDecimal.ZERO, BigDecimal.ZERO), maxCandidates)
+                .stream()
+                .sorted(Comparator.comparing(AccountEntity::getId))
+                .map(AccountCandidateCache::toSnapshot)
+                .toList();
+
+        entry = new Entry(accounts, accounts.size() >= maxCandidates,
+                now + settings.getTimeToLive().toMillis());
+        entries.put(accountType, entry);
+
+        return entry;
+    }
+
+    public void invalidate(String city) {
+        entriesPerCity.remove(Objects.requireNonNull(city));
+    }
+
+    public void invalidateAll() {
+        entriesPerCity.clear();
+    }
+
+    private static boolean inRange(BigDecimal balance, Pair<BigDecimal, BigDecimal> range) {
+        return balance.compareTo(range.getFirst()) >= 0 && balance.compareTo(range.getSecond()) <= 0;
+    }
+
+    private static AccountEntity toSnapshot(AccountEntity accountEntity) {
+        return AccountEntity.builder()
+                .withId(accountEntity.getId())
+                .withCity(accountEntity.getCity())
+                .withName(accountEntity.getName())
+                .withAccountType(accountEntity.getAccountType())
+                .withBalance(Money.zero(accountEntity.getBalance().getCurrency()))
+                .withClosed(accountEntity.isClosed())
+                .withAllowNegative(accountEntity.isAllowedNegative())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package io.cockroachdb.ledger.service.account;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface AccountImportService {
+    /**
+     * Import accounts from a CSV stream in the same format as produced by the account export.
+     * <p>
+     * Each chunk is written in a separate transaction by one writer per city, so the import
+     * is not atomic. If the import fails, chunks written before the failure remain and
+     * the number of accounts written is logged.
+     *
+     * @param inputStream the CSV stream (uncompressed)
+     * @param chunkSize   number of accounts per write
+     * @return number of accounts imported
+     * @throws IOException on read errors
+     */
+    long importAccounts(InputStream inputStream, int chunkSize) throws IOException;
+}
@@ -1,25 +1,27 @@
 package io.cockroachdb.ledger.service.account;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.util.Pair;
 
 import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.domain.AccountStatement;
 import io.cockroachdb.ledger.domain.AccountType;
+import io.cockroachdb.ledger.util.KeysetPage;
 import io.cockroachdb.ledger.util.Money;
+import io.cockroachdb.ledger.util.StatementCursor;
 
 public interface AccountService {
     AccountEntity createAccount(AccountEntity accountEntity);
 
     List<UUID> createAccountBatch(Supplier<AccountEntity> factory, int batchSize);
 
-    Page<AccountEntity> findAll(AccountType accountType, Pageable page);
+    KeysetPage<AccountEntity> findAll(AccountType accountType, UUID after, int size);
 
     List<AccountEntity> findByCriteria(Set<String> cities,
                                        AccountType accountType,
@@ -28,6 +30,20 @@ public interface AccountService {
 
     AccountEntity findById(UUID id);
 
+    List<AccountEntity> findByNames(String city, Collection<String> names);
+
+    /**
+     * Find a page of the legs of an account in chronological order.
+     *
+     * @param id    the account ID
+     * @param after the cursor to fetch legs after
+     * @param size  page size, must be positive
+     * @return the statement page
+     * @throws io.cockroachdb.ledger.service.NoSuchAccountException if the account doesn't exist
+     * @throws io.cockroachdb.ledger.service.BadRequestException if the size is not positive
+     */
+    AccountStatement findStatement(UUID id, StatementCursor after, int size);
+
     Money getBalance(UUID id);
 
     Money getBalanceSnapshot(UUID id);
@@ -0,0 +1,236 @@
+package io.cockroachdb.ledger.service.account;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.util.Assert;
+
+import io.cockroachdb.ledger.annotation.ControlService;
+import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.domain.AccountType;
+import io.cockroachdb.ledger.push.SimpMessagePublisher;
+import io.cockroachdb.ledger.push.TopicName;
+import io.cockroachdb.ledger.repository.AccountRepository;
+import io.cockroachdb.ledger.service.BadRequestException;
+import io.cockroachdb.ledger.service.reporting.BalanceSheetAggregator;
+import io.cockroachdb.ledger.shell.support.AnsiConsole;
+import io.cockroachdb.ledger.util.Money;
+
+/**
+ * Streaming account import where a single reader parses the CSV stream and routes
+ * accounts to one writer per city through bounded queues. A full queue blocks the
+ * reader, which in turn applies back-pressure on the upload.
+ * <p>
+ * Chunks commit independently rather than in one transaction spanning all writers,
+ * which would be long-running and contended, so a failed import is partial.
+ */
+@ControlService
+public class DefaultAccountImportService implements AccountImportService {
+    private static final AccountEntity END_OF_STREAM = AccountEntity.builder().build();
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountCandidateCache accountCandidateCache;
+
+    @Autowired
+    private BalanceSheetAggregator balanceSheetAggregator;
+
+    @Autowired
+    private AnsiConsole ansiConsole;
+
+    @Autowired
+    private SimpMessagePublisher simpMessagePublisher;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor asyncTaskExecutor;
+
+    @Override
+    public long importAccounts(InputStream inputStream, int chunkSize) throws IOException {
+        Assert.isTrue(chunkSize > 0, "chunkSize must be > 0");
+
+        final Map<String, BlockingQueue<AccountEntity>> queuesPerCity = new HashMap<>();
+        final List<CompletableFuture<Long>> writers = new ArrayList<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final AtomicLong linesRead = new AtomicLong();
+        final AtomicLong rowsWritten = new AtomicLong();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("id,")) {
+                    continue;
+                }
+
+                final AccountEntity accountEntity = parseLine(line, linesRead.incrementAndGet());
+
+                BlockingQueue<AccountEntity> queue = queuesPerCity.computeIfAbsent(accountEntity.getCity(), city -> {
+                    BlockingQueue<AccountEntity> q = new ArrayBlockingQueue<>(chunkSize * 4);
+                    writers.add(asyncTaskExecutor.submitCompletable(
+                            () -> writeAccounts(city, q, chunkSize, failure, linesRead, rowsWritten)));
+                    return q;
+                });
+
+                enqueue(queue, accountEntity, failure);
+            }
+
+            queuesPerCity.values().forEach(queue -> enqueue(queue, END_OF_STREAM, failure));
+        } catch (RuntimeException | IOException e) {
+            failure.compareAndSet(null, e);
+            logPartialImport(rowsWritten.get());
+            throw e;
+        }
+
+        try {
+            CompletableFuture.allOf(writers.toArray(new CompletableFuture[0])).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logPartialImport(rowsWritten.get());
+            throw new IllegalStateException("Interrupted while waiting for writers", e);
+        } catch (ExecutionException e) {
+            logPartialImport(rowsWritten.get());
+            throw new IllegalStateException("Account import failed after writing %,d accounts"
+                    .formatted(rowsWritten.get()), e.getCause());
+        }
+
+        accountCandidateCache.invalidateAll();
+
+        balanceSheetAggregator.invalidateAll();
+
+        publishProgress(linesRead.get(), rowsWritten.get(), true);
+
+        logger.info("Imported %,d accounts for %d cities".formatted(rowsWritten.get(), queuesPerCity.size()));
+
+        return rowsWritten.get();
+    }
+
+    private void logPartialImport(long rowsWritten) {
+        // Accounts written in chunks before the failure are not rolled back
+        logger.warn("Account import failed with %,d accounts written".formatted(rowsWritten));
+        accountCandidateCache.invalidateAll();
+        balanceSheetAggregator.invalidateAll();
+    }
+
+    private void enqueue(BlockingQueue<AccountEntity> queue,
+                         AccountEntity accountEntity,
+                         AtomicReference<Throwable> failure) {
+        try {
+            while (!queue.offer(accountEntity, 1, TimeUnit.SECONDS)) {
+                if (failure.get() != null) {
+                    throw new IllegalStateException("Account import aborted", failure.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading", e);
+        }
+    }
+
+    private long writeAccounts(String city,
+                               BlockingQueue<AccountEntity> queue,
+                               int chunkSize,
+                               AtomicReference<Throwable> failure,
+                               AtomicLong linesRead,
+                               AtomicLong rowsWritten) {
+        final List<AccountEntity> chunk = new ArrayList<>(chunkSize);
+
+        long total = 0;
+
+        try {
+            while (failure.get() == null) {
+                AccountEntity accountEntity = queue.poll(1, TimeUnit.SECONDS);
+                if (accountEntity == null) {
+                    continue;
+                }
+                if (accountEntity != END_OF_STREAM) {
+                    chunk.add(accountEntity);
+                }
+                if (chunk.size() == chunkSize || (accountEntity == END_OF_STREAM && !chunk.isEmpty())) {
+                    long rows = accountRepository.importAccounts(chunk);
+                    total += rows;
+                    chunk.clear();
+
+                    ansiConsole.progressBar(rowsWritten.addAndGet(rows), linesRead.get(), city);
+                    publishProgress(linesRead.get(), rowsWritten.get(), false);
+                }
+                if (accountEntity == END_OF_STREAM) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } catch (RuntimeException e) {
+            logger.warn("Account import failed for city '%s'".formatted(city), e);
+            failure.compareAndSet(null, e);
+            throw e;
+        }
+
+        return total;
+    }
+
+    private void publishProgress(long read, long written, boolean completed) {
+        Map<String, Object> progress = Map.of(
+                "read", read,
+                "written", written,
+                "completed", completed);
+        if (completed) {
+            simpMessagePublisher.convertAndSend(TopicName.ACCOUNT_IMPORT_PROGRESS, progress);
+        } else {
+            simpMessagePublisher.convertAndSendThrottled(TopicName.ACCOUNT_IMPORT_PROGRESS, progress,
+                    TopicName.ACCOUNT_IMPORT_PROGRESS, 2);
+        }
+    }
+
+    /**
+     * Parse a CSV line in the format: id,city,name,balance,currency,allow_negative,account_type[,updated_at]
+     */
+    private static AccountEntity parseLine(String line, long lineNo) {
+        String[] columns = line.split(",", -1);
+        if (columns.length < 7) {
+            throw new BadRequestException("Expected at least 7 columns at line %d, found %d"
+                    .formatted(lineNo, columns.length));
+        }
+        try {
+            return AccountEntity.builder()
+                    .withId(UUID.fromString(columns[0].trim()))
+                    .withCity(columns[1].trim())
+                    .withName(columns[2].trim())
+                    .withBalance(Money.of(new BigDecimal(columns[3].trim()),
+                            Currency.getInstance(columns[4].trim())))
+                    .withAllowNegative("1".equals(columns[5].trim())
+                                       || "true".equalsIgnoreCase(columns[5].trim()))
+                    .withAccountType(AccountType.of(columns[6].trim()))
+                    .build();
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new BadRequestException("Invalid account at line %d: %s".formatted(lineNo, e.getMessage()));
+        }
+    }
+}
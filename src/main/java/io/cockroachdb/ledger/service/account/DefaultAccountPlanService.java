@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +24,7 @@ import io.cockroachdb.ledger.domain.City;
 import io.cockroachdb.ledger.domain.Region;
 import io.cockroachdb.ledger.service.AccountFacade;
 import io.cockroachdb.ledger.service.RegionAdminFacade;
+import io.cockroachdb.ledger.service.reporting.BalanceSheetAggregator;
 import io.cockroachdb.ledger.shell.support.AnsiConsole;
 import io.cockroachdb.ledger.util.AsciiArt;
 import io.cockroachdb.ledger.util.Money;
@@ -40,6 +42,12 @@ public class DefaultAccountPlanService implements AccountPlanService {
     @Autowired
     private AccountFacade accountFacade;
 
+    @Autowired
+    private AccountCandidateCache accountCandidateCache;
+
+    @Autowired
+    private BalanceSheetAggregator balanceSheetAggregator;
+
     @Autowired
     private AnsiConsole ansiConsole;
 
@@ -82,12 +90,24 @@ public class DefaultAccountPlanService implements AccountPlanService {
                             AccountEntity.builder()
                                     .withGeneratedId()
                                     .withCity(city.getName())
-                                    .withName("system-account-" + city.getName().toLowerCase())
+                                    .withName(LiabilityShards.systemAccountName(city))
                                     .withAllowNegative(true)
                                     .withBalance(totalBalance)
                                     .withAccountType(AccountType.LIABILITY)
                                     .withUpdated(LocalDateTime.now()).build());
 
+                    // Zero balance sub-accounts used as grant sources, periodically consolidated
+                    IntStream.rangeClosed(1, accountPlan.getLiabilityShards()).forEach(shard ->
+                            accountFacade.createAccount(
+                                    AccountEntity.builder()
+                                            .withGeneratedId()
+                                            .withCity(city.getName())
+                                            .withName(LiabilityShards.shardAccountName(city, shard))
+                                            .withAllowNegative(true)
+                                            .withBalance(Money.zero(currency))
+                                            .withAccountType(AccountType.LIABILITY)
+                                            .withUpdated(LocalDateTime.now()).build()));
+
                     // Use set returning (virtual table) function for speed
 
                     int rows = jdbcTemplate.update(
@@ -116,6 +136,10 @@ public class DefaultAccountPlanService implements AccountPlanService {
                             + currency.getSymbol(Locale.US) + ")");
                 });
 
+        accountCandidateCache.invalidateAll();
+
+        balanceSheetAggregator.invalidateAll();
+
         logger.info("Ledger is open for business %s".formatted(AsciiArt.happy()));
     }
 
@@ -126,6 +150,9 @@ public class DefaultAccountPlanService implements AccountPlanService {
         List<String> tables = List.of(
                 "transfer_item",
                 "transfer",
+                "transfer_item_archive",
+                "transfer_archive",
+                "account_checkpoint",
                 "account",
                 "account_plan"
         );
@@ -137,6 +164,10 @@ public class DefaultAccountPlanService implements AccountPlanService {
             jdbcTemplate.execute("truncate table %s CASCADE".formatted(table));
         });
 
+        accountCandidateCache.invalidateAll();
+
+        balanceSheetAggregator.invalidateAll();
+
         logger.info("Finished dropping account plan");
     }
 }
@@ -1,6 +1,7 @@
 package io.cockroachdb.ledger.service.account;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -8,18 +9,24 @@ import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 
 import io.cockroachdb.ledger.ProfileNames;
 import io.cockroachdb.ledger.annotation.ControlService;
 import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.domain.AccountStatement;
 import io.cockroachdb.ledger.domain.AccountType;
+import io.cockroachdb.ledger.domain.ApplicationProperties;
+import io.cockroachdb.ledger.domain.StatementEntry;
 import io.cockroachdb.ledger.repository.AccountRepository;
+import io.cockroachdb.ledger.repository.StatementRepository;
+import io.cockroachdb.ledger.service.BadRequestException;
 import io.cockroachdb.ledger.service.NoSuchAccountException;
+import io.cockroachdb.ledger.service.reporting.BalanceSheetAggregator;
+import io.cockroachdb.ledger.util.KeysetPage;
 import io.cockroachdb.ledger.util.Money;
+import io.cockroachdb.ledger.util.StatementCursor;
 
 @Service
 @ControlService
@@ -30,14 +37,32 @@ public class DefaultAccountService implements AccountService {
     @Autowired
     private Environment environment;
 
+    @Autowired
+    private AccountCandidateCache accountCandidateCache;
+
+    @Autowired
+    private BalanceSheetAggregator balanceSheetAggregator;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private StatementRepository statementRepository;
+
     @Override
     public AccountEntity createAccount(AccountEntity accountEntity) {
-        return accountRepository.createAccount(accountEntity);
+        AccountEntity newAccount = accountRepository.createAccount(accountEntity);
+        accountCandidateCache.invalidate(newAccount.getCity());
+        balanceSheetAggregator.invalidate(newAccount.getCity());
+        return newAccount;
     }
 
     @Override
     public List<UUID> createAccountBatch(Supplier<AccountEntity> factory, int batchSize) {
-        return accountRepository.createAccounts(factory, batchSize);
+        List<UUID> ids = accountRepository.createAccounts(factory, batchSize);
+        accountCandidateCache.invalidateAll();
+        balanceSheetAggregator.invalidateAll();
+        return ids;
     }
 
     @Override
@@ -46,6 +71,22 @@ public class DefaultAccountService implements AccountService {
                 .orElseThrow(() -> new NoSuchAccountException(id));
     }
 
+    @Override
+    public AccountStatement findStatement(UUID id, StatementCursor after, int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Statement page size must be positive: " + size);
+        }
+        List<StatementEntry> entries = statementRepository.findEntries(id, after, size + 1);
+        if (entries.isEmpty() && accountRepository.getAccountById(id).isEmpty()) {
+            throw new NoSuchAccountException(id);
+        }
+        if (entries.size() > size) {
+            entries = entries.subList(0, size);
+            return new AccountStatement(id, List.copyOf(entries), entries.get(size - 1).cursor());
+        }
+        return new AccountStatement(id, entries, null);
+    }
+
     @Override
     public Money getBalance(UUID id) {
         return accountRepository.getBalance(id);
@@ -62,20 +103,26 @@ public class DefaultAccountService implements AccountService {
     @Override
     public AccountEntity openAccount(UUID id) {
         accountRepository.openAccount(id);
-        return accountRepository.getAccountById(id)
+        AccountEntity accountEntity = accountRepository.getAccountById(id)
                 .orElseThrow(() -> new NoSuchAccountException(id));
+        accountCandidateCache.invalidate(accountEntity.getCity());
+        return accountEntity;
     }
 
     @Override
     public AccountEntity closeAccount(UUID id) {
         accountRepository.closeAccount(id);
-        return accountRepository.getAccountById(id)
+        AccountEntity accountEntity = accountRepository.getAccountById(id)
                 .orElseThrow(() -> new NoSuchAccountException(id));
+        accountCandidateCache.invalidate(accountEntity.getCity());
+        return accountEntity;
     }
 
     @Override
     public void deleteAll() {
         accountRepository.deleteAll();
+        accountCandidateCache.invalidateAll();
+        balanceSheetAggregator.invalidateAll();
     }
 
     @Override
@@ -87,7 +134,14 @@ public class DefaultAccountService implements AccountService {
     }
 
     @Override
-    public Page<AccountEntity> findAll(AccountType accountType, Pageable page) {
-        return accountRepository.findAll(accountType, page);
+    public List<AccountEntity> findByNames(String city, Collection<String> names) {
+        return accountRepository.findByNames(city, names);
+    }
+
+    @Override
+    public KeysetPage<AccountEntity> findAll(AccountType accountType, UUID after, int size) {
+        final boolean approximate = applicationProperties.isApproximateCounts();
+        return accountRepository.findAll(accountType, after, size)
+                .withTotal(accountRepository.countAll(accountType, approximate), approximate);
     }
 }
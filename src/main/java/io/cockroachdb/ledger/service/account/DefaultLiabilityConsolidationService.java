@@ -0,0 +1,122 @@
+package io.cockroachdb.ledger.service.account;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.cockroachdb.ledger.annotation.ControlService;
+import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.domain.ApplicationProperties;
+import io.cockroachdb.ledger.domain.City;
+import io.cockroachdb.ledger.domain.Region;
+import io.cockroachdb.ledger.domain.TransferEntity;
+import io.cockroachdb.ledger.domain.TransferRequest;
+import io.cockroachdb.ledger.domain.TransferType;
+import io.cockroachdb.ledger.service.TransferFacade;
+import io.cockroachdb.ledger.util.Money;
+
+/**
+ * Periodic consolidation of liability shard accounts into the city system account.
+ * Shard balances are read outside the transfer, so a concurrent grant may leave a
+ * remainder in a shard which is picked up by the next sweep. The transfer is always
+ * balanced, so the city total is unaffected either way.
+ */
+@ControlService
+public class DefaultLiabilityConsolidationService implements LiabilityConsolidationService {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountPlanService accountPlanService;
+
+    @Autowired
+    private TransferFacade transferFacade;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Scheduled(fixedDelayString = "${application.account-plan.consolidation-interval:60s}",
+            initialDelayString = "${application.account-plan.consolidation-interval:60s}")
+    public void consolidateAll() {
+        if (applicationProperties.getAccountPlan().getLiabilityShards() <= 0
+            || !accountPlanService.hasAccountPlan()) {
+            return;
+        }
+
+        Region.joinCities(applicationProperties.getRegions()).forEach(city -> {
+            try {
+                consolidate(city);
+            } catch (RuntimeException e) {
+                logger.warn("Liability consolidation failed for city '%s': %s".formatted(city.getName(), e));
+            }
+        });
+    }
+
+    @Override
+    public TransferEntity consolidate(City city) {
+        final String systemAccountName = LiabilityShards.systemAccountName(city);
+
+        // Look up the system account and shards by name rather than scanning a
+        // limited number of liability accounts which may not include them
+        final List<String> names = new ArrayList<>();
+        names.add(systemAccountName);
+        IntStream.rangeClosed(1, applicationProperties.getAccountPlan().getLiabilityShards())
+                .forEach(shard -> names.add(LiabilityShards.shardAccountName(city, shard)));
+
+        final List<AccountEntity> liabilityAccounts = accountService.findByNames(city.getName(), names);
+
+        final Optional<AccountEntity> systemAccount = liabilityAccounts.stream()
+                .filter(accountEntity -> systemAccountName.equals(accountEntity.getName()))
+                .findFirst();
+
+        final List<AccountEntity> shards = liabilityAccounts.stream()
+                .filter(LiabilityShards::isShardAccount)
+                .filter(accountEntity -> accountEntity.getBalance().getAmount().signum() != 0)
+                .toList();
+
+        if (systemAccount.isEmpty() || shards.isEmpty()) {
+            return null;
+        }
+
+        final TransferRequest.Builder builder = TransferRequest.builder()
+                .withId(UUID.randomUUID())
+                .withCity(city)
+                .withTransferType(TransferType.BANK)
+                .withBookingDate(LocalDate.now())
+                .withTransferDate(LocalDate.now());
+
+        Money total = Money.zero(city.getCurrencyInstance());
+
+        for (AccountEntity shard : shards) {
+            total = total.plus(shard.getBalance());
+            builder.addItem()
+                    .withId(shard.getId())
+                    .withAmount(shard.getBalance().negate())
+                    .withNote("Consolidation into " + systemAccountName)
+                    .then();
+        }
+
+        builder.addItem()
+                .withId(systemAccount.get().getId())
+                .withAmount(total)
+                .withNote("Consolidation of %d shards".formatted(shards.size()))
+                .then();
+
+        TransferEntity transferEntity = transferFacade.createTransfer(builder.build());
+
+        logger.debug("Consolidated %d liability shards in city '%s' with total %s"
+                .formatted(shards.size(), city.getName(), total));
+
+        return transferEntity;
+    }
+}
@@ -0,0 +1,15 @@
+package io.cockroachdb.ledger.service.account;
+
+import io.cockroachdb.ledger.domain.City;
+import io.cockroachdb.ledger.domain.TransferEntity;
+
+public interface LiabilityConsolidationService {
+    /**
+     * Sweep the balances of all liability shard accounts in a city back into
+     * the city system account with a single balanced transfer.
+     *
+     * @param city the city
+     * @return the consolidation transfer or null if there was nothing to sweep
+     */
+    TransferEntity consolidate(City city);
+}
@@ -0,0 +1,44 @@
+package io.cockroachdb.ledger.service.account;
+
+import java.util.List;
+import java.util.Locale;
+
+import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.domain.AccountType;
+import io.cockroachdb.ledger.domain.City;
+
+/**
+ * Naming conventions for the city system (liability) account and its optional
+ * sub-accounts (shards) that spread grant contention over multiple rows.
+ */
+public abstract class LiabilityShards {
+    private static final String SHARD_INFIX = "-shard-";
+
+    private LiabilityShards() {
+    }
+
+    public static String systemAccountName(City city) {
+        return "system-account-" + city.getName().toLowerCase(Locale.ENGLISH);
+    }
+
+    public static String shardAccountName(City city, int shard) {
+        return systemAccountName(city) + SHARD_INFIX + "%03d".formatted(shard);
+    }
+
+    public static boolean isShardAccount(AccountEntity accountEntity) {
+        return accountEntity.getAccountType() == AccountType.LIABILITY
+               && accountEntity.getName() != null
+               && accountEntity.getName().contains(SHARD_INFIX);
+    }
+
+    /**
+     * @param liabilityAccounts liability accounts in a city
+     * @return the shard accounts if any, otherwise all accounts
+     */
+    public static List<AccountEntity> selectSources(List<AccountEntity> liabilityAccounts) {
+        List<AccountEntity> shards = liabilityAccounts.stream()
+                .filter(LiabilityShards::isShardAccount)
+                .toList();
+        return shards.isEmpty() ? liabilityAccounts : shards;
+    }
+}
@@ -0,0 +1,84 @@
+package io.cockroachdb.ledger.service.outbox;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import io.cockroachdb.ledger.ProfileNames;
+import io.cockroachdb.ledger.domain.ApplicationProperties;
+import io.cockroachdb.ledger.domain.OutboxEvent;
+import io.cockroachdb.ledger.domain.OutboxSinkType;
+
+/**
+ * Appends outbox events as NDJSON lines to a local journal file. The file is opened
+ * lazily and flushed after each batch.
+ */
+@Component
+@Profile(ProfileNames.OUTBOX)
+public class JournalOutboxSink implements OutboxSink {
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private ObjectWriter objectWriter;
+
+    private BufferedWriter writer;
+
+    @PostConstruct
+    public void init() {
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    @Override
+    public OutboxSinkType type() {
+        return OutboxSinkType.JOURNAL;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) {
+        try {
+            if (writer == null) {
+                Path path = Paths.get(applicationProperties.getOutboxRelay().getJournalFile());
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (OutboxEvent event : events) {
+                writer.write(objectWriter.writeValueAsString(event));
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing outbox journal", e);
+        }
+    }
+}
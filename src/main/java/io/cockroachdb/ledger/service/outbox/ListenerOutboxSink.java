@@ -0,0 +1,34 @@
+package io.cockroachdb.ledger.service.outbox;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import io.cockroachdb.ledger.ProfileNames;
+import io.cockroachdb.ledger.domain.OutboxEvent;
+import io.cockroachdb.ledger.domain.OutboxSinkType;
+
+/**
+ * Publishes outbox events as in-process application events, consumed by
+ * {@code @EventListener} methods accepting {@link OutboxEvent}. Listeners run
+ * synchronously in the relay transaction, so a failing listener causes redelivery.
+ */
+@Component
+@Profile(ProfileNames.OUTBOX)
+public class ListenerOutboxSink implements OutboxSink {
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public OutboxSinkType type() {
+        return OutboxSinkType.LISTENER;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,159 @@
+package io.cockroachdb.ledger.service.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+import io.cockroachdb.ledger.ProfileNames;
+import io.cockroachdb.ledger.domain.ApplicationProperties;
+import io.cockroachdb.ledger.domain.OutboxEvent;
+import io.cockroachdb.ledger.domain.OutboxRelaySettings;
+import io.cockroachdb.ledger.domain.OutboxSinkType;
+import io.cockroachdb.ledger.service.OutboxFacade;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Background poller draining the outbox table in batches to the configured sink.
+ * Each batch is claimed with {@code FOR UPDATE SKIP LOCKED} in insertion order so
+ * that relays on multiple nodes don't block each other, and deleted in the same
+ * transaction once published. A poll keeps claiming batches until one comes back
+ * partial or the max batches per poll is reached.
+ */
+@Component
+@Profile(ProfileNames.OUTBOX)
+public class OutboxRelay {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong lastLagMillis = new AtomicLong();
+
+    private final Map<OutboxSinkType, OutboxSink> sinks = new EnumMap<>(OutboxSinkType.class);
+
+    @Autowired
+    private List<OutboxSink> outboxSinks;
+
+    @Autowired
+    private OutboxFacade outboxFacade;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter claimedCounter;
+
+    private Counter publishedCounter;
+
+    private Counter failedCounter;
+
+    private Timer batchTimer;
+
+    private Timer lagTimer;
+
+    @PostConstruct
+    public void init() {
+        outboxSinks.forEach(sink -> sinks.put(sink.type(), sink));
+
+        this.claimedCounter = meterRegistry.counter("ledger.outbox.relay.claimed");
+        this.publishedCounter = meterRegistry.counter("ledger.outbox.relay.published");
+        this.failedCounter = meterRegistry.counter("ledger.outbox.relay.failed");
+        this.batchTimer = Timer.builder("ledger.outbox.relay.batch")
+                .description("Time to claim, publish and delete one batch of outbox events")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("ledger.outbox.relay.lag")
+                .description("Time from outbox event insert to publish")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("ledger.outbox.relay.lag.last", lastLagMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${application.outbox-relay.poll-interval:1s}",
+            initialDelayString = "${application.outbox-relay.poll-interval:1s}")
+    public void relayAll() {
+        final OutboxRelaySettings settings = applicationProperties.getOutboxRelay();
+        if (!settings.isEnabled()) {
+            return;
+        }
+        try {
+            relay(settings.getSink(), settings.getBatchSize(), settings.getMaxBatchesPerPoll(),
+                    settings.isCompact());
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            logger.warn("Outbox relay failed: %s".formatted(e));
+        }
+    }
+
+    /**
+     * Relay outbox events to a sink.
+     *
+     * @param sinkType   the sink to publish to
+     * @param batchSize  max number of events per transaction
+     * @param maxBatches max number of batches to relay
+     * @param compact    publish only the latest event per aggregate in each batch
+     * @return number of events claimed and deleted
+     */
+    public long relay(OutboxSinkType sinkType, int batchSize, int maxBatches, boolean compact) {
+        final OutboxSink sink = sinks.get(sinkType);
+        if (sink == null) {
+            throw new IllegalStateException("No outbox sink of type: " + sinkType);
+        }
+
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        try {
+            long total = 0;
+
+            for (int i = 0; i < maxBatches; i++) {
+                final long startTime = System.nanoTime();
+
+                OutboxFacade.RelayBatch batch = outboxFacade.relayEvents(batchSize, compact, sink);
+
+                if (batch.claimed().isEmpty()) {
+                    lastLagMillis.set(0);
+                    break;
+                }
+
+                batchTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                claimedCounter.increment(batch.claimed().size());
+                publishedCounter.increment(batch.published());
+
+                final Instant now = Instant.now();
+                batch.claimed().forEach(event -> lagTimer.record(Duration.between(event.insertedAt(), now)));
+
+                OutboxEvent newest = batch.claimed().get(batch.claimed().size() - 1);
+                lastLagMillis.set(Duration.between(newest.insertedAt(), now).toMillis());
+
+                total += batch.claimed().size();
+
+                if (batch.claimed().size() < batchSize) {
+                    break;
+                }
+            }
+
+            return total;
+        } finally {
+            running.set(false);
+        }
+    }
+}
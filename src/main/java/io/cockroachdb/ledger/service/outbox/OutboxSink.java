@@ -0,0 +1,20 @@
+package io.cockroachdb.ledger.service.outbox;
+
+import java.util.List;
+
+import io.cockroachdb.ledger.domain.OutboxEvent;
+import io.cockroachdb.ledger.domain.OutboxSinkType;
+
+/**
+ * Destination for outbox events relayed from the outbox table. Events are published
+ * in the transaction that claimed them and deleted only if publishing succeeds, so
+ * delivery is at-least-once and sinks may see the same event more than once.
+ */
+public interface OutboxSink {
+    OutboxSinkType type();
+
+    /**
+     * @param events the events to publish in insertion order
+     */
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,33 @@
+package io.cockroachdb.ledger.service.outbox;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import io.cockroachdb.ledger.ProfileNames;
+import io.cockroachdb.ledger.domain.OutboxEvent;
+import io.cockroachdb.ledger.domain.OutboxSinkType;
+import io.cockroachdb.ledger.push.SimpMessagePublisher;
+import io.cockroachdb.ledger.push.TopicName;
+
+/**
+ * Pushes each batch of outbox events as one message to a WebSocket topic.
+ */
+@Component
+@Profile(ProfileNames.OUTBOX)
+public class TopicOutboxSink implements OutboxSink {
+    @Autowired
+    private SimpMessagePublisher simpMessagePublisher;
+
+    @Override
+    public OutboxSinkType type() {
+        return OutboxSinkType.TOPIC;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        simpMessagePublisher.convertAndSend(TopicName.OUTBOX_EVENTS, events);
+    }
+}
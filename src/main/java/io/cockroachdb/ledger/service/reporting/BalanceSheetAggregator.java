@@ -0,0 +1,329 @@
+package io.cockroachdb.ledger.service.reporting;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.cockroachdb.ledger.ProfileNames;
+import io.cockroachdb.ledger.domain.AccountSummary;
+import io.cockroachdb.ledger.domain.ApplicationProperties;
+import io.cockroachdb.ledger.domain.BalanceSheet;
+import io.cockroachdb.ledger.domain.City;
+import io.cockroachdb.ledger.domain.TransferEntity;
+import io.cockroachdb.ledger.domain.TransferItemEntity;
+import io.cockroachdb.ledger.domain.TransferSummary;
+import io.cockroachdb.ledger.repository.ReportingRepository;
+import io.cockroachdb.ledger.util.CompactMoney;
+import io.cockroachdb.ledger.util.Money;
+
+/**
+ * Per-city balance sheet aggregates maintained incrementally from committed transfers,
+ * on top of a baseline from a full account and transfer scan.
+ * <p>
+ * Reconciliation swaps in an empty delta before taking a new baseline scan, so transfers
+ * committed after the swap are always counted while transfers committed between the
+ * (follower read) scan timestamp and the swap are missing until the next reconciliation.
+ * Since all transfers are balanced, this lag never affects the total balance or checksum.
+ * The min and max balances only widen between reconciliations.
+ * <p>
+ * On PostgreSQL the scan is a current-time read instead, so transfers committed between the
+ * swap and the scan are counted in both the new baseline and the new delta. The transfer,
+ * leg and turnover counts can then overshoot until the next reconciliation, and the drift
+ * this causes is only logged at debug level since it doesn't tell a real divergence.
+ */
+@Component
+public class BalanceSheetAggregator {
+    static class Delta {
+        final LongAdder transfers = new LongAdder();
+
+        final LongAdder legs = new LongAdder();
+
+        final LongAdder turnover = new LongAdder();
+
+        final LongAdder amount = new LongAdder();
+
+        final AtomicLong minBalance = new AtomicLong(Long.MAX_VALUE);
+
+        final AtomicLong maxBalance = new AtomicLong(Long.MIN_VALUE);
+
+        volatile LocalDateTime updatedAt;
+
+        /**
+         * @return false if a leg could not be represented in minor units, which
+         * leaves the aggregates incomplete
+         */
+        boolean add(TransferEntity transferEntity) {
+            boolean complete = true;
+
+            for (TransferItemEntity item : transferEntity.getItems()) {
+                try {
+                    long amount = CompactMoney.toMinorUnits(item.getAmount());
+                    long newBalance = Math.addExact(CompactMoney.toMinorUnits(item.getRunningBalance()), amount);
+
+                    this.amount.add(amount);
+                    this.turnover.add(Math.abs(amount));
+                    this.minBalance.accumulateAndGet(newBalance, Math::min);
+                    this.maxBalance.accumulateAndGet(newBalance, Math::max);
+                } catch (ArithmeticException e) {
+                    // Odd precision or overflow
+                    complete = false;
+                }
+            }
+
+            this.legs.add(transferEntity.getItems().size());
+            this.transfers.increment();
+            this.updatedAt = LocalDateTime.now();
+
+            return complete;
+        }
+    }
+
+    private static class Rollup {
+        final AtomicReference<Delta> delta = new AtomicReference<>(new Delta());
+
+        volatile BalanceSheet baseline;
+
+        volatile boolean stale;
+    }
+
+    public static BalanceSheet toBalanceSheet(City city, AccountSummary accountSummary,
+                                              TransferSummary transferSummary) {
+        BalanceSheet balanceSheet = new BalanceSheet();
+        balanceSheet.setCity(city);
+
+        balanceSheet.setUpdatedAt(accountSummary.getUpdatedAt());
+        balanceSheet.setNumberOfAccounts(accountSummary.getNumberOfAccounts());
+        balanceSheet.setMinBalance(accountSummary.getMinBalance());
+        balanceSheet.setMaxBalance(accountSummary.getMaxBalance());
+        balanceSheet.setTotalBalance(accountSummary.getTotalBalance());
+
+        balanceSheet.setNumberOfTransfers(transferSummary.getNumberOfTransfers());
+        balanceSheet.setNumberOfLegs(transferSummary.getNumberOfLegs());
+        balanceSheet.setTotalTurnover(transferSummary.getTotalTurnover());
+        balanceSheet.setTotalChecksum(transferSummary.getTotalCheckSum());
+
+        return balanceSheet;
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Map<String, Rollup> rollups = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ReportingRepository reportingRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private Environment environment;
+
+    public boolean isEnabled() {
+        return applicationProperties.getBalanceSheetRollup().isEnabled();
+    }
+
+    /**
+     * Apply the transfer to the aggregates of its city once the current transaction
+     * commits, or right away if there is no transaction synchronization active.
+     *
+     * @param transferEntity the created transfer with legs
+     */
+    public void applyAfterCommit(TransferEntity transferEntity) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(transferEntity);
+                }
+            });
+        } else {
+            apply(transferEntity);
+        }
+    }
+
+    public void apply(TransferEntity transferEntity) {
+        final Rollup rollup = rollups.computeIfAbsent(transferEntity.getCity(), c -> new Rollup());
+        if (!rollup.delta.get().add(transferEntity)) {
+            // Fall back to a full scan
+            rollup.stale = true;
+        }
+    }
+
+    /**
+     * Get the balance sheet for a city, taking a full scan if there is no
+     * baseline or if it has been invalidated.
+     *
+     * @param city the city
+     * @return the balance sheet
+     */
+    public BalanceSheet getBalanceSheet(City city) {
+        if (!isEnabled()) {
+            return toBalanceSheet(city,
+                    reportingRepository.accountSummary(city),
+                    reportingRepository.transferSummary(city));
+        }
+
+        final Rollup rollup = rollups.computeIfAbsent(city.getName(), c -> new Rollup());
+        if (rollup.baseline == null || rollup.stale) {
+            synchronized (rollup) {
+                // Double-checked to avoid redundant scans by concurrent readers
+                if (rollup.baseline == null || rollup.stale) {
+                    reconcile(city, rollup);
+                }
+            }
+        }
+
+        return merge(rollup.baseline, rollup.delta.get());
+    }
+
+    /**
+     * Mark the aggregates of a city as stale, for example after accounts were
+     * created, which forces a full scan on next read.
+     *
+     * @param city the city name
+     */
+    public void invalidate(String city) {
+        Rollup rollup = rollups.get(city);
+        if (rollup != null) {
+            rollup.stale = true;
+        }
+    }
+
+    public void invalidateAll() {
+        rollups.values().forEach(rollup -> rollup.stale = true);
+    }
+
+    @Scheduled(fixedDelayString = "${application.balance-sheet-rollup.reconcile-interval:60s}",
+            initialDelayString = "${application.balance-sheet-rollup.reconcile-interval:60s}")
+    public void reconcileAll() {
+        if (!isEnabled()) {
+            return;
+        }
+        rollups.values().forEach(rollup -> {
+            BalanceSheet baseline = rollup.baseline;
+            if (baseline != null) {
+                reconcile(baseline.getCity(), rollup);
+            }
+        });
+    }
+
+    private void reconcile(City city, Rollup rollup) {
+        synchronized (rollup) {
+            // Stale aggregates are known to be incomplete, so there is no drift to tell
+            final BalanceSheet expected = rollup.baseline != null && !rollup.stale
+                    ? merge(rollup.baseline, rollup.delta.get()) : null;
+
+            rollup.stale = false;
+            rollup.delta.set(new Delta());
+
+            final BalanceSheet actual = toBalanceSheet(city,
+                    reportingRepository.accountSummary(city),
+                    reportingRepository.transferSummary(city));
+
+            rollup.baseline = actual;
+
+            if (expected != null) {
+                List<String> drift = drift(expected, actual);
+                if (!drift.isEmpty()) {
+                    String message = "Reconciled balance sheet for city '%s' with drift: %s"
+                            .formatted(city.getName(), String.join(", ", drift));
+                    // Current-time scans overlap with the new delta, see class doc
+                    if (ProfileNames.acceptsPostgresSQL(environment)) {
+                        logger.debug(message);
+                    } else {
+                        logger.warn(message);
+                    }
+                }
+            }
+            if (!actual.getTotalChecksum().isZero()) {
+                logger.warn("Non-zero transfer checksum for city '%s': %s"
+                        .formatted(city.getName(), actual.getTotalChecksum()));
+            }
+        }
+    }
+
+    /**
+     * Compare the incrementally maintained aggregates with a full scan. The min and max
+     * balances only widen between reconciliations, so they drift only if the scan found
+     * a balance outside of the aggregated range.
+     *
+     * @param expected the merged baseline and delta
+     * @param actual   the full scan
+     * @return a description of each field that differs, empty if none
+     */
+    static List<String> drift(BalanceSheet expected, BalanceSheet actual) {
+        List<String> drift = new ArrayList<>();
+        if (expected.getNumberOfAccounts() != actual.getNumberOfAccounts()) {
+            drift.add("accounts %+d".formatted(actual.getNumberOfAccounts() - expected.getNumberOfAccounts()));
+        }
+        if (expected.getNumberOfTransfers() != actual.getNumberOfTransfers()) {
+            drift.add("transfers %+d".formatted(actual.getNumberOfTransfers() - expected.getNumberOfTransfers()));
+        }
+        if (expected.getNumberOfLegs() != actual.getNumberOfLegs()) {
+            drift.add("legs %+d".formatted(actual.getNumberOfLegs() - expected.getNumberOfLegs()));
+        }
+        if (!actual.getTotalBalance().minus(expected.getTotalBalance()).isZero()) {
+            drift.add("total balance %s".formatted(actual.getTotalBalance().minus(expected.getTotalBalance())));
+        }
+        if (!actual.getTotalTurnover().minus(expected.getTotalTurnover()).isZero()) {
+            drift.add("turnover %s".formatted(actual.getTotalTurnover().minus(expected.getTotalTurnover())));
+        }
+        if (!actual.getTotalChecksum().minus(expected.getTotalChecksum()).isZero()) {
+            drift.add("checksum %s".formatted(actual.getTotalChecksum().minus(expected.getTotalChecksum())));
+        }
+        if (actual.getMinBalance().isLessThan(expected.getMinBalance())) {
+            drift.add("min balance %s below %s".formatted(actual.getMinBalance(), expected.getMinBalance()));
+        }
+        if (actual.getMaxBalance().isGreaterThan(expected.getMaxBalance())) {
+            drift.add("max balance %s above %s".formatted(actual.getMaxBalance(), expected.getMaxBalance()));
+        }
+        return drift;
+    }
+
+    static BalanceSheet merge(BalanceSheet baseline, Delta delta) {
+        final Currency currency = baseline.getTotalBalance().getCurrency();
+
+        BalanceSheet balanceSheet = new BalanceSheet();
+        balanceSheet.setCity(baseline.getCity());
+        balanceSheet.setUpdatedAt(delta.updatedAt != null ? delta.updatedAt : baseline.getUpdatedAt());
+        balanceSheet.setNumberOfAccounts(baseline.getNumberOfAccounts());
+        balanceSheet.setNumberOfTransfers(baseline.getNumberOfTransfers() + delta.transfers.sum());
+        balanceSheet.setNumberOfLegs(baseline.getNumberOfLegs() + delta.legs.sum());
+
+        final Money amount = CompactMoney.toMoney(delta.amount.sum(), currency);
+        balanceSheet.setTotalBalance(baseline.getTotalBalance().plus(amount));
+        balanceSheet.setTotalChecksum(baseline.getTotalChecksum().plus(amount));
+        balanceSheet.setTotalTurnover(baseline.getTotalTurnover().plus(
+                CompactMoney.toMoney(delta.turnover.sum(), currency)));
+
+        final long min = delta.minBalance.get();
+        final Money minBalance = min != Long.MAX_VALUE ? CompactMoney.toMoney(min, currency) : null;
+        balanceSheet.setMinBalance(minBalance != null && minBalance.isLessThan(baseline.getMinBalance())
+                ? minBalance : baseline.getMinBalance());
+
+        final long max = delta.maxBalance.get();
+        final Money maxBalance = max != Long.MIN_VALUE ? CompactMoney.toMoney(max, currency) : null;
+        balanceSheet.setMaxBalance(maxBalance != null && maxBalance.isGreaterThan(baseline.getMaxBalance())
+                ? maxBalance : baseline.getMaxBalance());
+
+        return balanceSheet;
+    }
+}
@@ -0,0 +1,240 @@
+package io.cockroachdb.ledger.service.reporting;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.repository.ConsistencyRepository;
+import io.cockroachdb.ledger.repository.ConsistencyRepository.Anomaly;
+import io.cockroachdb.ledger.repository.ConsistencyRepository.Check;
+import io.cockroachdb.ledger.repository.ConsistencyRepository.Checkpoint;
+import io.cockroachdb.ledger.util.LegChain;
+import io.cockroachdb.ledger.util.Money;
+
+/**
+ * Full ledger consistency verification walking accounts and transfers in keyset-ordered
+ * chunks. The key space of each table is split into equal UUID ranges verified in parallel,
+ * and the last verified key per range is checkpointed after each chunk so that an
+ * interrupted check can be resumed.
+ * <p>
+ * Every account balance is verified against the chain of its legs (see {@link LegChain})
+ * and every transfer is verified to have legs summing to zero per currency. On CockroachDB,
+ * all reads are done at the same follower read timestamp captured when the check starts,
+ * so the check is consistent and doesn't contend with live workloads. Resuming therefore
+ * only works within the GC TTL of the tables. On PostgreSQL, reads are done at the current
+ * time so the ledger should be quiesced while checking.
+ */
+@Component
+public class ConsistencyChecker {
+    public static final String ACCOUNTS = "accounts";
+
+    public static final String TRANSFERS = "transfers";
+
+    public record Report(UUID checkId,
+                         Instant snapshotTime,
+                         long accountsChecked,
+                         long transfersChecked,
+                         long anomalyCount,
+                         List<Anomaly> anomalies,
+                         Duration duration) {
+    }
+
+    /**
+     * @param partition  the partition index
+     * @param partitions number of partitions
+     * @return the lowest UUID of an equal sized key range partition
+     */
+    static UUID partitionStart(int partition, int partitions) {
+        long msb = BigInteger.ONE.shiftLeft(64)
+                .multiply(BigInteger.valueOf(partition))
+                .divide(BigInteger.valueOf(partitions))
+                .longValue();
+        return new UUID(msb, 0);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private ConsistencyRepository consistencyRepository;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor asyncTaskExecutor;
+
+    /**
+     * Run a consistency check until completion.
+     *
+     * @param chunkSize  number of accounts or transfers per chunk
+     * @param partitions number of key ranges verified in parallel, per table
+     * @param resume     resume the latest incomplete check (using its settings) if any
+     * @param limit      max number of anomalies to include in the report
+     * @return the check report
+     */
+    public Report check(int chunkSize, int partitions, boolean resume, int limit) {
+        Assert.isTrue(chunkSize > 0, "chunkSize must be > 0");
+        Assert.isTrue(partitions > 0, "partitions must be > 0");
+
+        final Instant startTime = Instant.now();
+
+        final Optional<Check> incomplete = resume
+                ? consistencyRepository.findLatestCheck().filter(check -> check.completedAt() == null)
+                : Optional.empty();
+
+        final Check check = incomplete.orElseGet(() -> consistencyRepository.createCheck(
+                consistencyRepository.snapshotTime(), chunkSize, partitions));
+
+        final Map<String, Checkpoint> checkpoints = new HashMap<>();
+        consistencyRepository.findCheckpoints(check.id())
+                .forEach(checkpoint -> checkpoints.put(checkpoint.phase() + checkpoint.partition(), checkpoint));
+
+        if (incomplete.isPresent()) {
+            logger.info("Resuming consistency check %s with %d checkpoints at snapshot %s"
+                    .formatted(check.id(), checkpoints.size(), check.snapshotTime()));
+        } else {
+            logger.info("Started consistency check %s at snapshot %s"
+                    .formatted(check.id(), check.snapshotTime()));
+        }
+
+        final List<CompletableFuture<Void>> allFutures = new ArrayList<>();
+
+        for (String phase : List.of(ACCOUNTS, TRANSFERS)) {
+            for (int p = 0; p < check.partitions(); p++) {
+                Checkpoint checkpoint = checkpoints.getOrDefault(phase + p,
+                        new Checkpoint(phase, p, null, 0, false));
+                if (!checkpoint.completed()) {
+                    allFutures.add(asyncTaskExecutor.submitCompletable(() -> verifyPartition(check, checkpoint)));
+                }
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(allFutures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            logger.warn("Consistency check %s failed, resume to continue from last checkpoint"
+                    .formatted(check.id()));
+            if (e.getCause() instanceof RuntimeException ex) {
+                throw ex;
+            }
+            throw e;
+        }
+
+        consistencyRepository.completeCheck(check.id());
+
+        final Map<String, Long> rowsChecked = consistencyRepository.findCheckpoints(check.id())
+                .stream()
+                .collect(Collectors.groupingBy(Checkpoint::phase,
+                        Collectors.summingLong(Checkpoint::rowsChecked)));
+
+        return new Report(check.id(),
+                check.snapshotTime(),
+                rowsChecked.getOrDefault(ACCOUNTS, 0L),
+                rowsChecked.getOrDefault(TRANSFERS, 0L),
+                consistencyRepository.countAnomalies(check.id()),
+                consistencyRepository.findAnomalies(check.id(), limit),
+                Duration.between(startTime, Instant.now()));
+    }
+
+    private Void verifyPartition(Check check, Checkpoint checkpoint) {
+        final int partition = checkpoint.partition();
+        final UUID upper = partition + 1 < check.partitions()
+                ? partitionStart(partition + 1, check.partitions()) : null;
+
+        UUID after = checkpoint.lastKey() != null
+                ? checkpoint.lastKey() : partitionStart(partition, check.partitions());
+        boolean inclusive = checkpoint.lastKey() == null;
+        long rows = checkpoint.rowsChecked();
+
+        while (true) {
+            final List<UUID> keys = ACCOUNTS.equals(checkpoint.phase())
+                    ? verifyAccounts(check, after, inclusive, upper)
+                    : verifyTransfers(check, after, inclusive, upper);
+
+            final boolean completed = keys.size() < check.chunkSize();
+
+            if (!keys.isEmpty()) {
+                after = keys.get(keys.size() - 1);
+                inclusive = false;
+                rows += keys.size();
+            }
+
+            consistencyRepository.saveCheckpoint(check.id(),
+                    new Checkpoint(checkpoint.phase(), partition, keys.isEmpty() ? checkpoint.lastKey() : after,
+                            rows, completed));
+
+            if (completed) {
+                break;
+            }
+        }
+
+        logger.debug("Verified %,d %s in partition %d".formatted(rows, checkpoint.phase(), partition));
+
+        return null;
+    }
+
+    private List<UUID> verifyAccounts(Check check, UUID after, boolean inclusive, UUID upper) {
+        final List<AccountEntity> accounts = consistencyRepository.findAccountChunk(
+                check.snapshotTime(), after, inclusive, upper, check.chunkSize());
+
+        final Map<UUID, List<LegChain.Link>> legs = consistencyRepository.findLegsByAccountIds(
+                check.snapshotTime(), accounts.stream().map(AccountEntity::getId).toList());
+
+        final List<Anomaly> anomalies = new ArrayList<>();
+
+        accounts.forEach(account -> {
+            List<LegChain.Link> links = legs.getOrDefault(account.getId(), List.of());
+            BigDecimal opening = LegChain.openingBalance(account.getBalance().getAmount(), links);
+            if (opening == null) {
+                BigDecimal sum = links.stream()
+                        .map(LegChain.Link::amount)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+                anomalies.add(new Anomaly(ACCOUNTS, account.getId(),
+                        "Balance %s does not match chain of %d legs summing to %s"
+                                .formatted(account.getBalance(), links.size(),
+                                        Money.of(sum, account.getBalance().getCurrency()))));
+            }
+        });
+
+        consistencyRepository.saveAnomalies(check.id(), anomalies);
+
+        return accounts.stream().map(AccountEntity::getId).toList();
+    }
+
+    private List<UUID> verifyTransfers(Check check, UUID after, boolean inclusive, UUID upper) {
+        final List<UUID> transferIds = consistencyRepository.findTransferChunk(
+                check.snapshotTime(), after, inclusive, upper, check.chunkSize());
+
+        final Map<UUID, List<Money>> imbalances = new LinkedHashMap<>();
+
+        consistencyRepository.findImbalancedTransfers(check.snapshotTime(), transferIds)
+                .forEach(imbalance -> imbalances.computeIfAbsent(imbalance.transferId(), id -> new ArrayList<>())
+                        .add(imbalance.sum()));
+
+        consistencyRepository.saveAnomalies(check.id(), imbalances.entrySet()
+                .stream()
+                .map(entry -> new Anomaly(TRANSFERS, entry.getKey(),
+                        "Legs do not sum to zero: %s".formatted(entry.getValue())))
+                .toList());
+
+        return transferIds;
+    }
+}
@@ -1,17 +1,24 @@
 package io.cockroachdb.ledger.service.transfer;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Currency;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataRetrievalFailureException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,6 +29,8 @@ import org.springframework.util.Assert;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.annotation.PostConstruct;
+
 import io.cockroachdb.ledger.annotation.ControlService;
 import io.cockroachdb.ledger.domain.AccountEntity;
 import io.cockroachdb.ledger.domain.AccountItem;
@@ -31,10 +40,16 @@ import io.cockroachdb.ledger.domain.TransferRequest;
 import io.cockroachdb.ledger.domain.TransferType;
 import io.cockroachdb.ledger.domain.ApplicationProperties;
 import io.cockroachdb.ledger.repository.AccountRepository;
+import io.cockroachdb.ledger.repository.ArchiveRepository;
 import io.cockroachdb.ledger.repository.TransferRepository;
 import io.cockroachdb.ledger.service.BadRequestException;
 import io.cockroachdb.ledger.service.NegativeBalanceException;
+import io.cockroachdb.ledger.service.reporting.BalanceSheetAggregator;
 import io.cockroachdb.ledger.shell.support.JsonHelper;
+import io.cockroachdb.ledger.util.CompactMoney;
+import io.cockroachdb.ledger.util.KeysetPage;
+import io.cockroachdb.ledger.util.LegChain;
+import io.cockroachdb.ledger.util.LockOrder;
 import io.cockroachdb.ledger.util.Money;
 
 @ControlService
@@ -47,44 +62,69 @@ public class DefaultTransferService implements TransferService {
     @Autowired
     private TransferRepository transferRepository;
 
+    @Autowired
+    private ArchiveRepository archiveRepository;
+
     @Autowired
     private ApplicationProperties applicationModel;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TransferResponseCache transferResponseCache;
+
+    @Autowired
+    private BalanceSheetAggregator balanceSheetAggregator;
+
+    @PostConstruct
+    public void init() {
+        if (applicationModel.isSingleStatementTransfers() && applicationModel.isOptimisticLocking()) {
+            throw new IllegalStateException(
+                    "Optimistic locking is not supported with single statement transfers - disable "
+                    + "application.optimistic-locking or application.single-statement-transfers");
+        }
+    }
+
     @Override
     @Transactional(propagation = Propagation.MANDATORY) // to signal txn required
     public TransferEntity create(TransferRequest transferRequest) {
         Assert.isTrue(TransactionSynchronizationManager.isActualTransactionActive(),
                 "Expected transaction context");
 
-        // Short-circuit if seen before with a shallow, transient copy.
-        // For formally correct idempotency it's required to return the existing transfer with legs.
-        if (applicationModel.isIdempotencyCheck() && idempotencyCheck(transferRequest.getId())) {
-            return TransferEntity.builder()
-                    .withId(transferRequest.getId())
-                    .withCity(transferRequest.getCity().getName())
-                    .build();
+        // Short-circuit if seen before by returning the existing transfer with legs.
+        // The local response cache is consulted by the caller before a transaction is started.
+        if (applicationModel.isIdempotencyCheck()) {
+            TransferEntity existingEntity = idempotencyCheck(transferRequest.getId());
+            if (existingEntity != null) {
+                return existingEntity;
+            }
         }
 
         // Validate request and get account IDs
         final Set<UUID> accountIds = validateAccountItems(transferRequest.getAccountItems());
 
-        final Map<UUID, AccountItem> itemsPerAccountId = transferRequest.getAccountItems()
-                .stream().collect(Collectors.toMap(AccountItem::getId,
-                        accountItem -> accountItem, (x, b) -> b));
+        if (applicationModel.isSingleStatementTransfers()) {
+            TransferEntity transferEntity = createInSingleStatement(transferRequest);
+            transferResponseCache.putAfterCommit(transferEntity);
+            balanceSheetAggregator.applyAfterCommit(transferEntity);
+            return transferEntity;
+        }
+
+        final Map<UUID, AccountItem> itemsPerAccountId = coalesceAccountItems(transferRequest.getAccountItems())
+                .stream().collect(Collectors.toMap(AccountItem::getId, Function.identity()));
 
         // Business validation complete, let's go ahead with DB reads/writes and defer the rest to DB constraints
-        final List<AccountEntity> accountEntities
-                = accountRepository.findById(accountIds, applicationModel.isUsingLocks());
+        final List<AccountEntity> accountEntities = findAccounts(accountIds);
 
         if (accountEntities.size() != accountIds.size()) {
             throw new BadRequestException("Expected %d accounts, found %d"
                     .formatted(accountIds.size(), accountEntities.size()));
         }
 
+        // The client transfer ID is used as primary key, which prevents duplicates
         final TransferEntity.Builder transferBuilder = TransferEntity.builder()
+                .withId(transferRequest.getId())
                 .withCity(transferRequest.getCity().getName())
                 .withTransferType(transferRequest.getTransferType())
                 .withBookingDate(transferRequest.getBookingDate())
@@ -117,7 +157,7 @@ public class DefaultTransferService implements TransferService {
 
         // Update the account balances in one batch
         try {
-            accountRepository.updateBalances(coalesceItems(transferRequest.getAccountItems()));
+            updateBalances(coalesceItems(transferRequest.getAccountItems()), accountEntities);
         } catch (IncorrectResultSizeDataAccessException e) {
             logger.warn("Negative balance update outcome:\n%s".formatted(
                     JsonHelper.toFormattedJSON(objectMapper, transferRequest)
@@ -125,10 +165,155 @@ public class DefaultTransferService implements TransferService {
             throw new NegativeBalanceException("Negative balance constraint failed - check log", e);
         }
 
+        transferResponseCache.putAfterCommit(transferEntity);
+        balanceSheetAggregator.applyAfterCommit(transferEntity);
+
         return transferEntity;
     }
 
-    private Set<UUID> validateAccountItems(List<AccountItem> accountItems) {
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY) // to signal txn required
+    public List<TransferEntity> createAll(List<TransferRequest> transferRequests) {
+        Assert.isTrue(TransactionSynchronizationManager.isActualTransactionActive(),
+                "Expected transaction context");
+
+        // Validate requests and ensure no account is touched by more than one transfer in the batch,
+        // which also means the running balance of each leg is the balance read below.
+        final Set<UUID> accountIds = new HashSet<>();
+
+        transferRequests.forEach(transferRequest -> {
+            Set<UUID> ids = validateAccountItems(transferRequest.getAccountItems());
+            if (!Collections.disjoint(accountIds, ids)) {
+                throw new BadRequestException("Overlapping accounts in transfer batch");
+            }
+            accountIds.addAll(ids);
+        });
+
+        final Map<UUID, AccountEntity> accountsPerId = findAccounts(accountIds)
+                .stream()
+                .collect(Collectors.toMap(AccountEntity::getId, Function.identity()));
+
+        if (accountsPerId.size() != accountIds.size()) {
+            throw new BadRequestException("Expected %d accounts, found %d"
+                    .formatted(accountIds.size(), accountsPerId.size()));
+        }
+
+        final List<TransferEntity> transferEntities = transferRequests.stream()
+                .map(transferRequest -> TransferEntity.builder()
+                        .withId(transferRequest.getId())
+                        .withCity(transferRequest.getCity().getName())
+                        .withTransferType(transferRequest.getTransferType())
+                        .withBookingDate(transferRequest.getBookingDate())
+                        .withTransferDate(transferRequest.getTransferDate())
+                        .build())
+                .toList();
+
+        // One multi-row insert for all transfer records
+        final List<TransferEntity> createdEntities = transferRepository.createTransfers(transferEntities);
+
+        final List<TransferItemEntity> allItems = new ArrayList<>();
+        final Map<UUID, BigDecimal> balanceUpdates = new HashMap<>();
+
+        for (int i = 0; i < transferRequests.size(); i++) {
+            final TransferRequest transferRequest = transferRequests.get(i);
+            final TransferEntity transferEntity = createdEntities.get(i);
+
+            final TransferItemEntity.Builder itemBuilder = TransferItemEntity.builder()
+                    .withTransfer(transferEntity);
+
+            // One leg per distinct account, like create()
+            coalesceAccountItems(transferRequest.getAccountItems()).forEach(accountItem -> {
+                AccountEntity account = accountsPerId.get(accountItem.getId());
+                itemBuilder
+                        .withCity(transferRequest.getCity().getName())
+                        .withAccount(account)
+                        .withRunningBalance(account.getBalance())
+                        .withAmount(accountItem.getAmount())
+                        .withNote(accountItem.getNote())
+                        .and();
+            });
+
+            List<TransferItemEntity> items = itemBuilder.build();
+            transferEntity.addItems(items);
+            allItems.addAll(items);
+
+            balanceUpdates.putAll(coalesceItems(transferRequest.getAccountItems()));
+        }
+
+        // One multi-row insert for all legs and one balance update for all accounts
+        transferRepository.createTransferItems(allItems);
+
+        try {
+            updateBalances(balanceUpdates, accountsPerId.values());
+        } catch (IncorrectResultSizeDataAccessException e) {
+            throw new NegativeBalanceException("Negative balance constraint failed for transfer batch", e);
+        }
+
+        createdEntities.forEach(transferResponseCache::putAfterCommit);
+        createdEntities.forEach(balanceSheetAggregator::applyAfterCommit);
+
+        return createdEntities;
+    }
+
+    private List<AccountEntity> findAccounts(Set<UUID> accountIds) {
+        return accountRepository.findById(accountIds,
+                applicationModel.isUsingLocks() && !applicationModel.isOptimisticLocking(),
+                applicationModel.isOrderedLocks(),
+                applicationModel.getLockWaitPolicy());
+    }
+
+    /**
+     * Sort balance updates by account ID if ordered locking is enabled, so that
+     * implicit row locks are acquired in the same order as by locking reads.
+     */
+    private Map<UUID, BigDecimal> lockOrder(Map<UUID, BigDecimal> balanceUpdates) {
+        return applicationModel.isOrderedLocks() ? LockOrder.sortedByKey(balanceUpdates) : balanceUpdates;
+    }
+
+    /**
+     * Update balances, using a compare-and-set on the account versions read
+     * if optimistic locking is enabled.
+     */
+    private void updateBalances(Map<UUID, BigDecimal> balanceUpdates, Collection<AccountEntity> accountEntities) {
+        if (applicationModel.isOptimisticLocking()) {
+            accountRepository.updateBalances(lockOrder(balanceUpdates), accountEntities.stream()
+                    .collect(Collectors.toMap(AccountEntity::getId, AccountEntity::getVersion)));
+        } else {
+            accountRepository.updateBalances(lockOrder(balanceUpdates));
+        }
+    }
+
+    /**
+     * Collapses the account read, transfer and leg inserts and balance updates into
+     * one single statement to reduce the number of round-trips.
+     *
+     * @param transferRequest the validated request
+     * @return the created transfer with legs
+     */
+    private TransferEntity createInSingleStatement(TransferRequest transferRequest) {
+        final TransferEntity transferEntity = TransferEntity.builder()
+                .withId(transferRequest.getId())
+                .withCity(transferRequest.getCity().getName())
+                .withTransferType(transferRequest.getTransferType())
+                .withBookingDate(transferRequest.getBookingDate())
+                .withTransferDate(transferRequest.getTransferDate())
+                .build();
+
+        try {
+            // One leg per distinct account, like the multi-statement path
+            return transferRepository.createTransfer(transferEntity,
+                    coalesceAccountItems(transferRequest.getAccountItems()), applicationModel.isUsingLocks());
+        } catch (IncorrectResultSizeDataAccessException e) {
+            logger.warn("Negative balance update outcome:\n%s".formatted(
+                    JsonHelper.toFormattedJSON(objectMapper, transferRequest)
+            ));
+            throw new NegativeBalanceException("Negative balance constraint failed - check log", e);
+        } catch (DataRetrievalFailureException e) {
+            throw new BadRequestException(e.getMessage(), e);
+        }
+    }
+
+    static Set<UUID> validateAccountItems(List<AccountItem> accountItems) {
         if (accountItems.size() < 2) {
             throw new BadRequestException("Expected at least two account legs, found %d"
                     .formatted(accountItems.size()));
@@ -140,36 +325,41 @@ public class DefaultTransferService implements TransferService {
                     .formatted(accountIds.size()));
         }
 
-        final Map<Currency, BigDecimal> checksumPerCurrency = new HashMap<>();
+        // Zero-balance invariant, using overflow checked minor units rather than BigDecimal arithmetic
+        final CompactMoney.Checksum checksum = new CompactMoney.Checksum();
 
-        accountItems.forEach(accountItem -> {
-            // Zero-balance invariant
-            checksumPerCurrency.compute(accountItem.getAmount().getCurrency(),
-                    (currency, checksum) ->
-                            (checksum == null)
-                                    ? accountItem.getAmount().getAmount()
-                                    : accountItem.getAmount().getAmount().add(checksum));
-        });
+        try {
+            accountItems.forEach(accountItem -> checksum.add(accountItem.getAmount()));
+        } catch (ArithmeticException e) {
+            throw new BadRequestException("Invalid amount precision or magnitude: " + e.getMessage());
+        }
 
         // The sum of debits for all accounts must equal the corresponding sum of credits (per currency)
-        checksumPerCurrency.forEach((key, value) -> {
-            if (value.compareTo(BigDecimal.ZERO) != 0) {
-                throw new BadRequestException(
-                        "Unbalanced transaction: currency [" + key + "], sum [" + value + "]");
-            }
-        });
+        final Currency currency = checksum.findNonZero();
+        if (currency != null) {
+            throw new BadRequestException(
+                    "Unbalanced transaction: currency [" + currency + "], sum ["
+                    + CompactMoney.toBigDecimal(checksum.sum(currency), currency) + "]");
+        }
 
         return accountIds;
     }
 
     /**
-     * Simple point lookup for idempotency.
+     * Primary key lookup for idempotency returning the full transfer with legs.
      *
      * @param transferId client specified transfer ID
-     * @return optional transfer
+     * @return the existing transfer or null
      */
-    private boolean idempotencyCheck(UUID transferId) {
-        return transferRepository.checkTransferExists(transferId);
+    private TransferEntity idempotencyCheck(UUID transferId) {
+        if (transferId == null) {
+            return null;
+        }
+        TransferEntity transferEntity = transferRepository.findTransferById(transferId);
+        if (transferEntity != null) {
+            transferResponseCache.put(transferEntity);
+        }
+        return transferEntity;
     }
 
     /**
@@ -177,37 +367,82 @@ public class DefaultTransferService implements TransferService {
      *
      * @param accountItems the items
      * @return map of account IDs to update tuples (city and sum)
+     * @throws BadRequestException if the sum of an account overflows
      */
-    private Map<UUID, BigDecimal> coalesceItems(List<AccountItem> accountItems) {
-        Map<UUID, BigDecimal> balanceUpdates = new HashMap<>();
-
-        Map<UUID, List<AccountItem>> accountsPerId = accountItems.stream()
-                .collect(Collectors.groupingBy(AccountItem::getId));
-
-        accountsPerId.forEach((uuid, items) -> {
-            BigDecimal sum = items.stream()
-                    .map(AccountItem::getAmount)
-                    .map(Money::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            balanceUpdates.put(uuid, sum);
-        });
+    static Map<UUID, BigDecimal> coalesceItems(List<AccountItem> accountItems) {
+        final Map<UUID, long[]> sumPerAccountId = new HashMap<>(accountItems.size() * 2);
+        final Map<UUID, Currency> currencyPerAccountId = new HashMap<>(accountItems.size() * 2);
+
+        try {
+            accountItems.forEach(accountItem -> {
+                long[] sum = sumPerAccountId.computeIfAbsent(accountItem.getId(), uuid -> new long[1]);
+                sum[0] = Math.addExact(sum[0], CompactMoney.toMinorUnits(accountItem.getAmount()));
+                currencyPerAccountId.putIfAbsent(accountItem.getId(), accountItem.getAmount().getCurrency());
+            });
+        } catch (ArithmeticException e) {
+            // Legs of one account can overflow even if the sum per currency doesn't
+            throw new BadRequestException("Invalid amount precision or magnitude: " + e.getMessage());
+        }
+
+        // Convert to decimals only at the JDBC boundary
+        final Map<UUID, BigDecimal> balanceUpdates = new HashMap<>(sumPerAccountId.size() * 2);
+        sumPerAccountId.forEach((uuid, sum) ->
+                balanceUpdates.put(uuid, CompactMoney.toBigDecimal(sum[0], currencyPerAccountId.get(uuid))));
 
         return balanceUpdates;
     }
 
+    /**
+     * Coalesce transfer account items into one item per distinct account, with the sum
+     * of the amounts and the last note, in order of first appearance. Each item becomes
+     * one leg, since legs are keyed by transfer and account.
+     *
+     * @param accountItems the validated items
+     * @return one item per account
+     * @throws BadRequestException if the sum of an account overflows
+     */
+    static List<AccountItem> coalesceAccountItems(List<AccountItem> accountItems) {
+        final Map<UUID, AccountItem> itemsPerAccountId = new LinkedHashMap<>(accountItems.size() * 2);
+        accountItems.forEach(accountItem -> itemsPerAccountId.put(accountItem.getId(), accountItem));
+
+        if (itemsPerAccountId.size() == accountItems.size()) {
+            return accountItems;
+        }
+
+        final Map<UUID, BigDecimal> sumPerAccountId = coalesceItems(accountItems);
+
+        return itemsPerAccountId.values()
+                .stream()
+                .map(accountItem -> {
+                    AccountItem coalesced = new AccountItem();
+                    coalesced.setId(accountItem.getId());
+                    coalesced.setAmount(Money.of(sumPerAccountId.get(accountItem.getId()),
+                            accountItem.getAmount().getCurrency()));
+                    coalesced.setNote(accountItem.getNote());
+                    return coalesced;
+                })
+                .toList();
+    }
+
     @Override
-    public Page<TransferEntity> findAll(TransferType transferType, Pageable page) {
-        return transferRepository.findAllTransfers(transferType, page);
+    public KeysetPage<TransferEntity> findAll(TransferType transferType, UUID after, int size) {
+        final boolean approximate = applicationModel.isApproximateCounts();
+        return transferRepository.findAllTransfers(transferType, after, size)
+                .withTotal(transferRepository.countTransfers(transferType, approximate), approximate);
     }
 
     @Override
-    public Page<TransferEntity> findAllByAccountId(UUID accountId, Pageable page) {
-        return transferRepository.findAllTransfersByAccountId(accountId, page);
+    public KeysetPage<TransferEntity> findAllByAccountId(UUID accountId, UUID after, int size) {
+        final boolean approximate = applicationModel.isApproximateCounts();
+        return transferRepository.findAllTransfersByAccountId(accountId, after, size)
+                .withTotal(transferRepository.countTransfersByAccountId(accountId, approximate), approximate);
     }
 
     @Override
-    public Page<TransferEntity> findAllByCity(String city, Pageable page) {
-        return transferRepository.findAllTransfersByCity(city, page);
+    public KeysetPage<TransferEntity> findAllByCity(String city, UUID after, int size) {
+        final boolean approximate = applicationModel.isApproximateCounts();
+        return transferRepository.findAllTransfersByCity(city, after, size)
+                .withTotal(transferRepository.countTransfersByCity(city, approximate), approximate);
     }
 
     @Override
@@ -215,14 +450,41 @@ public class DefaultTransferService implements TransferService {
         return transferRepository.findTransferById(id);
     }
 
+    @Override
+    public List<TransferEntity> findAllWithItems(Collection<UUID> transferIds) {
+        return transferRepository.findTransfersWithItems(transferIds);
+    }
+
     @Override
     public Page<TransferItemEntity> findAllItems(UUID transferId, Pageable page) {
         return transferRepository.findAllTransferItems(transferId, page);
     }
 
+    @Override
+    public int archive(Collection<UUID> transferIds) {
+        Assert.isTrue(TransactionSynchronizationManager.isActualTransactionActive(), "Expected transaction");
+
+        final Map<UUID, List<LegChain.Link>> legs = archiveRepository.findLegsByTransferIds(transferIds);
+
+        // Fold the archived legs into the existing checkpoints of each account
+        final Map<UUID, List<LegChain.Link>> checkpoints = new HashMap<>(legs.size() * 2);
+
+        archiveRepository.findCheckpoints(legs.keySet()).forEach((accountId, links) ->
+                legs.get(accountId).addAll(links));
+
+        legs.forEach((accountId, links) -> checkpoints.put(accountId, LegChain.residual(links)));
+
+        archiveRepository.saveCheckpoints(checkpoints);
+
+        return archiveRepository.archiveTransfers(transferIds);
+    }
+
     @Override
     public void deleteAll() {
         Assert.isTrue(TransactionSynchronizationManager.isActualTransactionActive(), "Expected transaction");
         transferRepository.deleteAll();
+        archiveRepository.deleteAll();
+        transferResponseCache.clear();
+        balanceSheetAggregator.invalidateAll();
     }
 }
@@ -1,5 +1,7 @@
 package io.cockroachdb.ledger.service.transfer;
 
+import java.util.Collection;
+
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
@@ -35,7 +37,11 @@ public class OutboxAspect {
     public void doAfterOutboxOperation(Object returnValue, ResponseOutboxEvent responseOutboxEvent) {
         Assert.isTrue(TransactionSynchronizationManager.isActualTransactionActive(),
                 "Expected existing transaction - check advisor @Order");
-        outboxRepository.writeEvent(responseOutboxEvent.value().cast(returnValue));
+        if (returnValue instanceof Collection<?> collection) {
+            collection.forEach(value -> outboxRepository.writeEvent(responseOutboxEvent.value().cast(value)));
+        } else {
+            outboxRepository.writeEvent(responseOutboxEvent.value().cast(returnValue));
+        }
     }
 }
 
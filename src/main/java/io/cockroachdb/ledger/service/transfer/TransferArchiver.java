@@ -0,0 +1,130 @@
+package io.cockroachdb.ledger.service.transfer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import io.cockroachdb.ledger.domain.ApplicationProperties;
+import io.cockroachdb.ledger.domain.Retention;
+import io.cockroachdb.ledger.repository.ArchiveRepository;
+import io.cockroachdb.ledger.service.TransferFacade;
+import io.cockroachdb.ledger.service.reporting.BalanceSheetAggregator;
+import io.cockroachdb.ledger.util.KeysetPage;
+import io.cockroachdb.ledger.util.RateLimiter;
+
+/**
+ * Retention job moving transfers older than a max age to archive tables in small,
+ * rate limited batches walked in key order. Each batch is a separate transaction
+ * that also folds the archived legs into per-account checkpoints, so the consistency
+ * checker can still verify account balances against the remaining legs.
+ */
+@Component
+public class TransferArchiver {
+    public record Report(long transfersArchived, int batches, Duration duration) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    private ArchiveRepository archiveRepository;
+
+    @Autowired
+    private TransferFacade transferFacade;
+
+    @Autowired
+    private BalanceSheetAggregator balanceSheetAggregator;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Scheduled(fixedDelayString = "${application.retention.interval:5m}",
+            initialDelayString = "${application.retention.interval:5m}")
+    public void archiveAll() {
+        final Retention retention = applicationProperties.getRetention();
+        if (!retention.isEnabled()) {
+            return;
+        }
+        try {
+            Report report = archive(retention.getMaxAge(), retention.getBatchSize(),
+                    retention.getMaxBatchesPerSecond());
+            if (report.transfersArchived() > 0) {
+                logger.info("Archived %,d transfers in %d batches in %s"
+                        .formatted(report.transfersArchived(), report.batches(), report.duration()));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Transfer archival failed: %s".formatted(e));
+        }
+    }
+
+    /**
+     * Archive all transfers older than the given age.
+     *
+     * @param maxAge              min age of transfers to archive
+     * @param batchSize           number of transfers per transaction
+     * @param maxBatchesPerSecond rate limit for batches
+     * @return the archival report
+     */
+    public Report archive(Duration maxAge, int batchSize, int maxBatchesPerSecond) {
+        Assert.isTrue(batchSize > 0, "batchSize must be > 0");
+        Assert.isTrue(maxBatchesPerSecond > 0, "maxBatchesPerSecond must be > 0");
+
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Transfer archival already running");
+        }
+
+        try {
+            final Instant startTime = Instant.now();
+            final Instant cutoff = startTime.minus(maxAge);
+            final RateLimiter rateLimiter = new RateLimiter(maxBatchesPerSecond, maxBatchesPerSecond);
+
+            long transfersArchived = 0;
+            int batches = 0;
+
+            UUID after = KeysetPage.FIRST;
+
+            while (true) {
+                final List<UUID> transferIds = archiveRepository.findTransfersBefore(cutoff, after, batchSize);
+                if (transferIds.isEmpty()) {
+                    break;
+                }
+
+                while (!rateLimiter.tryAcquire()) {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted", e);
+                    }
+                }
+
+                transfersArchived += transferFacade.archiveTransfers(transferIds);
+                batches++;
+
+                after = transferIds.get(transferIds.size() - 1);
+
+                if (transferIds.size() < batchSize) {
+                    break;
+                }
+            }
+
+            if (transfersArchived > 0) {
+                balanceSheetAggregator.invalidateAll();
+            }
+
+            return new Report(transfersArchived, batches, Duration.between(startTime, Instant.now()));
+        } finally {
+            running.set(false);
+        }
+    }
+}
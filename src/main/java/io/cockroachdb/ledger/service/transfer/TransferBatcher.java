@@ -0,0 +1,216 @@
+package io.cockroachdb.ledger.service.transfer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import io.cockroachdb.ledger.domain.AccountItem;
+import io.cockroachdb.ledger.domain.ApplicationProperties;
+import io.cockroachdb.ledger.domain.TransferBatching;
+import io.cockroachdb.ledger.domain.TransferEntity;
+import io.cockroachdb.ledger.domain.TransferRequest;
+import io.cockroachdb.ledger.service.TransferFacade;
+
+/**
+ * Group-commit style transfer batching in front of the transfer facade. Concurrent
+ * transfer requests are queued per city and a single drain loop per city coalesces
+ * requests with disjoint account sets into one transaction. While a batch is being
+ * committed, the next one accumulates in the queue.
+ * <p>
+ * A failed batch (for example due to a serialization conflict or negative balance)
+ * is split in halves and retried until the failing request is isolated, which is then
+ * executed through the regular retryable transfer path so that one bad transfer
+ * cannot poison the others.
+ */
+@Component
+public class TransferBatcher {
+    private static final Logger logger = LoggerFactory.getLogger(TransferBatcher.class);
+
+    private record PendingTransfer(TransferRequest request,
+                                   Set<UUID> accountIds,
+                                   CompletableFuture<TransferEntity> future) {
+    }
+
+    @Autowired
+    private TransferFacade transferFacade;
+
+    @Autowired
+    private TransferResponseCache transferResponseCache;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor asyncTaskExecutor;
+
+    private final Map<String, BlockingQueue<PendingTransfer>> queuesPerCity = new ConcurrentHashMap<>();
+
+    private final List<Future<?>> drainLoops = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Create a transfer, either directly or by joining the next batch if batching is enabled.
+     * Blocks until the transfer is committed. Replayed requests are served from the
+     * local response cache, if idempotency checks are enabled.
+     *
+     * @param transferRequest the transfer request
+     * @return the created transfer
+     */
+    public TransferEntity createTransfer(TransferRequest transferRequest) {
+        final TransferEntity cachedEntity = transferResponseCache.get(transferRequest.getId());
+        if (cachedEntity != null) {
+            return cachedEntity;
+        }
+        if (!applicationProperties.getTransferBatching().isEnabled()) {
+            return transferFacade.createTransfer(transferRequest);
+        }
+        try {
+            return submit(transferRequest).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException ex) {
+                throw ex;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Enqueue a transfer request for the next batch of the request's city.
+     *
+     * @param transferRequest the transfer request
+     * @return future completed when the batch containing the request is committed
+     */
+    public CompletableFuture<TransferEntity> submit(TransferRequest transferRequest) {
+        final Set<UUID> accountIds = transferRequest.getAccountItems()
+                .stream()
+                .map(AccountItem::getId)
+                .collect(Collectors.toSet());
+
+        final PendingTransfer pendingTransfer
+                = new PendingTransfer(transferRequest, accountIds, new CompletableFuture<>());
+
+        queuesPerCity.computeIfAbsent(transferRequest.getCity().getName(), city -> {
+            BlockingQueue<PendingTransfer> queue = new LinkedBlockingQueue<>();
+            drainLoops.add(asyncTaskExecutor.submit(() -> drain(city, queue)));
+            return queue;
+        }).add(pendingTransfer);
+
+        return pendingTransfer.future();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainLoops.forEach(future -> future.cancel(true));
+    }
+
+    private void drain(String city, BlockingQueue<PendingTransfer> queue) {
+        logger.debug("Started transfer batch loop for city '%s'".formatted(city));
+
+        final List<PendingTransfer> deferred = new ArrayList<>();
+
+        while (!Thread.currentThread().isInterrupted()) {
+            final TransferBatching settings = applicationProperties.getTransferBatching();
+
+            try {
+                final List<PendingTransfer> candidates = new ArrayList<>(deferred);
+                deferred.clear();
+
+                if (candidates.isEmpty()) {
+                    candidates.add(queue.take());
+                }
+
+                // Linger for more requests until the batch is full or the deadline passes
+                final long deadline = System.nanoTime() + settings.getMaxLinger().toNanos();
+                while (candidates.size() < settings.getMaxBatchSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingTransfer next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    candidates.add(next);
+                }
+
+                // Only requests with disjoint account sets go into the same batch,
+                // the rest are deferred to the next batch in arrival order.
+                final Set<UUID> batchAccountIds = new HashSet<>();
+                final List<PendingTransfer> batch = new ArrayList<>();
+
+                candidates.forEach(candidate -> {
+                    if (batch.size() < settings.getMaxBatchSize()
+                        && Collections.disjoint(batchAccountIds, candidate.accountIds())) {
+                        batch.add(candidate);
+                        batchAccountIds.addAll(candidate.accountIds());
+                    } else {
+                        deferred.add(candidate);
+                    }
+                });
+
+                execute(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Fail anything left behind
+        deferred.addAll(queue);
+        deferred.forEach(pendingTransfer -> pendingTransfer.future()
+                .completeExceptionally(new IllegalStateException("Transfer batching stopped")));
+
+        logger.debug("Stopped transfer batch loop for city '%s'".formatted(city));
+    }
+
+    private void execute(List<PendingTransfer> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        if (batch.size() == 1) {
+            PendingTransfer pendingTransfer = batch.getFirst();
+            try {
+                pendingTransfer.future().complete(transferFacade.createTransfer(pendingTransfer.request()));
+            } catch (Exception e) {
+                pendingTransfer.future().completeExceptionally(e);
+            }
+            return;
+        }
+
+        try {
+            List<TransferEntity> transferEntities = transferFacade.createTransfers(
+                    batch.stream().map(PendingTransfer::request).toList());
+
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(transferEntities.get(i));
+            }
+        } catch (Exception e) {
+            logger.debug("Splitting failed batch of %d transfers: %s".formatted(batch.size(), e.toString()));
+
+            int mid = batch.size() / 2;
+            execute(batch.subList(0, mid));
+            execute(batch.subList(mid, batch.size()));
+        }
+    }
+}
@@ -1,31 +1,33 @@
 package io.cockroachdb.ledger.service.transfer;
 
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.annotation.Order;
-import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
 import io.cockroachdb.ledger.annotation.AdvisorOrder;
-import io.cockroachdb.ledger.domain.AccountSummary;
 import io.cockroachdb.ledger.domain.TransferEntity;
 import io.cockroachdb.ledger.domain.TransferRequest;
-import io.cockroachdb.ledger.domain.TransferSummary;
 import io.cockroachdb.ledger.domain.City;
-import io.cockroachdb.ledger.repository.ReportingRepository;
-import io.cockroachdb.ledger.domain.BalanceSheet;
 import io.cockroachdb.ledger.push.SimpMessagePublisher;
 import io.cockroachdb.ledger.push.TopicName;
-import io.cockroachdb.ledger.util.RateLimiter;
+import io.cockroachdb.ledger.service.reporting.BalanceSheetAggregator;
 
+/**
+ * Pushes live balance sheet updates for cities with committed transfers. Transfers only
+ * mark their city as changed, and a fixed tick publishes one coalesced balance sheet per
+ * changed city merged from the in-memory aggregates. The database is only queried for
+ * the periodic full refreshes done by the {@link BalanceSheetAggregator}.
+ */
 @Aspect
 @Component
 @Order(TransferPushAspect.PRECEDENCE)
@@ -36,13 +38,9 @@ public class TransferPushAspect {
     private SimpMessagePublisher simpMessagePublisher;
 
     @Autowired
-    private ReportingRepository reportingRepository;
+    private BalanceSheetAggregator balanceSheetAggregator;
 
-    @Autowired
-    @Qualifier("applicationTaskExecutor")
-    private AsyncTaskExecutor asyncTaskExecutor;
-
-    private final Map<String, RateLimiter> rateLimiterMap = Collections.synchronizedMap(new HashMap<>());
+    private final Map<String, City> changedCities = new ConcurrentHashMap<>();
 
     @AfterReturning(pointcut = "execution(* io.cockroachdb.ledger.service.transfer.DefaultTransferService.create(..)) "
                                + "&& args(transferRequest,..)",
@@ -52,32 +50,44 @@ public class TransferPushAspect {
         Assert.isTrue(TransactionSynchronizationManager.isActualTransactionActive(),
                 "Expected existing transaction - check advisor @Order");
 
-        // Throttle events by discarding
-        RateLimiter rateLimiter = rateLimiterMap.computeIfAbsent(returnedValue.getCity(),
-                o -> new RateLimiter(4));
-        if (rateLimiter.tryAcquire()) {
-            // Defer queries and STOMP message
-            asyncTaskExecutor.submitCompletable(() -> sendReport(transferRequest.getCity()));
-        }
+        markChangedAfterCommit(List.of(transferRequest.getCity()));
     }
 
-    private void sendReport(City city) {
-        BalanceSheet balanceSheet = new BalanceSheet();
-        balanceSheet.setCity(city);
+    @AfterReturning(pointcut = "execution(* io.cockroachdb.ledger.service.transfer.DefaultTransferService.createAll(..)) "
+                               + "&& args(transferRequests,..)",
+            argNames = "transferRequests,returnedValue",
+            returning = "returnedValue")
+    public void doAfterTransfers(List<TransferRequest> transferRequests, List<TransferEntity> returnedValue) {
+        Assert.isTrue(TransactionSynchronizationManager.isActualTransactionActive(),
+                "Expected existing transaction - check advisor @Order");
 
-        AccountSummary accountSummary = reportingRepository.accountSummary(city);
-        balanceSheet.setUpdatedAt(accountSummary.getUpdatedAt());
-        balanceSheet.setNumberOfAccounts(accountSummary.getNumberOfAccounts());
-        balanceSheet.setMinBalance(accountSummary.getMaxBalance());
-        balanceSheet.setMaxBalance(accountSummary.getMaxBalance());
-        balanceSheet.setTotalBalance(accountSummary.getTotalBalance());
+        markChangedAfterCommit(transferRequests.stream()
+                .map(TransferRequest::getCity)
+                .distinct()
+                .toList());
+    }
 
-        TransferSummary transferSummary = reportingRepository.transferSummary(city);
-        balanceSheet.setNumberOfTransfers(transferSummary.getNumberOfTransfers());
-        balanceSheet.setNumberOfLegs(transferSummary.getNumberOfLegs());
-        balanceSheet.setTotalTurnover(transferSummary.getTotalTurnover());
-        balanceSheet.setTotalChecksum(transferSummary.getTotalCheckSum());
+    private void markChangedAfterCommit(List<City> cities) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cities.forEach(city -> changedCities.put(city.getName(), city));
+                }
+            });
+        } else {
+            cities.forEach(city -> changedCities.put(city.getName(), city));
+        }
+    }
 
-        simpMessagePublisher.convertAndSend(TopicName.BALANCE_SHEET_UPDATE, balanceSheet);
+    @Scheduled(fixedRateString = "${application.balance-sheet-rollup.push-interval:250ms}")
+    public void publishChanges() {
+        changedCities.keySet().forEach(name -> {
+            City city = changedCities.remove(name);
+            if (city != null) {
+                simpMessagePublisher.convertAndSend(TopicName.BALANCE_SHEET_UPDATE,
+                        balanceSheetAggregator.getBalanceSheet(city));
+            }
+        });
     }
 }
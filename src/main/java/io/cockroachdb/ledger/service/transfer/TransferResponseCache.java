@@ -0,0 +1,164 @@
+package io.cockroachdb.ledger.service.transfer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+
+import io.cockroachdb.ledger.domain.ApplicationProperties;
+import io.cockroachdb.ledger.domain.IdempotencyCache;
+import io.cockroachdb.ledger.domain.TransferEntity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded local cache of recently committed transfers keyed by the client transfer ID,
+ * used to replay the full response (including legs) for duplicate requests without
+ * touching the database. Entries are only added after the enclosing transaction
+ * commits, so a rolled back transfer is never replayed. A miss falls back to a primary
+ * key lookup in the database.
+ * <p>
+ * Entries are striped over a fixed number of LRU shards by transfer ID, each with its
+ * own lock, so concurrent transfers rarely contend on the same lock.
+ */
+@Component
+public class TransferResponseCache {
+    private record Entry(TransferEntity transferEntity, long expiresAtMillis) {
+    }
+
+    private static final int SHARDS = 64;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final List<Map<UUID, Entry>> shards = IntStream.range(0, SHARDS)
+            .mapToObj(i -> newShard())
+            .toList();
+
+    @PostConstruct
+    public void init() {
+        FunctionCounter.builder("ledger.transfer.response-cache.hits", hits, LongAdder::sum)
+                .description("Idempotent replays served from the transfer response cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("ledger.transfer.response-cache.misses", misses, LongAdder::sum)
+                .description("Transfer response cache misses falling back to the database")
+                .register(meterRegistry);
+        meterRegistry.gauge("ledger.transfer.response-cache.hit-ratio", this, TransferResponseCache::getHitRatio);
+    }
+
+    private Map<UUID, Entry> newShard() {
+        return new LinkedHashMap<>(64, .75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > Math.max(1, applicationProperties.getIdempotencyCache().getMaxEntries() / SHARDS);
+            }
+        };
+    }
+
+    private Map<UUID, Entry> shard(UUID transferId) {
+        return shards.get(Math.floorMod(transferId.hashCode(), SHARDS));
+    }
+
+    public boolean isEnabled() {
+        return applicationProperties.isIdempotencyCheck();
+    }
+
+    /**
+     * @param transferId the client transfer ID
+     * @return the cached transfer or null if not cached or expired
+     */
+    public TransferEntity get(UUID transferId) {
+        if (transferId == null || !isEnabled()) {
+            return null;
+        }
+
+        final Map<UUID, Entry> entries = shard(transferId);
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(transferId);
+            if (entry != null && entry.expiresAtMillis() <= System.currentTimeMillis()) {
+                entries.remove(transferId);
+                entry = null;
+            }
+        }
+
+        if (entry != null) {
+            hits.increment();
+            return entry.transferEntity();
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Cache the transfer once the current transaction commits, or right away
+     * if there is no transaction synchronization active.
+     *
+     * @param transferEntity the created transfer with legs
+     */
+    public void putAfterCommit(TransferEntity transferEntity) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(transferEntity);
+                }
+            });
+        } else {
+            put(transferEntity);
+        }
+    }
+
+    public void put(TransferEntity transferEntity) {
+        final IdempotencyCache settings = applicationProperties.getIdempotencyCache();
+        final long expiresAt = System.currentTimeMillis() + settings.getTimeToLive().toMillis();
+        final Map<UUID, Entry> entries = shard(transferEntity.getId());
+
+        synchronized (entries) {
+            entries.put(transferEntity.getId(), new Entry(transferEntity, expiresAt));
+        }
+    }
+
+    public void clear() {
+        shards.forEach(entries -> {
+            synchronized (entries) {
+                entries.clear();
+            }
+        });
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total > 0 ? (double) h / total : 0;
+    }
+}
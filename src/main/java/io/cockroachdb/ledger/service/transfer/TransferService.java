@@ -1,5 +1,7 @@
 package io.cockroachdb.ledger.service.transfer;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
@@ -9,19 +11,44 @@ import io.cockroachdb.ledger.domain.TransferEntity;
 import io.cockroachdb.ledger.domain.TransferItemEntity;
 import io.cockroachdb.ledger.domain.TransferRequest;
 import io.cockroachdb.ledger.domain.TransferType;
+import io.cockroachdb.ledger.util.KeysetPage;
 
 public interface TransferService {
     TransferEntity create(TransferRequest transferRequest);
 
+    /**
+     * Create a batch of transfers with disjoint account sets in the same transaction,
+     * using multi-row inserts and a single balance update.
+     *
+     * @param transferRequests the transfer requests
+     * @return the created transfers in the same order as the requests
+     */
+    List<TransferEntity> createAll(List<TransferRequest> transferRequests);
+
     TransferEntity findById(UUID id);
 
-    Page<TransferEntity> findAll(TransferType transferType, Pageable page);
+    KeysetPage<TransferEntity> findAll(TransferType transferType, UUID after, int size);
+
+    KeysetPage<TransferEntity> findAllByAccountId(UUID accountId, UUID after, int size);
 
-    Page<TransferEntity> findAllByAccountId(UUID accountId, Pageable page);
+    KeysetPage<TransferEntity> findAllByCity(String city, UUID after, int size);
 
-    Page<TransferEntity> findAllByCity(String city, Pageable page);
+    /**
+     * @param transferIds the transfer IDs
+     * @return the transfers including legs, loaded in bulk
+     */
+    List<TransferEntity> findAllWithItems(Collection<UUID> transferIds);
 
     Page<TransferItemEntity> findAllItems(UUID transferId, Pageable page);
 
+    /**
+     * Move transfers to the archive tables and fold their legs into the checkpoints
+     * of the affected accounts, in the current transaction.
+     *
+     * @param transferIds the transfers to archive
+     * @return number of transfers archived
+     */
+    int archive(Collection<UUID> transferIds);
+
     void deleteAll();
 }
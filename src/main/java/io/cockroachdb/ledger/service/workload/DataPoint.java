@@ -32,6 +32,9 @@ class DataPoint<ID> {
                 .withP95(from.getP95())
                 .withP99(from.getP99())
                 .withP999(from.getP999())
+                .withServiceTime(from.getServiceTimeMeanMillis(), from.getServiceTimeP50(),
+                        from.getServiceTimeP99(), from.getServiceTimeP999())
+                .withQueueingDelay(from.getQueueingDelayMeanMillis(), from.getQueueingDelayP99())
                 .withUpdateTime(from.getUpdateTime())
                 .withMeanTimeMillis(from.getMeanTimeMillis())
                 .build()
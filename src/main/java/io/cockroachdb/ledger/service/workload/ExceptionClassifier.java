@@ -5,10 +5,11 @@ import java.util.List;
 
 public interface ExceptionClassifier {
     /**
-     * Only 40001 is safe to retry in terms of non-idempotent side effects (like INSERT:s)
+     * Only 40001 is safe to retry in terms of non-idempotent side effects (like INSERT:s),
+     * next to 55P03 raised by fail-fast locking reads (NOWAIT).
      */
     List<String> TRANSIENT_CODES = List.of(
-            "40001", "08001", "08003", "08004", "08006", "08007", "08S01", "57P01"
+            "40001", "55P03", "08001", "08003", "08004", "08006", "08007", "08S01", "57P01"
     );
 
     default boolean isTransient(SQLException ex) {
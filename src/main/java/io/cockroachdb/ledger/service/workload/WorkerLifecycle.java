@@ -4,17 +4,23 @@ import java.time.Duration;
 
 /**
  * Worker lifecycle event handler.
+ * <p>
+ * Call outcomes carry both the service time (time spent in the call) and the queueing
+ * delay, which is the delay between the intended and the actual start of the call.
+ * For open-loop workers the intended start is given by the arrival schedule and for
+ * closed-loop workers it's the end of the previous call, which means stalls between
+ * calls like backoff delays are accounted for.
  */
 public interface WorkerLifecycle {
     /**
      * Invoked after a successful worker call.
      */
-    void callSuccess(Duration callTime);
+    void callSuccess(Duration serviceTime, Duration queueingDelay);
 
     /**
      * Invoked after a failed worker call.
      */
-    void callFailure(Duration callTime, Exception ex);
+    void callFailure(Duration serviceTime, Duration queueingDelay, Exception ex);
 
     void interrupted(Duration callTime, Exception ex);
 
@@ -3,8 +3,7 @@ package io.cockroachdb.ledger.service.workload;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Collections;
-import java.util.LinkedList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -19,6 +18,22 @@ import io.cockroachdb.ledger.util.metrics.Metrics;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Workload {
+    private static final int MAX_PROBLEMS = 20;
+
+    /**
+     * Add a problem first in a concurrent deque shared by workers and readers,
+     * evicting the oldest problems beyond the bound.
+     *
+     * @param problems the problems, most recent first
+     * @param problem  the problem to add
+     */
+    static void addProblem(Deque<Problem> problems, Problem problem) {
+        problems.addFirst(problem);
+        while (problems.size() > MAX_PROBLEMS) {
+            problems.pollLast();
+        }
+    }
+
     private final Integer id;
 
     @JsonIgnore
@@ -32,7 +47,7 @@ public class Workload {
 
     private final Metrics metrics;
 
-    private final LinkedList<Problem> problems;
+    private final Deque<Problem> problems;
 
     private boolean failed;
 
@@ -40,7 +55,7 @@ public class Workload {
              Future<?> future,
              WorkloadDescription workloadDescription,
              Metrics metrics,
-             LinkedList<Problem> problems) {
+             Deque<Problem> problems) {
         this.id = id;
         this.future = future;
         this.workloadDescription = workloadDescription;
@@ -72,7 +87,7 @@ public class Workload {
     public void setCompletion(Instant stopTime, Optional<Problem> failed) {
         this.stopTime = stopTime;
         this.failed = failed.isPresent();
-        failed.ifPresent(this.problems::addFirst);
+        failed.ifPresent(problem -> addProblem(this.problems, problem));
     }
 
     public Instant getStopTime() {
@@ -88,7 +103,7 @@ public class Workload {
     }
 
     public List<Problem> getLastProblems() {
-        return Collections.unmodifiableList(problems);
+        return List.copyOf(problems);
     }
 
     public Metrics getMetrics() {
@@ -6,15 +6,20 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.IntStream;
@@ -35,6 +40,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.TransactionException;
 
 import io.cockroachdb.ledger.service.BusinessException;
+import io.cockroachdb.ledger.util.ArrivalRate;
+import io.cockroachdb.ledger.util.Backoff;
 import io.cockroachdb.ledger.util.metrics.Metrics;
 
 /**
@@ -42,10 +49,9 @@ import io.cockroachdb.ledger.util.metrics.Metrics;
  */
 @Component
 public class WorkloadManager {
-    private static void backoffDelayWithJitter(AtomicInteger inc) {
+    private static void backoffDelayWithJitter(Backoff backoff) {
         try {
-            TimeUnit.MILLISECONDS.sleep(
-                    Math.min((long) (Math.pow(2, inc.incrementAndGet()) + Math.random() * 1000), 5000));
+            TimeUnit.MILLISECONDS.sleep(backoff.nextDelayMillis());
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -56,6 +62,12 @@ public class WorkloadManager {
 
     private static final AtomicInteger monotonicId = new AtomicInteger();
 
+    // Upper bound of concurrent calls per open-loop workload
+    private static final int MAX_IN_FLIGHT = 10_000;
+
+    // Re-evaluation interval for an idle (zero rate) open-loop workload
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final List<Workload> workloads = Collections.synchronizedList(new LinkedList<>());
@@ -69,17 +81,70 @@ public class WorkloadManager {
     @Autowired
     private ApplicationEventPublisher applicationEventPublisher;
 
+    /**
+     * Submit closed-loop workers where each worker starts the next call only when
+     * the previous one completes.
+     *
+     * @param worker      the worker
+     * @param description workload description
+     * @param count       number of concurrent workers
+     */
     public <T> void submitWorkers(Worker<T> worker, WorkloadDescription description, int count) {
-        IntStream.rangeClosed(1, count).forEach(value -> submitWorker(worker, description));
+        IntStream.rangeClosed(1, count).forEach(value -> submitWorker(description,
+                (metrics, problems) -> submit(worker, newLifecycle(description, metrics, problems, true))));
     }
 
-    private <T> void submitWorker(Worker<T> worker, WorkloadDescription description) {
-        final Metrics metrics = Metrics.empty();
+    /**
+     * Submit an open-loop worker where calls are dispatched on virtual threads at a target
+     * arrival rate regardless of response times. The delay between the intended and actual
+     * start of each call is recorded as queueing delay, separate from the call time.
+     * The worker must tolerate concurrent calls.
+     *
+     * @param worker      the worker
+     * @param description workload description
+     * @param arrivalRate target arrival rate profile
+     */
+    public <T> void submitWorker(Worker<T> worker, WorkloadDescription description, ArrivalRate arrivalRate) {
+        submitWorker(description, (metrics, problems) ->
+                submitOpenLoop(worker, arrivalRate, newLifecycle(description, metrics, problems, false)));
+    }
+
+    @FunctionalInterface
+    private interface WorkerSubmitter {
+        Future<?> submit(Metrics metrics, Deque<Problem> problems);
+    }
 
-        final LinkedList<Problem> problems = new LinkedList<>();
+    private void submitWorker(WorkloadDescription description, WorkerSubmitter submitter) {
+        final Metrics metrics = Metrics.live();
+
+        final Deque<Problem> problems = new ConcurrentLinkedDeque<>();
+
+        final Future<?> future = submitter.submit(metrics, problems);
+
+        Workload workload = new Workload(monotonicId.incrementAndGet(), future, description, metrics, problems);
 
-        final Future<T> future = submit(worker, new WorkerLifecycle() {
-            private final AtomicInteger retries = new AtomicInteger();
+        asyncTaskExecutor.submit(() -> {
+            try {
+                logger.debug("Started %s [%s]".formatted(description.displayValue(), description.categoryValue()));
+                workload.awaitCompletion();
+                logger.debug("Finished %s [%s]".formatted(description.displayValue(), description.categoryValue()));
+            } catch (ExecutionException e) {
+                logger.warn("Finished with error: %s [%s]".formatted(description.displayValue(), description.categoryValue()), e.getCause());
+                Workload.addProblem(problems, Problem.from(description.displayValue(), e.getCause()));
+            }
+        });
+
+        workloads.add(workload);
+
+        applicationEventPublisher.publishEvent(new WorkloadUpdatedEvent(this));
+    }
+
+    private WorkerLifecycle newLifecycle(WorkloadDescription description,
+                                         Metrics metrics,
+                                         Deque<Problem> problems,
+                                         boolean backoffOnFailure) {
+        return new WorkerLifecycle() {
+            private final Backoff backoff = new Backoff(50, 5000);
 
             @Override
             public void interrupted(Duration callTime, Exception ex) {
@@ -93,16 +158,14 @@ public class WorkloadManager {
             }
 
             @Override
-            public void callSuccess(Duration callTime) {
-                metrics.markSuccess(callTime);
+            public void callSuccess(Duration serviceTime, Duration queueingDelay) {
+                metrics.markSuccess(serviceTime, queueingDelay);
+                backoff.reset();
             }
 
             @Override
-            public void callFailure(Duration callTime, Exception ex) {
-                if (problems.size() >= 20) {
-                    problems.removeLast();
-                }
-                problems.addFirst(Problem.from(description.displayValue(), ex));
+            public void callFailure(Duration serviceTime, Duration queueingDelay, Exception ex) {
+                Workload.addProblem(problems, Problem.from(description.displayValue(), ex));
 
                 Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
                 if (cause instanceof SQLException) {
@@ -110,43 +173,29 @@ public class WorkloadManager {
 
                     if (exceptionClassifier.isTransient((SQLException) cause)) {
                         logger.warn("Transient SQL exception [%s]: [%s]".formatted(sqlState, cause));
-                        metrics.markFail(callTime, true);
+                        metrics.markFail(serviceTime, queueingDelay, true);
                     } else {
                         logger.error("Non-transient SQL exception [%s]: [%s]".formatted(sqlState, cause));
-                        metrics.markFail(callTime, false);
+                        metrics.markFail(serviceTime, queueingDelay, false);
                     }
                 } else if (ex instanceof TransientDataAccessException) {
                     logger.warn("Transient data access exception: [%s]".formatted(ex));
-                    metrics.markFail(callTime, true);
+                    metrics.markFail(serviceTime, queueingDelay, true);
                 } else if (ex instanceof NonTransientDataAccessException || ex instanceof TransactionException
                            || ex instanceof BusinessException) {
                     logger.error("Non-transient exception: [%s]".formatted(ex));
-                    metrics.markFail(callTime, false);
+                    metrics.markFail(serviceTime, queueingDelay, false);
                 } else {
                     // Uncategorized - potentially fatal
                     throw new UndeclaredThrowableException(ex);
                 }
 
-                backoffDelayWithJitter(retries);
-            }
-        });
-
-        Workload workload = new Workload(monotonicId.incrementAndGet(), future, description, metrics, problems);
-
-        asyncTaskExecutor.submit(() -> {
-            try {
-                logger.debug("Started %s [%s]".formatted(description.displayValue(), description.categoryValue()));
-                workload.awaitCompletion();
-                logger.debug("Finished %s [%s]".formatted(description.displayValue(), description.categoryValue()));
-            } catch (ExecutionException e) {
-                logger.warn("Finished with error: %s [%s]".formatted(description.displayValue(), description.categoryValue()), e.getCause());
-                problems.addFirst(Problem.from(description.displayValue(), e.getCause()));
+                // Open-loop calls keep their schedule, so backoff only applies to closed loops
+                if (backoffOnFailure) {
+                    backoffDelayWithJitter(backoff);
+                }
             }
-        });
-
-        workloads.add(workload);
-
-        applicationEventPublisher.publishEvent(new WorkloadUpdatedEvent(this));
+        };
     }
 
     private <T> Future<T> submit(Worker<T> task, WorkerLifecycle lifecycle) {
@@ -155,22 +204,36 @@ public class WorkloadManager {
 
             final Instant startTime = Instant.now();
 
-            while (task.test(calls++)) {
+            // Intended start of the next call is the end of the previous call plus the time
+            // spent in the completion predicate, so any stall in between (like a backoff
+            // delay after a failure) counts as queueing delay.
+            long intendedNanos = System.nanoTime();
+
+            while (true) {
+                final long testNanos = System.nanoTime();
+                if (!task.test(calls++)) {
+                    break;
+                }
+                intendedNanos += System.nanoTime() - testNanos;
+
                 if (Thread.interrupted()) {
                     break;
                 }
 
-                final Instant callTime = Instant.now();
+                final long callNanos = System.nanoTime();
+                final Duration queueingDelay = Duration.ofNanos(Math.max(0, callNanos - intendedNanos));
 
                 try {
                     task.call();
-                    lifecycle.callSuccess(Duration.between(callTime, Instant.now()));
+                    intendedNanos = System.nanoTime();
+                    lifecycle.callSuccess(Duration.ofNanos(intendedNanos - callNanos), queueingDelay);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
-                    lifecycle.interrupted(Duration.between(callTime, Instant.now()), e);
+                    lifecycle.interrupted(Duration.ofNanos(System.nanoTime() - callNanos), e);
                     break;
                 } catch (Exception e) {
-                    lifecycle.callFailure(Duration.between(callTime, Instant.now()), e);
+                    intendedNanos = System.nanoTime();
+                    lifecycle.callFailure(Duration.ofNanos(intendedNanos - callNanos), queueingDelay, e);
                 }
             }
 
@@ -180,6 +243,79 @@ public class WorkloadManager {
         });
     }
 
+    private <T> Future<T> submitOpenLoop(Worker<T> task, ArrivalRate arrivalRate, WorkerLifecycle lifecycle) {
+        return asyncTaskExecutor.submit(() -> {
+            final Instant startTime = Instant.now();
+            final long startNanos = System.nanoTime();
+            final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+            final AtomicReference<RuntimeException> fatal = new AtomicReference<>();
+
+            // Intended start time of the next call, advanced by the schedule only
+            long intendedNanos = startNanos;
+            int calls = 1;
+
+            try {
+                while (task.test(calls++)) {
+                    if (fatal.get() != null) {
+                        throw fatal.get();
+                    }
+
+                    final double rate = arrivalRate.ratePerSecond(Duration.ofNanos(intendedNanos - startNanos));
+                    if (rate <= 0) {
+                        intendedNanos += IDLE_NANOS;
+                        LockSupport.parkNanos(IDLE_NANOS);
+                        if (Thread.interrupted()) {
+                            throw new InterruptedException();
+                        }
+                        continue;
+                    }
+
+                    intendedNanos += (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+
+                    long waitNanos;
+                    while ((waitNanos = intendedNanos - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(waitNanos);
+                        if (Thread.interrupted()) {
+                            throw new InterruptedException();
+                        }
+                    }
+
+                    inFlight.acquire();
+
+                    final long scheduledNanos = intendedNanos;
+
+                    asyncTaskExecutor.submit(() -> {
+                        final long callNanos = System.nanoTime();
+                        final Duration queueingDelay = Duration.ofNanos(callNanos - scheduledNanos);
+                        try {
+                            task.call();
+                            lifecycle.callSuccess(Duration.ofNanos(System.nanoTime() - callNanos), queueingDelay);
+                        } catch (Exception e) {
+                            try {
+                                lifecycle.callFailure(Duration.ofNanos(System.nanoTime() - callNanos),
+                                        queueingDelay, e);
+                            } catch (RuntimeException ex) {
+                                fatal.compareAndSet(null, ex);
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+
+                // Await calls in flight
+                inFlight.acquire(MAX_IN_FLIGHT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lifecycle.interrupted(Duration.between(startTime, Instant.now()), e);
+            }
+
+            lifecycle.completed(Duration.between(startTime, Instant.now()));
+
+            return null;
+        });
+    }
+
     public Workload getWorkloadById(Integer id) {
         return workloads
                 .stream()
@@ -247,6 +383,14 @@ public class WorkloadManager {
                 .withP95(metrics.stream().mapToDouble(Metrics::getP95).average().orElse(0))
                 .withP99(metrics.stream().mapToDouble(Metrics::getP99).average().orElse(0))
                 .withP999(metrics.stream().mapToDouble(Metrics::getP999).average().orElse(0))
+                .withServiceTime(
+                        metrics.stream().mapToDouble(Metrics::getServiceTimeMeanMillis).average().orElse(0),
+                        metrics.stream().mapToDouble(Metrics::getServiceTimeP50).average().orElse(0),
+                        metrics.stream().mapToDouble(Metrics::getServiceTimeP99).average().orElse(0),
+                        metrics.stream().mapToDouble(Metrics::getServiceTimeP999).average().orElse(0))
+                .withQueueingDelay(
+                        metrics.stream().mapToDouble(Metrics::getQueueingDelayMeanMillis).average().orElse(0),
+                        metrics.stream().mapToDouble(Metrics::getQueueingDelayP99).average().orElse(0))
                 .withMeanTimeMillis(metrics.stream().mapToDouble(Metrics::getMeanTimeMillis).average().orElse(0))
                 .withSuccessful(metrics.stream().mapToInt(Metrics::getSuccess).sum())
                 .withFails(metrics.stream().mapToInt(Metrics::getTransientFail).sum(),
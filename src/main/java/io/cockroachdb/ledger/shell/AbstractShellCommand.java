@@ -34,6 +34,7 @@ import io.cockroachdb.ledger.service.RegionAdminFacade;
 import io.cockroachdb.ledger.service.account.AccountPlanService;
 import io.cockroachdb.ledger.service.workload.WorkloadStatus;
 import io.cockroachdb.ledger.shell.support.RegionProvider;
+import io.cockroachdb.ledger.util.KeysetPage;
 
 public abstract class AbstractShellCommand {
     protected static final String ACCOUNT_PLAN_EXIST = "accountPlanExist";
@@ -164,4 +165,35 @@ public abstract class AbstractShellCommand {
                 .flatMap(si -> Optional.of(si.getItem()));
     }
 
+    /**
+     * @param page the current keyset page
+     * @return cursor of the selected page or empty to quit
+     */
+    protected Optional<UUID> askForNextPage(KeysetPage<?> page) {
+        if (page.isFirst() && !page.hasNext()) {
+            return Optional.empty();
+        }
+
+        final UUID quit = new UUID(-1, -1);
+
+        List<SelectorItem<UUID>> items = new ArrayList<>();
+        items.add(SelectorItem.of("quit", quit));
+
+        if (page.hasNext()) {
+            items.add(SelectorItem.of("Next", page.getNext()));
+        }
+        if (!page.isFirst()) {
+            items.add(SelectorItem.of("First", KeysetPage.FIRST));
+        }
+
+        SingleItemSelector<UUID, SelectorItem<UUID>> component
+                = new SingleItemSelector<>(terminal, items, "Select page", null);
+        component.setResourceLoader(resourceLoader);
+        component.setTemplateExecutor(templateExecutor);
+
+        return component.run(SingleItemSelector.SingleItemSelectorContext.empty())
+                .getResultItem()
+                .map(SelectorItem::getItem)
+                .filter(cursor -> !quit.equals(cursor));
+    }
 }
@@ -2,10 +2,8 @@ package io.cockroachdb.ledger.shell;
 
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.UUID;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.shell.core.command.CommandContext;
 import org.springframework.shell.core.command.annotation.Command;
 import org.springframework.shell.core.command.annotation.Option;
@@ -16,6 +14,7 @@ import io.cockroachdb.ledger.domain.AccountEntity;
 import io.cockroachdb.ledger.domain.AccountType;
 import io.cockroachdb.ledger.shell.support.Constants;
 import io.cockroachdb.ledger.shell.support.TableUtils;
+import io.cockroachdb.ledger.util.KeysetPage;
 
 @Component
 public class AccountReportCommands extends AbstractShellCommand {
@@ -30,12 +29,12 @@ public class AccountReportCommands extends AbstractShellCommand {
                              @Option(description = "page size", defaultValue = "20",
                                      longName = "pageSize") Integer pageSize,
                              CommandContext commandContext) {
-        Pageable page = PageRequest.ofSize(pageSize);
+        UUID after = KeysetPage.FIRST;
 
-        while (page.isPaged()) {
-            final Page<AccountEntity> accountPage = accountFacade.findAccounts(accountType, page);
+        while (after != null) {
+            final KeysetPage<AccountEntity> accountPage = accountFacade.findAccounts(accountType, after, pageSize);
             commandContext.outputWriter().println(printAccountTable(accountPage.getContent()));
-            page = askForPage(accountPage).orElseGet(Pageable::unpaged);
+            after = askForNextPage(accountPage).orElse(null);
         }
     }
 
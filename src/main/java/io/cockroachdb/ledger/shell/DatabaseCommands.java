@@ -13,8 +13,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.cockroachdb.ledger.domain.AccountPlan;
 import io.cockroachdb.ledger.domain.ApplicationProperties;
 import io.cockroachdb.ledger.repository.RegionRepository;
+import io.cockroachdb.ledger.service.transfer.TransferArchiver;
 import io.cockroachdb.ledger.shell.support.Constants;
 import io.cockroachdb.ledger.shell.support.JsonHelper;
+import io.cockroachdb.ledger.util.DurationUtils;
+import io.cockroachdb.ledger.util.metrics.StatementShapeRegistry;
 
 @Component
 public class DatabaseCommands extends AbstractShellCommand {
@@ -27,6 +30,12 @@ public class DatabaseCommands extends AbstractShellCommand {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private StatementShapeRegistry statementShapeRegistry;
+
+    @Autowired
+    private TransferArchiver transferArchiver;
+
     @Command(
             description = "Print database information",
             exitStatusExceptionMapper = "commandExceptionMapper",
@@ -44,6 +53,29 @@ public class DatabaseCommands extends AbstractShellCommand {
         pw.println("Cluster info: " + JsonHelper.toFormattedJSON(objectMapper, regionRepository.clusterInfo()));
     }
 
+    @Command(exitStatusExceptionMapper = "commandExceptionMapper",
+            description = "Print distinct SQL statements executed",
+            help = "Print the number of distinct SQL statement texts (shapes) and the most executed ones",
+            name = {"db", "statements"},
+            group = Constants.DB_COMMANDS)
+    public void statementShapes(@Option(description = "number of statements to print",
+                                        defaultValue = "10",
+                                        longName = "limit") Integer limit,
+                                @Option(description = "clear statement counts after printing",
+                                        defaultValue = "false",
+                                        longName = "clear") boolean clear,
+                                CommandContext commandContext) {
+        PrintWriter pw = commandContext.outputWriter();
+        pw.println("Distinct statements: %,d (untracked executions: %,d)".formatted(
+                statementShapeRegistry.getDistinctCount(),
+                statementShapeRegistry.getOverflowCount()));
+        statementShapeRegistry.getTopShapes(limit).forEach(shape ->
+                pw.println("%,12d  %s".formatted(shape.executions(), shape.sql())));
+        if (clear) {
+            statementShapeRegistry.clear();
+        }
+    }
+
     @Command(exitStatusExceptionMapper = "commandExceptionMapper",
             description = "Show CREATE TABLE statement",
             name = {"db", "show", "table"},
@@ -55,6 +87,27 @@ public class DatabaseCommands extends AbstractShellCommand {
                 .println(regionAdminFacade.showCreateTable(table.name()));
     }
 
+    @Command(exitStatusExceptionMapper = "commandExceptionMapper",
+            description = "Archive old transfers",
+            help = "Move transfers older than max age to archive tables in rate limited batches",
+            name = {"db", "archive", "transfers"},
+            group = Constants.DB_COMMANDS)
+    public void archiveTransfers(@Option(description = "min age of transfers to archive",
+                                         defaultValue = "7d",
+                                         longName = "maxAge") String maxAge,
+                                 @Option(description = "number of transfers per transaction",
+                                         defaultValue = "256",
+                                         longName = "batchSize") int batchSize,
+                                 @Option(description = "max number of batches per second",
+                                         defaultValue = "10",
+                                         longName = "maxBatchesPerSecond") int maxBatchesPerSecond,
+                                 CommandContext commandContext) {
+        TransferArchiver.Report report = transferArchiver.archive(DurationUtils.parseDuration(maxAge),
+                batchSize, maxBatchesPerSecond);
+        commandContext.outputWriter().println("Archived %,d transfers in %d batches in %s"
+                .formatted(report.transfersArchived(), report.batches(), report.duration()));
+    }
+
     @Command(exitStatusExceptionMapper = "commandExceptionMapper",
             description = "Build account plan",
             name = {"db", "build", "accountplan"},
@@ -25,9 +25,11 @@ import io.cockroachdb.ledger.domain.City;
 import io.cockroachdb.ledger.service.RegionAdminFacade;
 import io.cockroachdb.ledger.service.ReportingFacade;
 import io.cockroachdb.ledger.service.TransferFacade;
+import io.cockroachdb.ledger.service.reporting.ConsistencyChecker;
 import io.cockroachdb.ledger.shell.support.Constants;
 import io.cockroachdb.ledger.shell.support.TableUtils;
 import io.cockroachdb.ledger.util.AsciiArt;
+import io.cockroachdb.ledger.util.KeysetPage;
 
 @Component
 public class ReportingCommands extends AbstractShellCommand {
@@ -76,8 +78,20 @@ public class ReportingCommands extends AbstractShellCommand {
             completionProvider = "regionProvider",
             group = Constants.REPORTING_COMMANDS)
     public void printConsistencyReport(@Option(description = Constants.REGIONS_HELP,
-            defaultValue = Constants.DEFAULT_REGION, required = true,
-            longName = "region") String region
+                                               defaultValue = Constants.DEFAULT_REGION, required = true,
+                                               longName = "region") String region,
+                                       @Option(description = "number of accounts or transfers per chunk",
+                                               defaultValue = "1000",
+                                               longName = "chunkSize") Integer chunkSize,
+                                       @Option(description = "number of key ranges verified in parallel",
+                                               defaultValue = "8",
+                                               longName = "partitions") Integer partitions,
+                                       @Option(description = "resume the last incomplete check",
+                                               defaultValue = "false",
+                                               longName = "resume") boolean resume,
+                                       @Option(description = "max number of anomalies to print",
+                                               defaultValue = "100",
+                                               longName = "limit") Integer limit
     ) {
         Set<City> cities = regionAdminFacade.listCities(region);
         List<BalanceSheet> balanceSheets = reportingFacade.getBalanceSheets(cities);
@@ -97,8 +111,23 @@ public class ReportingCommands extends AbstractShellCommand {
             }
         });
 
+        // Full per-account and per-transfer verification (not limited to region)
+        ConsistencyChecker.Report report = reportingFacade.checkConsistency(chunkSize, partitions, resume, limit);
+
+        report.anomalies().forEach(anomaly -> anomalies.add("%s %s: %s"
+                .formatted(anomaly.phase(), anomaly.entityId(), anomaly.message())));
+
         logger.info("Database version: " + regionAdminFacade.getDatabaseVersion());
         logger.info("Transaction isolation: " + regionAdminFacade.getDatabaseIsolation());
+        logger.info("Verified %,d accounts and %,d transfers at snapshot %s in %s (check id %s)"
+                .formatted(report.accountsChecked(), report.transfersChecked(),
+                        report.snapshotTime() != null ? report.snapshotTime() : "now",
+                        report.duration(), report.checkId()));
+
+        if (report.anomalyCount() > report.anomalies().size()) {
+            logger.warn("Showing %d of %,d account and transfer anomalies"
+                    .formatted(report.anomalies().size(), report.anomalyCount()));
+        }
 
         if (anomalies.isEmpty()) {
             logger.info("No anomalies detected! " + AsciiArt.happy());
@@ -118,14 +147,25 @@ public class ReportingCommands extends AbstractShellCommand {
             @Option(description = "transfer type", defaultValue = "BANK", required = true,
                     longName = "transferType") TransferType transferType,
             @Option(description = "page size", defaultValue = "20",
-                    longName = "pageSize") Integer pageSize) {
+                    longName = "pageSize") Integer pageSize,
+            @Option(description = "include the legs of each page",
+                    defaultValue = "false",
+                    longName = "legs") boolean legs) {
 
-        Pageable page = PageRequest.ofSize(pageSize);
+        UUID after = KeysetPage.FIRST;
 
-        while (page.isPaged()) {
-            final Page<TransferEntity> transferPage = transferFacade.findTransfers(transferType, page);
+        while (after != null) {
+            final KeysetPage<TransferEntity> transferPage = transferFacade.findTransfers(transferType, after, pageSize);
             logger.info("\n" + printTransferTable(transferPage.getContent()));
-            page = askForPage(transferPage).orElseGet(Pageable::unpaged);
+            if (legs) {
+                List<TransferItemEntity> items = transferFacade.findTransfersWithItems(
+                                transferPage.getContent().stream().map(TransferEntity::getId).toList())
+                        .stream()
+                        .flatMap(transferEntity -> transferEntity.getItems().stream())
+                        .toList();
+                logger.info("\n" + printTransferItemsTable(items));
+            }
+            after = askForNextPage(transferPage).orElse(null);
         }
     }
 
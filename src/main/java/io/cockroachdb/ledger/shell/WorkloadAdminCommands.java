@@ -24,6 +24,8 @@ import org.springframework.shell.core.command.completion.CompletionProvider;
 import org.springframework.shell.jline.tui.table.BeanListTableModel;
 import org.springframework.stereotype.Component;
 
+import io.cockroachdb.ledger.domain.ApplicationProperties;
+import io.cockroachdb.ledger.domain.LockWaitPolicy;
 import io.cockroachdb.ledger.service.workload.Problem;
 import io.cockroachdb.ledger.service.workload.Workload;
 import io.cockroachdb.ledger.service.workload.WorkloadManager;
@@ -37,6 +39,9 @@ public class WorkloadAdminCommands extends AbstractShellCommand {
     @Autowired
     private WorkloadManager workloadManager;
 
+    @Autowired
+    private ApplicationProperties applicationModel;
+
     @Bean
     public CompletionProvider workloadProvider() {
         return completionContext -> {
@@ -79,6 +84,36 @@ public class WorkloadAdminCommands extends AbstractShellCommand {
         }
     }
 
+    @Command(exitStatusExceptionMapper = "commandExceptionMapper",
+            description = "Set account lock ordering and wait policy",
+            help = "Change how transfers lock accounts at runtime to compare retry and abort rates",
+            name = {"workload", "locking"},
+            group = Constants.WORKLOAD_COMMANDS)
+    public void locking(@Option(description = "lock accounts in ascending ID order",
+                                defaultValue = "true",
+                                longName = "ordered") boolean ordered,
+                        @Option(description = "lock wait policy (WAIT, NOWAIT or SKIP_LOCKED)",
+                                defaultValue = "WAIT",
+                                longName = "waitPolicy") LockWaitPolicy waitPolicy,
+                        @Option(description = "use optimistic locking (compare-and-set) instead of locking reads",
+                                defaultValue = "false",
+                                longName = "optimistic") boolean optimistic,
+                        CommandContext commandContext) {
+        if (optimistic && applicationModel.isSingleStatementTransfers()) {
+            throw new IllegalArgumentException("Optimistic locking is not supported with single statement transfers!");
+        }
+        applicationModel.setOrderedLocks(ordered);
+        applicationModel.setLockWaitPolicy(waitPolicy);
+        applicationModel.setOptimisticLocking(optimistic);
+
+        commandContext.outputWriter().println(
+                "Locking reads: %s, ordered: %s, wait policy: %s, optimistic: %s".formatted(
+                        applicationModel.isUsingLocks() && !applicationModel.isOptimisticLocking(),
+                        applicationModel.isOrderedLocks(),
+                        applicationModel.getLockWaitPolicy(),
+                        applicationModel.isOptimisticLocking()));
+    }
+
     @Command(exitStatusExceptionMapper = "commandExceptionMapper",
             description = "Print workload summary",
             name = {"workload", "summary"},
@@ -24,11 +24,13 @@ import io.cockroachdb.ledger.domain.TransferEntity;
 import io.cockroachdb.ledger.domain.TransferRequest;
 import io.cockroachdb.ledger.domain.TransferType;
 import io.cockroachdb.ledger.domain.City;
-import io.cockroachdb.ledger.service.TransferFacade;
+import io.cockroachdb.ledger.service.account.LiabilityShards;
+import io.cockroachdb.ledger.service.transfer.TransferBatcher;
 import io.cockroachdb.ledger.service.workload.Worker;
 import io.cockroachdb.ledger.service.workload.WorkloadDescription;
 import io.cockroachdb.ledger.service.workload.WorkloadManager;
 import io.cockroachdb.ledger.shell.support.Constants;
+import io.cockroachdb.ledger.util.ArrivalRate;
 import io.cockroachdb.ledger.util.CockroachFacts;
 import io.cockroachdb.ledger.util.DurationUtils;
 import io.cockroachdb.ledger.util.Money;
@@ -37,7 +39,7 @@ import io.cockroachdb.ledger.util.RandomData;
 @Component
 public class WorkloadTransferCommands extends AbstractShellCommand {
     @Autowired
-    private TransferFacade transferFacade;
+    private TransferBatcher transferBatcher;
 
     @Autowired
     private WorkloadManager workloadManager;
@@ -80,6 +82,9 @@ public class WorkloadTransferCommands extends AbstractShellCommand {
             @Option(description = "concurrency level, i.e. number of threads to start per city",
                     defaultValue = "1",
                     longName = "concurrency") Integer concurrency,
+            @Option(description = Constants.ARRIVAL_RATE_HELP,
+                    defaultValue = Constants.DEFAULT_ARRIVAL_RATE,
+                    longName = "rate") String rate,
             CommandContext commandContext
     ) {
         if (legs < 2) {
@@ -102,29 +107,39 @@ public class WorkloadTransferCommands extends AbstractShellCommand {
 
         final Instant stopTime = Instant.now().plus(DurationUtils.parseDuration(duration));
 
-        accountIdsPerCity.forEach((city, accounts) -> {
-            workloadManager.submitWorkers(
-                    new Worker<TransferEntity>() {
-                        @Override
-                        public TransferEntity call() {
-                            return transferFunds(city, accounts, min, max, legs, variance);
-                        }
+        final ArrivalRate arrivalRate = Constants.DEFAULT_ARRIVAL_RATE.equalsIgnoreCase(rate)
+                ? null : ArrivalRate.parse(rate);
 
-                        @Override
-                        public boolean test(Integer x) {
-                            return Instant.now().isBefore(stopTime);
-                        }
-                    }, new WorkloadDescription() {
-                        @Override
-                        public String displayValue() {
-                            return "Transfer Funds";
-                        }
-
-                        @Override
-                        public String categoryValue() {
-                            return city.getName();
-                        }
-                    }, concurrency);
+        accountIdsPerCity.forEach((city, accounts) -> {
+            Worker<TransferEntity> worker = new Worker<>() {
+                @Override
+                public TransferEntity call() {
+                    return transferFunds(city, accounts, min, max, legs, variance);
+                }
+
+                @Override
+                public boolean test(Integer x) {
+                    return Instant.now().isBefore(stopTime);
+                }
+            };
+
+            WorkloadDescription description = new WorkloadDescription() {
+                @Override
+                public String displayValue() {
+                    return arrivalRate != null ? "Transfer Funds (open-loop)" : "Transfer Funds";
+                }
+
+                @Override
+                public String categoryValue() {
+                    return city.getName();
+                }
+            };
+
+            if (arrivalRate != null) {
+                workloadManager.submitWorker(worker, description, arrivalRate);
+            } else {
+                workloadManager.submitWorkers(worker, description, concurrency);
+            }
         });
     }
 
@@ -162,7 +177,7 @@ public class WorkloadTransferCommands extends AbstractShellCommand {
                         .withNote(CockroachFacts.nextFact())
                         .then());
 
-        return transferFacade.createTransfer(builder.build());
+        return transferBatcher.createTransfer(builder.build());
     }
 
     @Command(exitStatusExceptionMapper = "commandExceptionMapper",
@@ -200,11 +215,12 @@ public class WorkloadTransferCommands extends AbstractShellCommand {
             throw new IllegalArgumentException("You are not allowed to target accounts of this type!");
         }
 
+        // Prefer liability shards as grant sources to avoid contention on the system account
         final Map<City, List<UUID>> accountIdsPerCity = findCityAccountIDs(region, city -> {
-            return accountFacade.findAccounts(city,
+            return LiabilityShards.selectSources(accountFacade.findAccounts(city,
                     AccountType.LIABILITY,
                     Pair.of(BigDecimal.ZERO, BigDecimal.ZERO),
-                    8192);
+                    8192));
         });
 
         if (accountIdsPerCity.isEmpty()) {
@@ -275,6 +291,6 @@ public class WorkloadTransferCommands extends AbstractShellCommand {
                     .then();
         });
 
-        return transferFacade.createTransfer(builder.build());
+        return transferBatcher.createTransfer(builder.build());
     }
 }
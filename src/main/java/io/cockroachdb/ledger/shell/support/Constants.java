@@ -29,6 +29,13 @@ public abstract class Constants {
 
     public static final String DEFAULT_REGION = "GATEWAY";
 
+    public static final String ARRIVAL_RATE_HELP = "Open-loop target arrival rate per city in calls/sec "
+                                                   + "(overrides concurrency unless 'none')."
+                                                   + "\nForms: <rate>, fixed:<rate>, ramp:<from>:<to>:<period>,"
+                                                   + "\nstep:<from>:<increment>:<interval>, sine:<mean>:<amplitude>:<period>";
+
+    public static final String DEFAULT_ARRIVAL_RATE = "none";
+
     private Constants() {
     }
 }
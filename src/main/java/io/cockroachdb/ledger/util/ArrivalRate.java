@@ -0,0 +1,93 @@
+package io.cockroachdb.ledger.util;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Target arrival rate profile for open-loop workloads, expressed as calls per
+ * second as a function of the elapsed time since the workload started.
+ */
+@FunctionalInterface
+public interface ArrivalRate {
+    /**
+     * @param elapsed time elapsed since start
+     * @return target rate in calls per second, zero or less means idle
+     */
+    double ratePerSecond(Duration elapsed);
+
+    static ArrivalRate fixed(double rate) {
+        return elapsed -> rate;
+    }
+
+    /**
+     * Linear ramp from one rate to another over a period, then constant.
+     */
+    static ArrivalRate ramp(double from, double to, Duration period) {
+        final double periodMillis = Math.max(1, period.toMillis());
+        return elapsed -> from + (to - from) * Math.min(1.0, elapsed.toMillis() / periodMillis);
+    }
+
+    /**
+     * Stepwise increase by a fixed increment every interval.
+     */
+    static ArrivalRate step(double from, double increment, Duration interval) {
+        final long intervalMillis = Math.max(1, interval.toMillis());
+        return elapsed -> from + increment * (elapsed.toMillis() / intervalMillis);
+    }
+
+    /**
+     * Sinusoidal oscillation around a mean rate, never below zero.
+     */
+    static ArrivalRate sinusoidal(double mean, double amplitude, Duration period) {
+        final double periodMillis = Math.max(1, period.toMillis());
+        return elapsed -> Math.max(0,
+                mean + amplitude * Math.sin(2 * Math.PI * elapsed.toMillis() / periodMillis));
+    }
+
+    /**
+     * Parse a rate profile expression in one of the forms:
+     * <ul>
+     *     <li>fixed:rate (or just rate)</li>
+     *     <li>ramp:from:to:period</li>
+     *     <li>step:from:increment:interval</li>
+     *     <li>sine:mean:amplitude:period</li>
+     * </ul>
+     * where rates are in calls per second and periods are durations like 30s or 5m.
+     *
+     * @param expression the profile expression
+     * @return the arrival rate
+     */
+    static ArrivalRate parse(String expression) {
+        final String[] parts = expression.trim().toLowerCase(Locale.ENGLISH).split(":");
+        try {
+            switch (parts[0]) {
+                case "fixed":
+                    expectParts(expression, parts, 2);
+                    return fixed(Double.parseDouble(parts[1]));
+                case "ramp":
+                    expectParts(expression, parts, 4);
+                    return ramp(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]),
+                            DurationUtils.parseDuration(parts[3]));
+                case "step":
+                    expectParts(expression, parts, 4);
+                    return step(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]),
+                            DurationUtils.parseDuration(parts[3]));
+                case "sine":
+                    expectParts(expression, parts, 4);
+                    return sinusoidal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]),
+                            DurationUtils.parseDuration(parts[3]));
+                default:
+                    expectParts(expression, parts, 1);
+                    return fixed(Double.parseDouble(parts[0]));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid arrival rate expression: " + expression, e);
+        }
+    }
+
+    private static void expectParts(String expression, String[] parts, int expected) {
+        if (parts.length != expected) {
+            throw new IllegalArgumentException("Invalid arrival rate expression: " + expression);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.cockroachdb.ledger.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Backoff delays with decorrelated jitter, where each delay is drawn uniformly between
+ * the base delay and three times the previous delay, capped. Compared to exponential
+ * backoff with additive jitter, concurrent clients that fail together spread out
+ * quickly rather than retrying in lockstep.
+ */
+public class Backoff {
+    /**
+     * @param baseMillis     min delay
+     * @param capMillis      max delay
+     * @param previousMillis the previous delay or zero if none
+     * @return the next delay in millis
+     */
+    public static long decorrelatedJitter(long baseMillis, long capMillis, long previousMillis) {
+        long upper = Math.max(baseMillis, Math.min(capMillis, Math.max(previousMillis, baseMillis) * 3));
+        long delay = upper > baseMillis
+                ? ThreadLocalRandom.current().nextLong(baseMillis, upper + 1)
+                : baseMillis;
+        return Math.min(capMillis, delay);
+    }
+
+    private final long baseMillis;
+
+    private final long capMillis;
+
+    private final AtomicLong previousMillis = new AtomicLong();
+
+    public Backoff(long baseMillis, long capMillis) {
+        if (baseMillis <= 0 || capMillis < baseMillis) {
+            throw new IllegalArgumentException("Expected 0 < base <= cap");
+        }
+        this.baseMillis = baseMillis;
+        this.capMillis = capMillis;
+    }
+
+    public long nextDelayMillis() {
+        return previousMillis.updateAndGet(previous -> decorrelatedJitter(baseMillis, capMillis, previous));
+    }
+
+    public void reset() {
+        previousMillis.set(0);
+    }
+}
@@ -0,0 +1,109 @@
+package io.cockroachdb.ledger.util;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Currency;
+
+/**
+ * Compact fixed-point monetary representation using the amount in minor units
+ * (for example cents) as a {@code long} and the ISO-4217 numeric code as currency index.
+ * Intended for hot paths such as leg validation and coalescing where {@code BigDecimal}
+ * arithmetic is unnecessary. All arithmetic is overflow checked and conversion back to
+ * {@code BigDecimal} should happen only at the boundaries (JDBC and JSON).
+ */
+public abstract class CompactMoney {
+    private CompactMoney() {
+    }
+
+    public static int currencyIndex(Currency currency) {
+        return currency.getNumericCode();
+    }
+
+    /**
+     * Convert a monetary amount to minor units of its currency.
+     *
+     * @param money the monetary amount
+     * @return amount in minor units
+     * @throws ArithmeticException if the amount has more fraction digits than
+     *                             the currency allows or overflows a long
+     */
+    public static long toMinorUnits(Money money) {
+        return toMinorUnits(money.getAmount(), money.getCurrency());
+    }
+
+    public static long toMinorUnits(BigDecimal amount, Currency currency) {
+        int fractionDigits = Math.max(0, currency.getDefaultFractionDigits());
+        return amount.movePointRight(fractionDigits).longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits, Currency currency) {
+        return BigDecimal.valueOf(minorUnits, Math.max(0, currency.getDefaultFractionDigits()));
+    }
+
+    public static Money toMoney(long minorUnits, Currency currency) {
+        return Money.of(toBigDecimal(minorUnits, currency), currency);
+    }
+
+    /**
+     * Overflow checked running sums per currency. Optimized for the common case
+     * of one or a few currencies with a linear scan over primitive arrays.
+     */
+    public static class Checksum {
+        private int[] currencyIndexes = new int[2];
+
+        private long[] sums = new long[2];
+
+        private Currency[] currencies = new Currency[2];
+
+        private int size;
+
+        /**
+         * @param money amount to add
+         * @throws ArithmeticException on overflow or precision loss
+         */
+        public void add(Money money) {
+            add(money.getCurrency(), toMinorUnits(money));
+        }
+
+        public void add(Currency currency, long minorUnits) {
+            final int index = currencyIndex(currency);
+            for (int i = 0; i < size; i++) {
+                if (currencyIndexes[i] == index) {
+                    sums[i] = Math.addExact(sums[i], minorUnits);
+                    return;
+                }
+            }
+            if (size == sums.length) {
+                currencyIndexes = Arrays.copyOf(currencyIndexes, size * 2);
+                sums = Arrays.copyOf(sums, size * 2);
+                currencies = Arrays.copyOf(currencies, size * 2);
+            }
+            currencyIndexes[size] = index;
+            sums[size] = minorUnits;
+            currencies[size] = currency;
+            size++;
+        }
+
+        public long sum(Currency currency) {
+            final int index = currencyIndex(currency);
+            for (int i = 0; i < size; i++) {
+                if (currencyIndexes[i] == index) {
+                    return sums[i];
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return the first currency with a non-zero sum or null if all sums are zero
+         */
+        public Currency findNonZero() {
+            for (int i = 0; i < size; i++) {
+                if (sums[i] != 0) {
+                    return currencies[i];
+                }
+            }
+            return null;
+        }
+    }
+}
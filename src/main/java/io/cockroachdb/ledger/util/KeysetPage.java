@@ -0,0 +1,110 @@
+package io.cockroachdb.ledger.util;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * A page of rows in ascending UUID key order, fetched with a keyset predicate
+ * ({@code id > :after ORDER BY id LIMIT :size}) rather than an offset. Pages are
+ * navigated forward only, using the key of the last row as cursor for the next page.
+ * The total is optional and may be an estimate from table statistics.
+ *
+ * @param <T> the row type
+ */
+public class KeysetPage<T> {
+    /**
+     * Cursor of the first page, which sorts before any random (version 4) UUID.
+     */
+    public static final UUID FIRST = new UUID(0, 0);
+
+    /**
+     * Create a page from rows fetched with a limit of {@code size + 1}, where
+     * the extra row only tells if there is a next page.
+     *
+     * @param rows      the fetched rows
+     * @param after     the cursor the rows were fetched after
+     * @param size      the page size, must be positive
+     * @param keyMapper maps a row to its key
+     * @param <T>       the row type
+     * @return the page
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, UUID after, int size, Function<T, UUID> keyMapper) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        if (rows.size() > size) {
+            List<T> content = List.copyOf(rows.subList(0, size));
+            return new KeysetPage<>(content, after, size, keyMapper.apply(content.get(size - 1)));
+        }
+        return new KeysetPage<>(List.copyOf(rows), after, size, null);
+    }
+
+    private final List<T> content;
+
+    private final UUID after;
+
+    private final int size;
+
+    private final UUID next;
+
+    private long total = -1;
+
+    private boolean approximate;
+
+    private KeysetPage(List<T> content, UUID after, int size, UUID next) {
+        this.content = content;
+        this.after = after;
+        this.size = size;
+        this.next = next;
+    }
+
+    public KeysetPage<T> withTotal(long total, boolean approximate) {
+        this.total = total;
+        this.approximate = approximate;
+        return this;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getNumberOfElements() {
+        return content.size();
+    }
+
+    public UUID getAfter() {
+        return after;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return cursor for the next page or null if this is the last page
+     */
+    public UUID getNext() {
+        return next;
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    public boolean isFirst() {
+        return FIRST.equals(after);
+    }
+
+    /**
+     * @return the total number of rows or -1 if unknown
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public boolean isApproximate() {
+        return approximate;
+    }
+}
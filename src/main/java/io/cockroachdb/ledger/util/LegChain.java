@@ -0,0 +1,99 @@
+package io.cockroachdb.ledger.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies the chain of transfer legs of a single account without relying on leg
+ * ordering. Each leg stores the running balance before it was applied, so for a
+ * consistent account the multiset of balances before each leg plus the closing
+ * balance equals the multiset of balances after each leg plus the opening balance.
+ * <p>
+ * The opening (initial) balance is not stored anywhere, so it is derived as the
+ * closing balance minus the sum of all legs and then confirmed by the multiset
+ * equality. A lost update shows up as two legs starting from the same balance,
+ * which breaks the equality.
+ */
+public abstract class LegChain {
+    private LegChain() {
+    }
+
+    /**
+     * A leg (or coalesced legs of the same transfer) applied to an account.
+     *
+     * @param before the running balance before the leg
+     * @param amount the leg amount
+     */
+    public record Link(BigDecimal before, BigDecimal amount) {
+        public BigDecimal after() {
+            return before.add(amount);
+        }
+    }
+
+    /**
+     * @param closingBalance the current account balance
+     * @param links          all legs of the account in any order
+     * @return the derived opening balance or null if the legs do not form a chain
+     * ending at the closing balance
+     */
+    public static BigDecimal openingBalance(BigDecimal closingBalance, Collection<Link> links) {
+        final Map<BigDecimal, Integer> counts = new HashMap<>();
+
+        BigDecimal sum = BigDecimal.ZERO;
+
+        for (Link link : links) {
+            counts.merge(link.before().stripTrailingZeros(), 1, Integer::sum);
+            counts.merge(link.after().stripTrailingZeros(), -1, Integer::sum);
+            sum = sum.add(link.amount());
+        }
+
+        final BigDecimal opening = closingBalance.subtract(sum);
+
+        counts.merge(closingBalance.stripTrailingZeros(), 1, Integer::sum);
+        counts.merge(opening.stripTrailingZeros(), -1, Integer::sum);
+
+        return counts.values().stream().allMatch(count -> count == 0) ? opening : null;
+    }
+
+    /**
+     * Reduce legs to the links left after cancelling the balance after each leg against
+     * an equal balance before another leg. A contiguous sequence of legs reduces to a
+     * single link from the balance before the first to the balance after the last leg.
+     * Replacing any subset of an account's legs with its residual doesn't affect
+     * {@link #openingBalance}, which allows legs to be archived.
+     *
+     * @param links legs in any order
+     * @return the residual links in ascending order of the balance before
+     */
+    public static List<Link> residual(Collection<Link> links) {
+        final Map<BigDecimal, Integer> counts = new HashMap<>();
+
+        for (Link link : links) {
+            counts.merge(link.before().stripTrailingZeros(), 1, Integer::sum);
+            counts.merge(link.after().stripTrailingZeros(), -1, Integer::sum);
+        }
+
+        final List<BigDecimal> befores = new ArrayList<>();
+        final List<BigDecimal> afters = new ArrayList<>();
+
+        counts.forEach((balance, count) -> {
+            for (int i = 0; i < Math.abs(count); i++) {
+                (count > 0 ? befores : afters).add(balance);
+            }
+        });
+
+        Collections.sort(befores);
+        Collections.sort(afters);
+
+        final List<Link> residual = new ArrayList<>(befores.size());
+        for (int i = 0; i < befores.size(); i++) {
+            residual.add(new Link(befores.get(i), afters.get(i).subtract(befores.get(i))));
+        }
+        return residual;
+    }
+}
@@ -0,0 +1,36 @@
+package io.cockroachdb.ledger.util;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Global lock acquisition order for account rows. Transactions that lock overlapping
+ * account sets in the same order wait on each other rather than deadlock.
+ * <p>
+ * The order is the unsigned byte order of the UUID, which matches the primary key
+ * order of the database, as opposed to {@link UUID#compareTo(UUID)} which compares
+ * the most and least significant bits as signed longs.
+ */
+public abstract class LockOrder {
+    private LockOrder() {
+    }
+
+    public static final Comparator<UUID> UUID_BYTE_ORDER = (a, b) -> {
+        int c = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return c != 0 ? c : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    };
+
+    public static List<UUID> sorted(Collection<UUID> ids) {
+        return ids.stream().sorted(UUID_BYTE_ORDER).toList();
+    }
+
+    public static <V> Map<UUID, V> sortedByKey(Map<UUID, V> map) {
+        Map<UUID, V> sorted = new TreeMap<>(UUID_BYTE_ORDER);
+        sorted.putAll(map);
+        return sorted;
+    }
+}
@@ -1,5 +1,9 @@
 package io.cockroachdb.ledger.util;
 
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import javax.sql.DataSource;
 
 import org.springframework.dao.DataAccessException;
@@ -7,6 +11,10 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.util.StringUtils;
 
 public abstract class MetadataUtils {
+    // CockroachDB: "estimated row count: 1,234 (..)", PostgreSQL: "Seq Scan on t  (cost=.. rows=1234 width=..)"
+    private static final Pattern ROW_ESTIMATE_PATTERN
+            = Pattern.compile("(?:estimated row count: ([\\d,]+))|(?:rows=(\\d+))");
+
     private MetadataUtils() {
     }
 
@@ -31,6 +39,31 @@ public abstract class MetadataUtils {
         }
     }
 
+    /**
+     * Estimate the number of rows returned by a query from the optimizer's table statistics
+     * using EXPLAIN, which is much cheaper than an exact count on large tables.
+     *
+     * @param dataSource the data source
+     * @param sql        the query to estimate the row count for (not a count query)
+     * @param args       query arguments
+     * @return the row count estimate of the root plan node or -1 if not available
+     */
+    public static long estimateRowCount(DataSource dataSource, String sql, Object... args) {
+        try {
+            List<String> plan = new JdbcTemplate(dataSource)
+                    .query("EXPLAIN " + sql, (rs, rowNum) -> rs.getString(1), args);
+            for (String line : plan) {
+                Matcher m = ROW_ESTIMATE_PATTERN.matcher(line);
+                if (m.find()) {
+                    return Long.parseLong((m.group(1) != null ? m.group(1) : m.group(2)).replace(",", ""));
+                }
+            }
+            return -1;
+        } catch (DataAccessException | NumberFormatException e) {
+            return -1;
+        }
+    }
+
     public static boolean hasEnterpriseLicense(DataSource dataSource) {
         try {
             if (isCockroachDB(dataSource)) {
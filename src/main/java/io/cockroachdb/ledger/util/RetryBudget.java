@@ -0,0 +1,54 @@
+package io.cockroachdb.ledger.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe token bucket limiting retries relative to successful calls. Each retry
+ * takes one token and each success deposits a fraction of a token, so that in steady
+ * state retries are bounded to about {@code tokenRatio} of successful calls. The bucket
+ * starts full to allow bursts of retries for otherwise healthy calls.
+ */
+public class RetryBudget {
+    private static final long SCALE = 1000;
+
+    private final long maxTokens;
+
+    private final long depositPerSuccess;
+
+    private final AtomicLong tokens;
+
+    /**
+     * @param maxTokens  max number of retries in a burst
+     * @param tokenRatio tokens deposited per successful call
+     */
+    public RetryBudget(int maxTokens, double tokenRatio) {
+        if (maxTokens <= 0 || tokenRatio <= 0) {
+            throw new IllegalArgumentException("Expected positive max tokens and ratio");
+        }
+        this.maxTokens = maxTokens * SCALE;
+        this.depositPerSuccess = Math.max(1, (long) (tokenRatio * SCALE));
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    public void onSuccess() {
+        tokens.updateAndGet(current -> Math.min(maxTokens, current + depositPerSuccess));
+    }
+
+    /**
+     * @return true if a retry is permitted, consuming one token
+     */
+    public boolean tryAcquire() {
+        return tokens.getAndUpdate(current -> current >= SCALE ? current - SCALE : current) >= SCALE;
+    }
+
+    /**
+     * Return a token taken by a retry that didn't happen.
+     */
+    public void release() {
+        tokens.updateAndGet(current -> Math.min(maxTokens, current + SCALE));
+    }
+
+    public double availableTokens() {
+        return (double) tokens.get() / SCALE;
+    }
+}
@@ -0,0 +1,51 @@
+package io.cockroachdb.ledger.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in an account statement ordered by {@code (created_at, transfer_id, item_pos)}.
+ * Encoded as an opaque URL-safe token for API clients.
+ *
+ * @param createdAt  the transaction time of the last seen leg
+ * @param transferId the transfer ID of the last seen leg
+ * @param itemPos    the position of the last seen leg
+ */
+public record StatementCursor(Instant createdAt, UUID transferId, int itemPos) {
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    /**
+     * @param from the earliest transaction time to include
+     * @return a cursor positioned before any leg at or after the given time
+     */
+    public static StatementCursor from(Instant from) {
+        return new StatementCursor(from, MIN_UUID, -1);
+    }
+
+    /**
+     * @param token an encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static StatementCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split(",");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed statement cursor: " + token);
+            }
+            return new StatementCursor(Instant.parse(parts[0]), UUID.fromString(parts[1]),
+                    Integer.parseInt(parts[2]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed statement cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "," + transferId + "," + itemPos).getBytes(StandardCharsets.UTF_8));
+    }
+}
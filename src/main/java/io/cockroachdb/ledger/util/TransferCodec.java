@@ -0,0 +1,273 @@
+package io.cockroachdb.ledger.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary encoding of transfers and their legs for outbox events. Integers are
+ * variable-length (zigzag for signed values), amounts are scale plus unscaled value and
+ * strings such as cities, currencies and notes are written once per event and then
+ * back-referenced. For a 128-leg grant this is dominated by the 16-byte account IDs,
+ * rather than by field names and decimal strings as in JSON.
+ * <p>
+ * Layout: {@code version:byte flags:byte body}, where the body is optionally deflated.
+ */
+public abstract class TransferCodec {
+    public record Leg(UUID accountId,
+                      int itemPos,
+                      String city,
+                      Money amount,
+                      Money runningBalance,
+                      String note) {
+    }
+
+    public record Transfer(UUID id,
+                           String city,
+                           String transferType,
+                           LocalDate transferDate,
+                           LocalDate bookingDate,
+                           List<Leg> legs) {
+    }
+
+    private static final int VERSION = 1;
+
+    private static final int FLAG_DEFLATED = 1;
+
+    private TransferCodec() {
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * @param transfer the transfer to encode
+     * @param compress deflate the body
+     * @return the encoded transfer
+     * @throws ArithmeticException if an amount doesn't fit an unscaled long
+     */
+    public static byte[] encode(Transfer transfer, boolean compress) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + transfer.legs().size() * 32);
+        bytes.write(VERSION);
+        bytes.write(compress ? FLAG_DEFLATED : 0);
+
+        Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED, true) : null;
+        try (Writer out = new Writer(compress ? new DeflaterOutputStream(bytes, deflater) : bytes)) {
+            out.writeUUID(transfer.id());
+            out.writeString(transfer.city());
+            out.writeString(transfer.transferType());
+            out.writeDate(transfer.transferDate());
+            out.writeDate(transfer.bookingDate());
+            out.writeVarLong(transfer.legs().size());
+            for (Leg leg : transfer.legs()) {
+                out.writeUUID(leg.accountId());
+                out.writeVarLong(leg.itemPos());
+                out.writeString(leg.city());
+                out.writeString(leg.amount() != null ? leg.amount().getCurrency().getCurrencyCode() : null);
+                out.writeAmount(leg.amount());
+                out.writeAmount(leg.runningBalance());
+                out.writeString(leg.note());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param data the encoded transfer
+     * @return the decoded transfer
+     * @throws IllegalArgumentException if the data is malformed or of an unknown version
+     */
+    public static Transfer decode(byte[] data) {
+        if (data.length < 2 || data[0] != VERSION) {
+            throw new IllegalArgumentException("Unknown transfer encoding");
+        }
+        boolean deflated = (data[1] & FLAG_DEFLATED) != 0;
+
+        InputStream body = new ByteArrayInputStream(data, 2, data.length - 2);
+        Inflater inflater = deflated ? new Inflater(true) : null;
+        try (Reader in = new Reader(deflated ? new InflaterInputStream(body, inflater) : body)) {
+            UUID id = in.readUUID();
+            String city = in.readString();
+            String transferType = in.readString();
+            LocalDate transferDate = in.readDate();
+            LocalDate bookingDate = in.readDate();
+
+            int size = Math.toIntExact(in.readVarLong());
+            List<Leg> legs = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                UUID accountId = in.readUUID();
+                int itemPos = Math.toIntExact(in.readVarLong());
+                String legCity = in.readString();
+                String currency = in.readString();
+                Money amount = in.readAmount(currency);
+                Money runningBalance = in.readAmount(currency);
+                legs.add(new Leg(accountId, itemPos, legCity, amount, runningBalance, in.readString()));
+            }
+            return new Transfer(id, city, transferType, transferDate, bookingDate, legs);
+        } catch (IOException | ArithmeticException e) {
+            throw new IllegalArgumentException("Malformed transfer encoding", e);
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    private static class Writer extends DataOutputStream {
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(OutputStream out) {
+            super(out);
+        }
+
+        void writeVarLong(long v) throws IOException {
+            while ((v & ~0x7FL) != 0) {
+                write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            write((int) v);
+        }
+
+        void writeZigZag(long v) throws IOException {
+            writeVarLong(zigzag(v));
+        }
+
+        void writeUUID(UUID id) throws IOException {
+            writeLong(id.getMostSignificantBits());
+            writeLong(id.getLeastSignificantBits());
+        }
+
+        void writeDate(LocalDate date) throws IOException {
+            if (date == null) {
+                writeVarLong(0);
+            } else {
+                writeVarLong(1);
+                writeZigZag(date.toEpochDay());
+            }
+        }
+
+        // 0 is null, odd is a back-reference and even is a new string of length (v / 2 - 1)
+        void writeString(String s) throws IOException {
+            if (s == null) {
+                writeVarLong(0);
+                return;
+            }
+            Integer ref = strings.get(s);
+            if (ref != null) {
+                writeVarLong(((long) ref << 1) | 1);
+                return;
+            }
+            strings.put(s, strings.size());
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            writeVarLong((long) (utf8.length + 1) << 1);
+            write(utf8);
+        }
+
+        // 0 is null, otherwise zigzag scale + 1 followed by the zigzag unscaled value
+        void writeAmount(Money money) throws IOException {
+            if (money == null) {
+                writeVarLong(0);
+                return;
+            }
+            BigDecimal amount = money.getAmount();
+            writeVarLong(zigzag(amount.scale()) + 1);
+            writeZigZag(amount.unscaledValue().longValueExact());
+        }
+    }
+
+    private static class Reader extends DataInputStream {
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(InputStream in) {
+            super(in);
+        }
+
+        long readVarLong() throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                if (b < 0) {
+                    throw new EOFException();
+                }
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return v;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        long readZigZag() throws IOException {
+            return unzigzag(readVarLong());
+        }
+
+        UUID readUUID() throws IOException {
+            return new UUID(readLong(), readLong());
+        }
+
+        LocalDate readDate() throws IOException {
+            return readVarLong() == 0 ? null : LocalDate.ofEpochDay(readZigZag());
+        }
+
+        String readString() throws IOException {
+            long v = readVarLong();
+            if (v == 0) {
+                return null;
+            }
+            if ((v & 1) == 1) {
+                int ref = Math.toIntExact(v >>> 1);
+                if (ref >= strings.size()) {
+                    throw new IOException("Bad string reference: " + ref);
+                }
+                return strings.get(ref);
+            }
+            byte[] utf8 = new byte[Math.toIntExact((v >>> 1) - 1)];
+            readFully(utf8);
+            String s = new String(utf8, StandardCharsets.UTF_8);
+            strings.add(s);
+            return s;
+        }
+
+        Money readAmount(String currency) throws IOException {
+            long v = readVarLong();
+            if (v == 0) {
+                return null;
+            }
+            int scale = Math.toIntExact(unzigzag(v - 1));
+            if (currency == null) {
+                throw new IOException("Amount without currency");
+            }
+            return Money.of(new BigDecimal(BigInteger.valueOf(readZigZag()), scale), currency);
+        }
+    }
+}
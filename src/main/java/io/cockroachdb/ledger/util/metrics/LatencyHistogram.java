@@ -0,0 +1,198 @@
+package io.cockroachdb.ledger.util.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free, fixed-bucket latency histogram with log-linear bucketing (HDR style)
+ * recorded into rotating one-second time slices covering a sliding window.
+ * <p>
+ * Recording is allocation free and only touches atomic counters, while percentiles,
+ * mean and throughput are computed lazily when taking a snapshot. Values are
+ * recorded with microsecond resolution and a relative bucket error of about 3%.
+ * Samples recorded concurrently with a slice rotation may be lost, which is
+ * acceptable for reporting purposes.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    // Max trackable value is 2^32 micros (~71 minutes), anything above is clamped
+    private static final int MAX_VALUE_BITS = 32;
+
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+
+    static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) Math.max(0, value);
+        }
+        long v = Math.min(value, MAX_VALUE);
+        int shift = (63 - Long.numberOfLeadingZeros(v)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (v >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        int subBucket = index % SUB_BUCKET_COUNT;
+        return (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+    }
+
+    static long bucketMidpoint(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        return bucketLowerBound(index) + ((1L << shift) >> 1);
+    }
+
+    private static class Slice {
+        final AtomicLong epochSecond = new AtomicLong(-1);
+
+        final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+        final LongAdder sumMicros = new LongAdder();
+
+        void reset() {
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0);
+            }
+            sumMicros.reset();
+        }
+    }
+
+    private final Slice[] slices;
+
+    private final LongSupplier clock;
+
+    private final long startTimeMillis;
+
+    public LatencyHistogram(Duration window) {
+        this(window, System::currentTimeMillis);
+    }
+
+    LatencyHistogram(Duration window, LongSupplier clock) {
+        int numSlices = (int) Math.max(1, window.toSeconds());
+        this.slices = new Slice[numSlices];
+        for (int i = 0; i < numSlices; i++) {
+            this.slices[i] = new Slice();
+        }
+        this.clock = clock;
+        this.startTimeMillis = clock.getAsLong();
+    }
+
+    public void record(Duration duration) {
+        recordMicros(duration.toNanos() / 1000);
+    }
+
+    public void recordMicros(long micros) {
+        final long second = clock.getAsLong() / 1000;
+        final Slice slice = slices[(int) (second % slices.length)];
+
+        long epoch = slice.epochSecond.get();
+        if (epoch != second && slice.epochSecond.compareAndSet(epoch, second)) {
+            slice.reset();
+        }
+
+        slice.counts.incrementAndGet(bucketIndex(micros));
+        slice.sumMicros.add(micros);
+    }
+
+    public Snapshot snapshot() {
+        final long nowMillis = clock.getAsLong();
+        final long second = nowMillis / 1000;
+        final long[] counts = new long[BUCKET_COUNT];
+
+        long total = 0;
+        long sum = 0;
+
+        for (Slice slice : slices) {
+            long epoch = slice.epochSecond.get();
+            if (epoch > second - slices.length && epoch <= second) {
+                for (int i = 0; i < BUCKET_COUNT; i++) {
+                    long n = slice.counts.get(i);
+                    counts[i] += n;
+                    total += n;
+                }
+                sum += slice.sumMicros.sum();
+            }
+        }
+
+        // Window covers all complete slices plus the elapsed part of the current one
+        long windowMillis = Math.min(
+                (slices.length - 1) * 1000L + nowMillis % 1000,
+                nowMillis - startTimeMillis);
+
+        return new Snapshot(nowMillis, counts, total, sum, Math.max(1000, windowMillis));
+    }
+
+    /**
+     * Immutable point-in-time view of the histogram window.
+     */
+    public static class Snapshot {
+        private final long timeMillis;
+
+        private final long[] counts;
+
+        private final long count;
+
+        private final long sumMicros;
+
+        private final long windowMillis;
+
+        private Snapshot(long timeMillis, long[] counts, long count, long sumMicros, long windowMillis) {
+            this.timeMillis = timeMillis;
+            this.counts = counts;
+            this.count = count;
+            this.sumMicros = sumMicros;
+            this.windowMillis = windowMillis;
+        }
+
+        public long getTimeMillis() {
+            return timeMillis;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanMillis() {
+            return count > 0 ? sumMicros / (double) count / 1000.0 : 0;
+        }
+
+        public double getOpsPerSec() {
+            return count / (windowMillis / 1000.0);
+        }
+
+        /**
+         * @param percentile the percentile in range 0..1
+         * @return value at percentile in millis
+         */
+        public double getValueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 1) {
+                throw new IllegalArgumentException(">=0 N <=1");
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile * count));
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank) {
+                    return bucketMidpoint(i) / 1000.0;
+                }
+            }
+            return bucketMidpoint(counts.length - 1) / 1000.0;
+        }
+    }
+}
@@ -2,55 +2,89 @@ package io.cockroachdb.ledger.util.metrics;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
-import org.springframework.data.util.Pair;
 import org.springframework.util.Assert;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
+/**
+ * Call metrics for a workload. Live instances record into lock-free latency histograms
+ * and compute percentiles, mean and throughput lazily when read. Instances created by
+ * the builder or copied are immutable value snapshots.
+ * <p>
+ * The main percentiles and mean are response times measured from the intended start
+ * of each call, which includes queueing delay and stalls such as backoff between calls
+ * (correcting for coordinated omission). Service time and queueing delay are also
+ * tracked separately.
+ */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Metrics {
-    private static final int MAX_AGE_SECONDS = 10;
+    private static final Duration MAX_AGE = Duration.ofSeconds(10);
+
+    // Max age of a computed histogram snapshot before it's recomputed on read
+    private static final long SNAPSHOT_TTL_MILLIS = 250;
 
     public static Metrics empty() {
-        return new Metrics();
+        return new Metrics(false);
+    }
+
+    /**
+     * @return a live, thread-safe instance for recording call outcomes
+     */
+    public static Metrics live() {
+        return new Metrics(true);
     }
 
     public static Metrics copy(Metrics from) {
-        Metrics m = new Metrics();
-        m.updateTime = from.updateTime;
-        m.success = from.getSuccess();
-        m.transientFail = from.getTransientFail();
-        m.nonTransientFail = from.getNonTransientFail();
+        Metrics m = new Metrics(false);
+        m.updateTimeMillis = from.updateTimeMillis;
+        m.success.add(from.getSuccess());
+        m.transientFail.add(from.getTransientFail());
+        m.nonTransientFail.add(from.getNonTransientFail());
         return m;
     }
 
-    private static double percentile(List<Double> sortedDurations, double percentile) {
-        if (percentile < 0 || percentile > 1) {
-            throw new IllegalArgumentException(">=0 N <=1");
+    /**
+     * Histogram with a snapshot cached for a short period to amortize reads.
+     */
+    private static class Recorder {
+        final LatencyHistogram histogram = new LatencyHistogram(MAX_AGE);
+
+        volatile LatencyHistogram.Snapshot snapshot;
+
+        LatencyHistogram.Snapshot snapshot() {
+            LatencyHistogram.Snapshot s = snapshot;
+            if (s == null || System.currentTimeMillis() - s.getTimeMillis() > SNAPSHOT_TTL_MILLIS) {
+                s = histogram.snapshot();
+                snapshot = s;
+            }
+            return s;
         }
-        if (!sortedDurations.isEmpty()) {
-            int index = (int) Math.ceil(percentile * sortedDurations.size());
-            return sortedDurations.get(index - 1);
-        }
-        return 0;
     }
 
+    // Response time measured from the intended call start, corrected for coordinated omission
+    @JsonIgnore
+    private final Recorder responseTime;
+
+    // Time spent in the call itself
+    @JsonIgnore
+    private final Recorder serviceTime;
+
+    // Delay between intended and actual call start
     @JsonIgnore
-    private final LinkedList<Pair<Instant, Pair<Duration, Integer>>> fifoBuffer = new LinkedList<>();
+    private final Recorder queueingDelay;
 
     private final Instant startTime = Instant.now();
 
-    private Instant updateTime;
+    private volatile long updateTimeMillis;
 
-    private int success;
+    private final LongAdder success = new LongAdder();
 
-    private int transientFail;
+    private final LongAdder transientFail = new LongAdder();
 
-    private int nonTransientFail;
+    private final LongAdder nonTransientFail = new LongAdder();
 
     private double opsPerSec;
 
@@ -68,73 +102,60 @@ public class Metrics {
 
     private double p999;
 
-    private Metrics() {
-        this.updateTime = Instant.now();
+    private double serviceTimeMeanMillis;
+
+    private double serviceTimeP50;
+
+    private double serviceTimeP99;
+
+    private double serviceTimeP999;
+
+    private double queueingDelayMeanMillis;
+
+    private double queueingDelayP99;
+
+    private Metrics(boolean live) {
+        this.responseTime = live ? new Recorder() : null;
+        this.serviceTime = live ? new Recorder() : null;
+        this.queueingDelay = live ? new Recorder() : null;
+        this.updateTimeMillis = System.currentTimeMillis();
     }
 
-    public void markSuccess(Duration duration) {
-        success++;
-        update(duration);
+    public void markSuccess(Duration serviceTime) {
+        markSuccess(serviceTime, Duration.ZERO);
     }
 
-    public void markFail(Duration duration, boolean isTransient) {
+    /**
+     * @param serviceTime   time spent in the call
+     * @param queueingDelay delay between the intended and actual start of the call
+     */
+    public void markSuccess(Duration serviceTime, Duration queueingDelay) {
+        success.increment();
+        update(serviceTime, queueingDelay);
+    }
+
+    public void markFail(Duration serviceTime, boolean isTransient) {
+        markFail(serviceTime, Duration.ZERO, isTransient);
+    }
+
+    public void markFail(Duration serviceTime, Duration queueingDelay, boolean isTransient) {
         if (isTransient) {
-            transientFail++;
+            transientFail.increment();
         } else {
-            nonTransientFail++;
+            nonTransientFail.increment();
         }
 
-        update(duration);
-    }
-
-    private void update(Duration duration) {
-        updateTime = Instant.now();
-
-        fifoBuffer.add(Pair.of(updateTime, Pair.of(duration, success)));
-
-        // Purge items by time range
-        fifoBuffer.removeIf(item -> item.getFirst()
-                .isBefore(updateTime.minusSeconds(MAX_AGE_SECONDS)));
-
-        // Latency percentiles and mean time
-        {
-            List<Double> sortedDurationMillis = fifoBuffer
-                    .stream()
-                    .map(p -> p.getSecond().getFirst())
-                    .toList()
-                    .stream()
-                    .mapToDouble(Duration::toMillis)
-                    .sorted()
-                    .boxed()
-                    .toList();
-            p50 = percentile(sortedDurationMillis, .5);
-            p90 = percentile(sortedDurationMillis, .9);
-            p95 = percentile(sortedDurationMillis, .95);
-            p99 = percentile(sortedDurationMillis, .99);
-            p999 = percentile(sortedDurationMillis, .999);
-
-            meanTimeMillis = sortedDurationMillis
-                    .stream()
-                    .mapToDouble(value -> value)
-                    .average()
-                    .orElse(0);
-        }
+        update(serviceTime, queueingDelay);
+    }
 
-        // Ops per time unit
-        {
-            List<Instant> samples = fifoBuffer
-                    .stream()
-                    .map(Pair::getFirst)
-                    .filter(instant -> instant.isAfter(updateTime.minusSeconds(MAX_AGE_SECONDS)))
-                    .toList();
-            Instant oldestTime = samples.stream()
-                    .findFirst()
-                    .orElse(updateTime);
-
-            opsPerSec = samples.size() /
-                    Math.max(1, Duration.between(oldestTime, updateTime).toMillis() / 1000.0);
-
-            opsPerMin = opsPerSec * 60;
+    private void update(Duration serviceTime, Duration queueingDelay) {
+        updateTimeMillis = System.currentTimeMillis();
+        if (responseTime != null) {
+            long serviceMicros = serviceTime.toNanos() / 1000;
+            long queueingMicros = Math.max(0, queueingDelay.toNanos() / 1000);
+            this.serviceTime.histogram.recordMicros(serviceMicros);
+            this.queueingDelay.histogram.recordMicros(queueingMicros);
+            this.responseTime.histogram.recordMicros(serviceMicros + queueingMicros);
         }
     }
 
@@ -143,7 +164,7 @@ public class Metrics {
     }
 
     public Instant getUpdateTime() {
-        return updateTime;
+        return Instant.ofEpochMilli(updateTimeMillis);
     }
 
     public boolean isExpired() {
@@ -151,47 +172,71 @@ public class Metrics {
     }
 
     public int getSuccess() {
-        return success;
+        return success.intValue();
     }
 
     public int getTransientFail() {
-        return transientFail;
+        return transientFail.intValue();
     }
 
     public int getNonTransientFail() {
-        return nonTransientFail;
+        return nonTransientFail.intValue();
     }
 
     public double getMeanTimeMillis() {
-        return meanTimeMillis;
+        return responseTime != null ? responseTime.snapshot().getMeanMillis() : meanTimeMillis;
     }
 
     public double getOpsPerSec() {
-        return opsPerSec;
+        return responseTime != null ? responseTime.snapshot().getOpsPerSec() : opsPerSec;
     }
 
     public double getOpsPerMin() {
-        return opsPerMin;
+        return responseTime != null ? responseTime.snapshot().getOpsPerSec() * 60 : opsPerMin;
     }
 
     public double getP50() {
-        return p50;
+        return responseTime != null ? responseTime.snapshot().getValueAtPercentile(.5) : p50;
     }
 
     public double getP90() {
-        return p90;
+        return responseTime != null ? responseTime.snapshot().getValueAtPercentile(.9) : p90;
     }
 
     public double getP95() {
-        return p95;
+        return responseTime != null ? responseTime.snapshot().getValueAtPercentile(.95) : p95;
     }
 
     public double getP99() {
-        return p99;
+        return responseTime != null ? responseTime.snapshot().getValueAtPercentile(.99) : p99;
     }
 
     public double getP999() {
-        return p999;
+        return responseTime != null ? responseTime.snapshot().getValueAtPercentile(.999) : p999;
+    }
+
+    public double getServiceTimeMeanMillis() {
+        return serviceTime != null ? serviceTime.snapshot().getMeanMillis() : serviceTimeMeanMillis;
+    }
+
+    public double getServiceTimeP50() {
+        return serviceTime != null ? serviceTime.snapshot().getValueAtPercentile(.5) : serviceTimeP50;
+    }
+
+    public double getServiceTimeP99() {
+        return serviceTime != null ? serviceTime.snapshot().getValueAtPercentile(.99) : serviceTimeP99;
+    }
+
+    public double getServiceTimeP999() {
+        return serviceTime != null ? serviceTime.snapshot().getValueAtPercentile(.999) : serviceTimeP999;
+    }
+
+    public double getQueueingDelayMeanMillis() {
+        return queueingDelay != null ? queueingDelay.snapshot().getMeanMillis() : queueingDelayMeanMillis;
+    }
+
+    public double getQueueingDelayP99() {
+        return queueingDelay != null ? queueingDelay.snapshot().getValueAtPercentile(.99) : queueingDelayP99;
     }
 
     public static Builder builder() {
@@ -199,13 +244,14 @@ public class Metrics {
     }
 
     public static final class Builder {
-        private final Metrics instance = new Metrics();
+        private final Metrics instance = new Metrics(false);
 
         private Builder() {
         }
 
         public Builder withUpdateTime(Instant updateTime) {
-            instance.updateTime = updateTime;
+            Assert.notNull(updateTime, "time is null");
+            instance.updateTimeMillis = updateTime.toEpochMilli();
             return this;
         }
 
@@ -245,19 +291,32 @@ public class Metrics {
             return this;
         }
 
+        public Builder withServiceTime(double meanMillis, double p50, double p99, double p999) {
+            instance.serviceTimeMeanMillis = meanMillis;
+            instance.serviceTimeP50 = p50;
+            instance.serviceTimeP99 = p99;
+            instance.serviceTimeP999 = p999;
+            return this;
+        }
+
+        public Builder withQueueingDelay(double meanMillis, double p99) {
+            instance.queueingDelayMeanMillis = meanMillis;
+            instance.queueingDelayP99 = p99;
+            return this;
+        }
+
         public Builder withSuccessful(int successful) {
-            instance.success = successful;
+            instance.success.add(successful);
             return this;
         }
 
         public Builder withFails(int transientFail, int nonTransientFail) {
-            instance.transientFail = transientFail;
-            instance.nonTransientFail = nonTransientFail;
+            instance.transientFail.add(transientFail);
+            instance.nonTransientFail.add(nonTransientFail);
             return this;
         }
 
         public Metrics build() {
-            Assert.notNull(instance.updateTime, "time is null");
             return instance;
         }
     }
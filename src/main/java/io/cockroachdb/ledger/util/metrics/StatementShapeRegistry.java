@@ -0,0 +1,81 @@
+package io.cockroachdb.ledger.util.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Data source listener counting executions per distinct SQL text (statement shape).
+ * A high number of distinct shapes for the same logical query, like from expanded
+ * IN lists, means poor reuse of prepared statements and query plans.
+ * <p>
+ * Tracks at most a fixed number of shapes, where executions of untracked shapes
+ * are counted as overflow.
+ */
+public class StatementShapeRegistry implements QueryExecutionListener {
+    public record Shape(String sql, long executions) {
+    }
+
+    private final ConcurrentMap<String, LongAdder> shapes = new ConcurrentHashMap<>();
+
+    private final LongAdder overflow = new LongAdder();
+
+    private final int maxShapes;
+
+    public StatementShapeRegistry(int maxShapes) {
+        this.maxShapes = maxShapes;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        queryInfoList.forEach(queryInfo -> record(queryInfo.getQuery()));
+    }
+
+    public void record(String sql) {
+        LongAdder executions = shapes.get(sql);
+        if (executions == null) {
+            if (shapes.size() >= maxShapes) {
+                overflow.increment();
+                return;
+            }
+            executions = shapes.computeIfAbsent(sql, k -> new LongAdder());
+        }
+        executions.increment();
+    }
+
+    public int getDistinctCount() {
+        return shapes.size();
+    }
+
+    public long getOverflowCount() {
+        return overflow.sum();
+    }
+
+    /**
+     * @param limit max number of shapes to return
+     * @return the most frequently executed shapes in descending order
+     */
+    public List<Shape> getTopShapes(int limit) {
+        return shapes.entrySet()
+                .stream()
+                .map(e -> new Shape(e.getKey(), e.getValue().sum()))
+                .sorted(Comparator.comparingLong(Shape::executions).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void clear() {
+        shapes.clear();
+        overflow.reset();
+    }
+}
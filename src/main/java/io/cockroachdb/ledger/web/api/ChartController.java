@@ -76,6 +76,18 @@ public class ChartController {
         return workloadManager.getDataPoints(Metrics::getP99, page);
     }
 
+    @GetMapping(value = "/data-points/workloads/service-time/p99",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public @ResponseBody List<Map<String, Object>> getWorkloadDataPointsServiceTimeP99(Pageable page) {
+        return workloadManager.getDataPoints(Metrics::getServiceTimeP99, page);
+    }
+
+    @GetMapping(value = "/data-points/workloads/queueing-delay/p99",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public @ResponseBody List<Map<String, Object>> getWorkloadDataPointsQueueingDelayP99(Pageable page) {
+        return workloadManager.getDataPoints(Metrics::getQueueingDelayP99, page);
+    }
+
     @GetMapping(value = "/data-points/workloads/tps",
             produces = MediaType.APPLICATION_JSON_VALUE)
     public @ResponseBody List<Map<String, Object>> getWorkloadDataPointsTPS(Pageable page) {
@@ -1,6 +1,8 @@
 package io.cockroachdb.ledger.web.api;
 
 import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.math.BigDecimal;
@@ -10,6 +12,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 import org.slf4j.Logger;
@@ -21,18 +24,22 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 import io.cockroachdb.ledger.domain.AccountEntity;
 import io.cockroachdb.ledger.domain.AccountType;
 import io.cockroachdb.ledger.domain.AccountPlan;
 import io.cockroachdb.ledger.domain.ApplicationProperties;
 import io.cockroachdb.ledger.domain.City;
 import io.cockroachdb.ledger.service.RegionAdminFacade;
+import io.cockroachdb.ledger.service.account.AccountImportService;
 import io.cockroachdb.ledger.util.Money;
 
 @RestController
@@ -46,6 +53,9 @@ public class ImportController {
     @Autowired
     private ApplicationProperties applicationProperties;
 
+    @Autowired
+    private AccountImportService accountImportService;
+
     @GetMapping(value = "/account.csv/{region}",
             produces = MediaType.TEXT_PLAIN_VALUE)
     public ResponseEntity<StreamingResponseBody> exportTableData(
@@ -105,6 +115,45 @@ public class ImportController {
                 });
     }
 
+    /**
+     * Streaming account import in the same CSV format as the export, optionally gzip compressed.
+     * Chunks are committed separately, so accounts written before a failure remain imported.
+     * For example:
+     * <pre>
+     * curl -X POST -H "Content-Encoding: gzip" -H "Content-Type: text/plain" \
+     *   --data-binary @accounts.csv.gz http://localhost:9090/api/import/account.csv
+     * </pre>
+     */
+    @PostMapping(value = "/account.csv",
+            consumes = {MediaType.TEXT_PLAIN_VALUE, "text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE},
+            produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> importTableData(
+            HttpServletRequest request,
+            @RequestParam(value = "chunkSize", required = false, defaultValue = "512") int chunkSize,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING,
+                    required = false, defaultValue = "") String contentEncoding) throws IOException {
+        boolean gzip = "gzip".equalsIgnoreCase(contentEncoding);
+
+        logger.info("""
+                >> Received account import request <<
+                Compression: %s
+                Chunk size: %d
+                """.formatted(gzip ? "gzip" : "none", chunkSize));
+
+        final long startTime = System.currentTimeMillis();
+
+        try (InputStream inputStream = gzip
+                ? new GZIPInputStream(request.getInputStream(), 65536)
+                : request.getInputStream()) {
+            long rows = accountImportService.importAccounts(inputStream, chunkSize);
+
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                    .body("Imported %,d accounts in %,d ms\n"
+                            .formatted(rows, System.currentTimeMillis() - startTime));
+        }
+    }
+
     private void generateAccounts(City city,
                                   Money initialBalance,
                                   int accountsPerCity,
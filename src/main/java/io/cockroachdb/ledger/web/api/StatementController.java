@@ -0,0 +1,182 @@
+package io.cockroachdb.ledger.web.api;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.cockroachdb.ledger.domain.AccountStatement;
+import io.cockroachdb.ledger.domain.StatementEntry;
+import io.cockroachdb.ledger.service.AccountFacade;
+import io.cockroachdb.ledger.util.StatementCursor;
+import io.cockroachdb.ledger.web.model.StatementModel;
+
+/**
+ * Account statements (history of legs) in chronological order, either as keyset-paged
+ * JSON or as a streaming NDJSON or CSV export fetched in keyset-ordered chunks.
+ * For example:
+ * <pre>
+ * curl http://localhost:9090/api/account/{id}/statement?from=2026-01-01T00:00:00Z&size=50
+ * curl -H "Accept-Encoding: gzip" http://localhost:9090/api/account/{id}/statement.csv > statement.csv.gz
+ * </pre>
+ */
+@RestController
+@RequestMapping(value = "/api/account/{id}")
+public class StatementController {
+    @Autowired
+    private AccountFacade accountFacade;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static StatementCursor toCursor(String after, Instant from) {
+        if (after != null) {
+            try {
+                return StatementCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+            }
+        }
+        return StatementCursor.from(from != null ? from : Instant.EPOCH);
+    }
+
+    @GetMapping(value = "/statement")
+    public ResponseEntity<StatementModel> getStatement(
+            @PathVariable("id") UUID id,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "from", required = false) Instant from,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        AccountStatement statement = accountFacade.findAccountStatement(id, toCursor(after, from), size);
+
+        StatementModel model = new StatementModel();
+        model.setAccountId(statement.accountId());
+        model.setEntries(statement.entries());
+
+        model.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .toUriString())
+                .withSelfRel());
+
+        if (statement.hasNext()) {
+            model.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest()
+                            .replaceQueryParam("from")
+                            .replaceQueryParam("after", statement.next().encode())
+                            .toUriString())
+                    .withRel(IanaLinkRelations.NEXT));
+        }
+
+        return ResponseEntity.ok(model);
+    }
+
+    @GetMapping(value = "/statement.ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportStatementJson(
+            @PathVariable("id") UUID id,
+            @RequestParam(value = "from", required = false) Instant from,
+            @RequestParam(value = "chunkSize", defaultValue = "512") int chunkSize,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING,
+                    required = false, defaultValue = "") String acceptEncoding) {
+        final ObjectWriter writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+
+        return export(id, from, chunkSize, acceptEncoding, MediaType.APPLICATION_NDJSON_VALUE,
+                new StatementWriter() {
+                    @Override
+                    public void writeHeader(PrintWriter pw) {
+                    }
+
+                    @Override
+                    public void writeEntry(PrintWriter pw, StatementEntry entry) throws IOException {
+                        pw.println(writer.writeValueAsString(entry));
+                    }
+                });
+    }
+
+    @GetMapping(value = "/statement.csv", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportStatementCsv(
+            @PathVariable("id") UUID id,
+            @RequestParam(value = "from", required = false) Instant from,
+            @RequestParam(value = "chunkSize", defaultValue = "512") int chunkSize,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING,
+                    required = false, defaultValue = "") String acceptEncoding) {
+        return export(id, from, chunkSize, acceptEncoding, "text/csv",
+                new StatementWriter() {
+                    @Override
+                    public void writeHeader(PrintWriter pw) {
+                        new StatementCsvWriter(pw).writeHeader();
+                    }
+
+                    @Override
+                    public void writeEntry(PrintWriter pw, StatementEntry entry) {
+                        new StatementCsvWriter(pw).writeItem(entry);
+                    }
+                });
+    }
+
+    private interface StatementWriter {
+        void writeHeader(PrintWriter pw);
+
+        void writeEntry(PrintWriter pw, StatementEntry entry) throws IOException;
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(UUID id,
+                                                         Instant from,
+                                                         int chunkSize,
+                                                         String acceptEncoding,
+                                                         String contentType,
+                                                         StatementWriter statementWriter) {
+        boolean gzip = "gzip".equalsIgnoreCase(acceptEncoding);
+
+        // Read the first chunk up front so that a missing account is reported before streaming
+        final AccountStatement first = accountFacade.findAccountStatement(id, toCursor(null, from), chunkSize);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline")
+                .header(HttpHeaders.CONTENT_ENCODING, gzip ? "gzip" : "identity")
+                .header("Cache-Control", "no-cache, no-store, must-revalidate")
+                .header("Pragma", "no-cache")
+                .header("Expires", "0")
+                .body(outputStream -> {
+                    try (PrintWriter pw = new PrintWriter(
+                            new BufferedWriter(new OutputStreamWriter(gzip
+                                    ? new GZIPOutputStream(outputStream, true) : outputStream)))) {
+                        statementWriter.writeHeader(pw);
+
+                        // Each chunk is a separate short read rather than one long-running cursor
+                        AccountStatement statement = first;
+                        while (true) {
+                            for (StatementEntry entry : statement.entries()) {
+                                statementWriter.writeEntry(pw, entry);
+                            }
+                            if (!statement.hasNext()) {
+                                break;
+                            }
+                            pw.flush();
+                            statement = accountFacade.findAccountStatement(id, statement.next(), chunkSize);
+                        }
+                    }
+                });
+    }
+}
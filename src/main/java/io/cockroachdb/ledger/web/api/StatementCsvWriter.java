@@ -0,0 +1,52 @@
+package io.cockroachdb.ledger.web.api;
+
+import java.io.PrintWriter;
+
+import io.cockroachdb.ledger.domain.StatementEntry;
+
+public class StatementCsvWriter implements CsvWriter<StatementEntry> {
+    private static String quote(String value) {
+        return value != null ? "\"" + value.replace("\"", "\"\"") + "\"" : "";
+    }
+
+    private final PrintWriter pw;
+
+    public StatementCsvWriter(PrintWriter pw) {
+        this.pw = pw;
+    }
+
+    @Override
+    public void writeHeader() {
+        pw.println(String.join(",",
+                "created_at",
+                "transfer_id",
+                "item_pos",
+                "city",
+                "amount",
+                "currency",
+                "running_balance",
+                "balance_after",
+                "note"
+        ));
+    }
+
+    @Override
+    public void writeItem(StatementEntry item) {
+        String line = String.join(",",
+                item.createdAt().toString(),
+                "" + item.transferId(),
+                "" + item.itemPos(),
+                item.city(),
+                "" + item.amount().getAmount(),
+                "" + item.amount().getCurrency(),
+                "" + item.runningBalance().getAmount(),
+                "" + item.balanceAfter().getAmount(),
+                quote(item.note())
+        );
+        pw.println(line);
+    }
+
+    @Override
+    public void writeFooter() {
+    }
+}
@@ -4,9 +4,6 @@ import java.util.UUID;
 import java.util.concurrent.Callable;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,27 +16,30 @@ import org.springframework.web.bind.annotation.RequestParam;
 import io.cockroachdb.ledger.domain.AccountEntity;
 import io.cockroachdb.ledger.domain.AccountType;
 import io.cockroachdb.ledger.domain.TransferEntity;
-import io.cockroachdb.ledger.service.account.AccountService;
-import io.cockroachdb.ledger.service.transfer.TransferService;
+import io.cockroachdb.ledger.service.AccountFacade;
+import io.cockroachdb.ledger.service.TransferFacade;
+import io.cockroachdb.ledger.util.KeysetPage;
 
 @Controller
 @RequestMapping("/account")
 public class AccountController {
     @Autowired
-    private AccountService accountService;
+    private AccountFacade accountFacade;
 
     @Autowired
-    private TransferService transferService;
+    private TransferFacade transferFacade;
 
     @GetMapping
     public Callable<String> listAccounts(
             @RequestParam(value = "type", required = false) AccountType accountType,
-            @PageableDefault(size = 30) Pageable page,
+            @RequestParam(value = "after", required = false) UUID after,
+            @RequestParam(value = "size", defaultValue = "30") int size,
             Model model) {
         return () -> {
             AccountType type = accountType != null ?accountType : AccountType.ASSET;
 
-            Page<AccountEntity> accountPage = accountService.findAll(type, page);
+            KeysetPage<AccountEntity> accountPage = accountFacade.findAccounts(type,
+                    after != null ? after : KeysetPage.FIRST, size);
 
             model.addAttribute("accountPage", accountPage);
             model.addAttribute("form", new AccountFilterForm(type));
@@ -50,10 +50,11 @@ public class AccountController {
 
     @PostMapping
     public Callable<String> filterAccounts(@ModelAttribute("form") AccountFilterForm form,
-                                           @PageableDefault(size = 10) Pageable page,
+                                           @RequestParam(value = "size", defaultValue = "10") int size,
                                            Model model) {
         return () -> {
-            Page<AccountEntity> accountPage = accountService.findAll(form.getAccountType(), page);
+            KeysetPage<AccountEntity> accountPage = accountFacade.findAccounts(form.getAccountType(),
+                    KeysetPage.FIRST, size);
 
             model.addAttribute("accountPage", accountPage);
             model.addAttribute("form", form);
@@ -64,12 +65,14 @@ public class AccountController {
 
     @GetMapping("{id}")
     public Callable<String> accountDetails(@PathVariable("id") UUID id,
-                                           @PageableDefault(size = 10) Pageable page,
+                                           @RequestParam(value = "after", required = false) UUID after,
+                                           @RequestParam(value = "size", defaultValue = "10") int size,
                                            Model model) {
         return () -> {
-            Page<TransferEntity> transferPage = transferService.findAllByAccountId(id, page);
+            KeysetPage<TransferEntity> transferPage = transferFacade.findTransfersByAccountId(id,
+                    after != null ? after : KeysetPage.FIRST, size);
             model.addAttribute("transferPage", transferPage);
-            model.addAttribute("form", accountService.findById(id));
+            model.addAttribute("form", accountFacade.findAccount(id));
             return "account-detail";
         };
     }
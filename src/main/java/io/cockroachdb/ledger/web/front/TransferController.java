@@ -19,23 +19,27 @@ import org.springframework.web.bind.annotation.RequestParam;
 import io.cockroachdb.ledger.domain.TransferEntity;
 import io.cockroachdb.ledger.domain.TransferItemEntity;
 import io.cockroachdb.ledger.domain.TransferType;
-import io.cockroachdb.ledger.service.transfer.TransferService;
+import io.cockroachdb.ledger.service.TransferFacade;
+import io.cockroachdb.ledger.util.KeysetPage;
 import io.cockroachdb.ledger.web.model.TransferFilterForm;
 
 @Controller
 @RequestMapping("/transfer")
 public class TransferController {
     @Autowired
-    private TransferService transferService;
+    private TransferFacade transferFacade;
 
     @GetMapping
     public Callable<String> listTransfers(
             @RequestParam(value = "type", required = false) TransferType transferType,
-            @PageableDefault(size = 30) Pageable page, Model model) {
+            @RequestParam(value = "after", required = false) UUID after,
+            @RequestParam(value = "size", defaultValue = "30") int size,
+            Model model) {
         return () -> {
             TransferType type = transferType != null ? transferType : TransferType.BANK;
 
-            Page<TransferEntity> transferPage = transferService.findAll(type, page);
+            KeysetPage<TransferEntity> transferPage = transferFacade.findTransfers(type,
+                    after != null ? after : KeysetPage.FIRST, size);
 
             model.addAttribute("transferPage", transferPage);
             model.addAttribute("form", new TransferFilterForm(type));
@@ -46,10 +50,11 @@ public class TransferController {
 
     @PostMapping
     public Callable<String> filterTransfers(@ModelAttribute("form") TransferFilterForm form,
-                                            @PageableDefault(size = 10) Pageable page,
+                                            @RequestParam(value = "size", defaultValue = "10") int size,
                                             Model model) {
         return () -> {
-            Page<TransferEntity> transferPage = transferService.findAll(form.getTransferType(), page);
+            KeysetPage<TransferEntity> transferPage = transferFacade.findTransfers(form.getTransferType(),
+                    KeysetPage.FIRST, size);
 
             model.addAttribute("transferPage", transferPage);
             model.addAttribute("form", form);
@@ -62,9 +67,12 @@ public class TransferController {
     public Callable<String> listTransfersByCity(
             @ModelAttribute("form") TransferFilterForm form,
             @PathVariable("city") String city,
-            @PageableDefault(size = 30) Pageable page, Model model) {
+            @RequestParam(value = "after", required = false) UUID after,
+            @RequestParam(value = "size", defaultValue = "30") int size,
+            Model model) {
         return () -> {
-            Page<TransferEntity> transferPage = transferService.findAllByCity(city, page);
+            KeysetPage<TransferEntity> transferPage = transferFacade.findTransfersByCity(city,
+                    after != null ? after : KeysetPage.FIRST, size);
             model.addAttribute("transferPage", transferPage);
             model.addAttribute("city", city);
             model.addAttribute("form", form);
@@ -77,9 +85,9 @@ public class TransferController {
             @PathVariable("id") UUID id,
             @PageableDefault(size = 30) Pageable page, Model model) {
         return () -> {
-            Page<TransferItemEntity> itemPage = transferService.findAllItems(id, page);
+            Page<TransferItemEntity> itemPage = transferFacade.findTransferItems(id, page);
 
-            model.addAttribute("form", transferService.findById(id));
+            model.addAttribute("form", transferFacade.findTransfer(id));
             model.addAttribute("itemPage", itemPage);
 
             return "transfer-detail";
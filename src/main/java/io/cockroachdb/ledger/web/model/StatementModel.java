@@ -0,0 +1,35 @@
+package io.cockroachdb.ledger.web.model;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.hateoas.RepresentationModel;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import io.cockroachdb.ledger.domain.StatementEntry;
+
+@JsonPropertyOrder({"links", "embedded", "templates"})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StatementModel extends RepresentationModel<StatementModel> {
+    private UUID accountId;
+
+    private List<StatementEntry> entries = List.of();
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public List<StatementEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<StatementEntry> entries) {
+        this.entries = entries;
+    }
+}
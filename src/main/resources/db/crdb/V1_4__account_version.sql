@@ -0,0 +1,2 @@
+-- Version counter for optimistic concurrency control (compare-and-set balance updates)
+alter table account add column if not exists version bigint not null default 0;
@@ -0,0 +1,49 @@
+-- Transaction time of each transfer, used to select transfers for archival
+alter table transfer add column if not exists created_at timestamptz not null default now();
+
+-- Archived transfers and legs moved out of the hot tables by the retention job
+create table if not exists transfer_archive
+(
+    id            uuid          not null,
+    city          string(128)   not null,
+    booking_date  date          not null,
+    transfer_date date          not null,
+    transfer_type transfer_type not null,
+    created_at    timestamptz   not null,
+    archived_at   timestamptz   not null default clock_timestamp(),
+
+    primary key (id)
+);
+
+create table if not exists transfer_item_archive
+(
+    transfer_id     uuid           not null,
+    account_id      uuid           not null,
+    item_pos        int            not null,
+    city            string(128)    not null,
+    amount          decimal(19, 3) not null,
+    currency        string(3)      not null,
+    note            string,
+    running_balance decimal(19, 3) not null,
+    created_at      timestamptz    not null,
+
+    primary key (transfer_id, account_id, item_pos)
+);
+
+create index if not exists transfer_item_archive_account_time_idx
+    on transfer_item_archive (account_id, created_at, transfer_id, item_pos)
+    storing (city, amount, currency, note, running_balance);
+
+-- Residual links of the archived legs of each account, which is a single link from the
+-- opening balance to the balance after the last archived leg unless legs were archived
+-- out of commit order
+create table if not exists account_checkpoint
+(
+    account_id      uuid           not null,
+    link_pos        int            not null,
+    running_balance decimal(19, 3) not null,
+    amount          decimal(19, 3) not null,
+    updated_at      timestamptz    not null default clock_timestamp(),
+
+    primary key (account_id, link_pos)
+);
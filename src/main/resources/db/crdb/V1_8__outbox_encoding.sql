@@ -0,0 +1,11 @@
+-- Explicit event IDs rather than computed from the JSON payload, and an optional
+-- binary payload as alternative to JSON.
+
+alter table outbox alter column id drop stored;
+alter table outbox alter column aggregate_id drop stored;
+alter table outbox alter column payload drop not null;
+
+alter table outbox add column if not exists encoding string(8) not null default 'JSON';
+alter table outbox add column if not exists payload_bin bytes null;
+
+alter table outbox add constraint check_outbox_payload check ((payload is null) <> (payload_bin is null));
@@ -0,0 +1,40 @@
+-- Supports per-account leg lookups by the consistency checker and keyset-paged transfer
+-- listings by account (account_id = ? AND transfer_id > ?)
+create index if not exists transfer_item_account_idx on transfer_item (account_id, transfer_id) include (amount, running_balance);
+
+-- Consistency check runs with the snapshot time they read at
+create table if not exists consistency_check
+(
+    id            uuid        not null default gen_random_uuid(),
+    snapshot_time timestamptz null,
+    chunk_size    int         not null,
+    partitions    int         not null,
+    started_at    timestamptz not null default clock_timestamp(),
+    completed_at  timestamptz null,
+
+    primary key (id)
+);
+
+-- Last verified key per phase and key range partition, for resuming
+create table if not exists consistency_checkpoint
+(
+    check_id     uuid        not null,
+    phase        varchar(16) not null,
+    part_no      int         not null,
+    last_key     uuid        null,
+    rows_checked bigint      not null default 0,
+    completed    boolean     not null default false,
+    updated_at   timestamptz not null default clock_timestamp(),
+
+    primary key (check_id, phase, part_no)
+);
+
+create table if not exists consistency_anomaly
+(
+    check_id  uuid          not null,
+    phase     varchar(16)   not null,
+    entity_id uuid          not null,
+    message   varchar(1024) not null,
+
+    primary key (check_id, phase, entity_id)
+);
@@ -0,0 +1,12 @@
+-- Transaction time of each leg, shared by all legs of the same transfer
+alter table transfer_item add column if not exists created_at timestamptz not null default now();
+
+-- Covering index for keyset-paged account statements in (created_at, transfer_id, item_pos) order
+create index if not exists transfer_item_account_time_idx
+    on transfer_item (account_id, created_at, transfer_id, item_pos)
+    include (city, amount, currency, note, running_balance);
+
+-- Each leg insert now maintains both this index and transfer_item_account_idx. Both are needed:
+-- this one is ordered by time for statements, so it can't seek the (account_id, transfer_id)
+-- keyset of transfer listings by account, while the narrower account index can't serve
+-- statements without a sort and lookups of the remaining leg columns.
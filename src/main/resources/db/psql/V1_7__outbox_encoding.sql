@@ -0,0 +1,8 @@
+-- Optional binary payload as alternative to JSON.
+
+alter table outbox alter column payload drop not null;
+
+alter table outbox add column if not exists encoding varchar(8) not null default 'JSON';
+alter table outbox add column if not exists payload_bin bytea null;
+
+alter table outbox add constraint check_outbox_payload check ((payload is null) <> (payload_bin is null));
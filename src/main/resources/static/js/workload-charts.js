@@ -137,6 +137,7 @@ WorkloadChartsDashboard.prototype = {
         rowElt.find(".p90").text(_this.round(workload.metrics.p90));
         rowElt.find(".p99").text(_this.round(workload.metrics.p99));
         rowElt.find(".p999").text(_this.round(workload.metrics.p999));
+        rowElt.find(".serviceTimeP99").text(_this.round(workload.metrics.serviceTimeP99));
         rowElt.find(".opsPerSec").text(_this.round(workload.metrics.opsPerSec));
         rowElt.find(".opsPerMin").text(_this.round(workload.metrics.opsPerMin));
         rowElt.find(".success").text(workload.metrics.success);
@@ -151,6 +152,7 @@ WorkloadChartsDashboard.prototype = {
         metricElt.find(".p90").text(_this.round(metrics.p90));
         metricElt.find(".p99").text(_this.round(metrics.p99));
         metricElt.find(".p999").text(_this.round(metrics.p999));
+        metricElt.find(".serviceTimeP99").text(_this.round(metrics.serviceTimeP99));
         metricElt.find(".opsPerSec").text(_this.round(metrics.opsPerSec));
         metricElt.find(".opsPerMin").text(_this.round(metrics.opsPerMin));
         metricElt.find(".success").text(metrics.success);
@@ -0,0 +1,109 @@
+package io.cockroachdb.ledger.aspect;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import io.cockroachdb.ledger.annotation.Retryable;
+import io.cockroachdb.ledger.domain.RetrySettings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AdaptiveRetryHandlerTest {
+    private static Signature signature(String name) {
+        Signature signature = Mockito.mock(Signature.class);
+        Mockito.when(signature.toShortString()).thenReturn(name);
+        Mockito.when(signature.toLongString()).thenReturn(name);
+        return signature;
+    }
+
+    private static RetrySettings settings(int methodBudget) {
+        RetrySettings settings = new RetrySettings();
+        settings.setBaseDelay(Duration.ofMillis(10));
+        settings.setContentionFactor(4.0);
+        settings.setMethodBudget(methodBudget);
+        return settings;
+    }
+
+    @Retryable(maxBackoff = 10)
+    public void retryableOperation() {
+    }
+
+    @Test
+    public void whenRetryBudgetExhausted_thenExpectConcurrencyFailure() throws Throwable {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveRetryHandler retryHandler = new AdaptiveRetryHandler(settings(1), meterRegistry);
+        TransactionRetryAspect aspect = new TransactionRetryAspect(retryHandler, meterRegistry);
+
+        ProceedingJoinPoint pjp = Mockito.mock(ProceedingJoinPoint.class);
+        Signature signature = signature("TransferService.createTransfer(..)");
+        Mockito.when(pjp.getSignature()).thenReturn(signature);
+        Mockito.when(pjp.proceed()).thenThrow(new SQLException("restart transaction", "40001"));
+
+        Retryable retryable = getClass().getMethod("retryableOperation").getAnnotation(Retryable.class);
+
+        ConcurrencyFailureException ex = Assertions.assertThrows(ConcurrencyFailureException.class,
+                () -> aspect.doAroundRetryableOperation(pjp, retryable));
+
+        // One retry permitted by the budget, well below the retry attempts
+        Assertions.assertTrue(ex.getMessage().startsWith("Retry budget exhausted"));
+        Mockito.verify(pjp, Mockito.times(2)).proceed();
+        Assertions.assertEquals(1.0, meterRegistry.counter("ledger.transaction.retries.throttled",
+                "method", "TransferService.createTransfer(..)").count(), 0);
+    }
+
+    @Test
+    public void whenBudgetRefilledBySuccess_thenExpectRetryPermitted() {
+        AdaptiveRetryHandler retryHandler = new AdaptiveRetryHandler(settings(1), new SimpleMeterRegistry());
+        Signature signature = signature("TransferService.createTransfer(..)");
+        SQLException conflict = new SQLException("restart transaction", "40001");
+
+        Assertions.assertTrue(retryHandler.handleTransientException(conflict, 1, signature, 10));
+        Assertions.assertFalse(retryHandler.handleTransientException(conflict, 2, signature, 10));
+
+        // Budget ratio 0.2 deposits a full token after five successes
+        for (int i = 0; i < 5; i++) {
+            retryHandler.handleSuccess(signature);
+        }
+        Assertions.assertTrue(retryHandler.handleTransientException(conflict, 1, signature, 10));
+    }
+
+    @Test
+    public void whenAbortRateIncreases_thenExpectLongerDelay() {
+        AdaptiveRetryHandler retryHandler = new AdaptiveRetryHandler(settings(1), new SimpleMeterRegistry());
+        Signature signature = signature("TransferService.createTransfer(..)");
+        SQLException conflict = new SQLException("restart transaction", "40001");
+
+        Assertions.assertEquals(0.0, retryHandler.abortRate(), 0);
+        Assertions.assertEquals(10, retryHandler.baseDelayMillis());
+
+        // Aborts are counted even when throttled by the exhausted method budget
+        for (int i = 0; i < 200; i++) {
+            retryHandler.handleTransientException(conflict, 1, signature, 10);
+        }
+
+        final long contendedDelay = retryHandler.baseDelayMillis();
+        Assertions.assertTrue(retryHandler.abortRate() > 0.5);
+        Assertions.assertTrue(contendedDelay > 30, "Expected longer delay: " + contendedDelay);
+
+        for (int i = 0; i < 500; i++) {
+            retryHandler.handleSuccess(signature);
+        }
+
+        Assertions.assertTrue(retryHandler.baseDelayMillis() < contendedDelay);
+    }
+
+    @Test
+    public void whenNonRetryableState_thenExpectNoRetry() {
+        AdaptiveRetryHandler retryHandler = new AdaptiveRetryHandler(settings(1), new SimpleMeterRegistry());
+
+        Assertions.assertTrue(retryHandler.isRetryable(new SQLException("restart transaction", "40001")));
+        Assertions.assertTrue(retryHandler.isRetryable(new SQLException("lock not available", "55P03")));
+        Assertions.assertFalse(retryHandler.isRetryable(new SQLException("unique violation", "23505")));
+    }
+}
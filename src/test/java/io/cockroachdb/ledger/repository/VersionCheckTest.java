@@ -0,0 +1,47 @@
+package io.cockroachdb.ledger.repository;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+
+public class VersionCheckTest {
+    private final UUID a = UUID.randomUUID();
+
+    private final UUID b = UUID.randomUUID();
+
+    @Test
+    public void whenAllRowsUpdated_thenExpectNoException() {
+        VersionCheck.verify(2, 2, Map.of(a, 1L, b, 1L), Map.of(a, 2L, b, 2L));
+    }
+
+    @Test
+    public void whenVersionChanged_thenExpectRetryableConflict() {
+        OptimisticConflictException ex = Assertions.assertThrows(OptimisticConflictException.class,
+                () -> VersionCheck.verify(2, 0, Map.of(a, 1L, b, 1L), Map.of(a, 1L, b, 2L)));
+
+        SQLException cause = Assertions.assertInstanceOf(SQLException.class, ex.getCause());
+        Assertions.assertEquals("40001", cause.getSQLState());
+        Assertions.assertEquals("Optimistic conflict on 1 of 2 account(s)", ex.getMessage());
+    }
+
+    @Test
+    public void whenVersionsUnchanged_thenExpectNegativeBalanceRejection() {
+        IncorrectResultSizeDataAccessException ex = Assertions.assertThrows(
+                IncorrectResultSizeDataAccessException.class,
+                () -> VersionCheck.verify(2, 0, Map.of(a, 1L, b, 1L), Map.of(a, 1L, b, 1L)));
+
+        Assertions.assertEquals(2, ex.getExpectedSize());
+        Assertions.assertEquals(0, ex.getActualSize());
+    }
+
+    @Test
+    public void whenVersionChangedAndBalanceNegative_thenExpectConflict() {
+        // A stale read is retried first, the retry then re-evaluates the balance check
+        Assertions.assertThrows(OptimisticConflictException.class,
+                () -> VersionCheck.verify(1, 0, Map.of(a, 1L), Map.of(a, 3L)));
+    }
+}
@@ -0,0 +1,57 @@
+package io.cockroachdb.ledger.repository.jdbc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.cockroachdb.ledger.config.JacksonConfig;
+import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.domain.TransferEntity;
+import io.cockroachdb.ledger.domain.TransferItemEntity;
+import io.cockroachdb.ledger.domain.TransferType;
+import io.cockroachdb.ledger.util.TransferCodec;
+
+import static io.cockroachdb.ledger.util.Money.SEK;
+import static io.cockroachdb.ledger.util.Money.of;
+
+public class TransferPayloadsTest {
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @Test
+    public void whenDecodingBinaryPayload_thenExpectSameDocumentAsJsonEncoding() {
+        TransferEntity transfer = TransferEntity.builder()
+                .withId(UUID.randomUUID())
+                .withCity("stockholm")
+                .withTransferType(TransferType.GRANT)
+                .withTransferDate(LocalDate.of(2026, 1, 31))
+                .withBookingDate(LocalDate.of(2026, 2, 1))
+                .build();
+        List<TransferItemEntity> items = TransferItemEntity.builder()
+                .withTransfer(transfer)
+                .withAccount(AccountEntity.builder().withGeneratedId().build())
+                .withCity("stockholm")
+                .withAmount(of("-12.50", SEK))
+                .withRunningBalance(of("5000.00", SEK))
+                .withNote("grant")
+                .and()
+                .withAccount(AccountEntity.builder().withGeneratedId().build())
+                .withCity("stockholm")
+                .withAmount(of("12.50", SEK))
+                .withRunningBalance(of("0.00", SEK))
+                .and()
+                .build();
+        transfer.addItems(items);
+
+        JsonNode json = objectMapper.valueToTree(transfer);
+        UUID eventId = UUID.fromString(json.get("eventId").asText());
+
+        Assertions.assertEquals(json, TransferPayloads.toJson(objectMapper, eventId,
+                TransferCodec.encode(TransferPayloads.toTransfer(transfer), true)));
+    }
+}
@@ -0,0 +1,114 @@
+package io.cockroachdb.ledger.service.reporting;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.cockroachdb.ledger.domain.AccountEntity;
+import io.cockroachdb.ledger.domain.BalanceSheet;
+import io.cockroachdb.ledger.domain.City;
+import io.cockroachdb.ledger.domain.TransferEntity;
+import io.cockroachdb.ledger.domain.TransferItemEntity;
+import io.cockroachdb.ledger.domain.TransferType;
+import io.cockroachdb.ledger.util.Money;
+
+import static io.cockroachdb.ledger.util.Money.SEK;
+import static io.cockroachdb.ledger.util.Money.of;
+
+public class BalanceSheetAggregatorTest {
+    private static BalanceSheet baseline() {
+        BalanceSheet balanceSheet = new BalanceSheet();
+        balanceSheet.setCity(City.of("stockholm", "SE", "SEK"));
+        balanceSheet.setNumberOfAccounts(10);
+        balanceSheet.setNumberOfTransfers(100);
+        balanceSheet.setNumberOfLegs(200);
+        balanceSheet.setTotalBalance(of("1000.00", SEK));
+        balanceSheet.setMinBalance(of("50.00", SEK));
+        balanceSheet.setMaxBalance(of("150.00", SEK));
+        balanceSheet.setTotalTurnover(of("400.00", SEK));
+        balanceSheet.setTotalChecksum(Money.zero(SEK));
+        return balanceSheet;
+    }
+
+    private static TransferEntity transfer(String amount, String fromBalance, String toBalance) {
+        TransferEntity transfer = TransferEntity.builder()
+                .withId(UUID.randomUUID())
+                .withCity("stockholm")
+                .withTransferType(TransferType.PAYMENT)
+                .withTransferDate(LocalDate.now())
+                .withBookingDate(LocalDate.now())
+                .build();
+        List<TransferItemEntity> items = TransferItemEntity.builder()
+                .withTransfer(transfer)
+                .withAccount(AccountEntity.builder().withGeneratedId().build())
+                .withCity("stockholm")
+                .withAmount(of(amount, SEK).negate())
+                .withRunningBalance(of(fromBalance, SEK))
+                .and()
+                .withAccount(AccountEntity.builder().withGeneratedId().build())
+                .withCity("stockholm")
+                .withAmount(of(amount, SEK))
+                .withRunningBalance(of(toBalance, SEK))
+                .and()
+                .build();
+        return transfer.addItems(items);
+    }
+
+    @Test
+    public void whenMergingDelta_thenExpectCountsAndTurnoverAddedAndBalanceRangeWidened() {
+        BalanceSheetAggregator.Delta delta = new BalanceSheetAggregator.Delta();
+        Assertions.assertTrue(delta.add(transfer("20.00", "60.00", "140.00")));
+        Assertions.assertTrue(delta.add(transfer("5.00", "100.00", "100.00")));
+
+        BalanceSheet merged = BalanceSheetAggregator.merge(baseline(), delta);
+
+        Assertions.assertEquals(10, merged.getNumberOfAccounts());
+        Assertions.assertEquals(102, merged.getNumberOfTransfers());
+        Assertions.assertEquals(204, merged.getNumberOfLegs());
+        Assertions.assertEquals(of("1000.00", SEK), merged.getTotalBalance());
+        Assertions.assertEquals(of("450.00", SEK), merged.getTotalTurnover());
+        Assertions.assertTrue(merged.getTotalChecksum().isZero());
+        Assertions.assertEquals(of("40.00", SEK), merged.getMinBalance());
+        Assertions.assertEquals(of("160.00", SEK), merged.getMaxBalance());
+    }
+
+    @Test
+    public void whenMergingEmptyDelta_thenExpectBaseline() {
+        BalanceSheet merged = BalanceSheetAggregator.merge(baseline(), new BalanceSheetAggregator.Delta());
+
+        Assertions.assertTrue(BalanceSheetAggregator.drift(baseline(), merged).isEmpty());
+    }
+
+    @Test
+    public void whenReconcilingWithFullScan_thenExpectDriftOfEachField() {
+        BalanceSheet actual = baseline();
+        actual.setNumberOfAccounts(11);
+        actual.setNumberOfTransfers(99);
+        actual.setNumberOfLegs(198);
+        actual.setTotalBalance(of("1001.00", SEK));
+        actual.setTotalTurnover(of("390.00", SEK));
+        actual.setTotalChecksum(of("1.00", SEK));
+        actual.setMinBalance(of("49.00", SEK));
+        actual.setMaxBalance(of("151.00", SEK));
+
+        List<String> drift = BalanceSheetAggregator.drift(baseline(), actual);
+
+        Assertions.assertEquals(8, drift.size());
+        Assertions.assertEquals("accounts +1", drift.get(0));
+        Assertions.assertEquals("transfers -1", drift.get(1));
+        Assertions.assertEquals("legs -2", drift.get(2));
+    }
+
+    @Test
+    public void whenBalanceRangeNarrowed_thenExpectNoDrift() {
+        // Aggregated min and max only widen, a narrower scanned range is expected
+        BalanceSheet actual = baseline();
+        actual.setMinBalance(of("60.00", SEK));
+        actual.setMaxBalance(of("140.00", SEK));
+
+        Assertions.assertTrue(BalanceSheetAggregator.drift(baseline(), actual).isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+package io.cockroachdb.ledger.service.transfer;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.cockroachdb.ledger.domain.AccountItem;
+import io.cockroachdb.ledger.service.BadRequestException;
+import io.cockroachdb.ledger.util.CompactMoney;
+import io.cockroachdb.ledger.util.Money;
+
+import static io.cockroachdb.ledger.util.Money.SEK;
+
+public class DefaultTransferServiceTest {
+    private static AccountItem item(UUID id, Money amount) {
+        AccountItem accountItem = new AccountItem();
+        accountItem.setId(id);
+        accountItem.setAmount(amount);
+        return accountItem;
+    }
+
+    @Test
+    public void whenCoalescingItems_thenExpectSumPerAccount() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+
+        Map<UUID, BigDecimal> balanceUpdates = DefaultTransferService.coalesceItems(List.of(
+                item(a, Money.of("-10.00", SEK)),
+                item(b, Money.of("10.00", SEK)),
+                item(a, Money.of("-2.50", SEK)),
+                item(b, Money.of("2.50", SEK))));
+
+        Assertions.assertEquals(new BigDecimal("-12.50"), balanceUpdates.get(a));
+        Assertions.assertEquals(new BigDecimal("12.50"), balanceUpdates.get(b));
+    }
+
+    @Test
+    public void givenDuplicateAccounts_whenCoalescingItems_thenExpectOneItemPerAccount() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+
+        List<AccountItem> items = DefaultTransferService.coalesceAccountItems(List.of(
+                item(a, Money.of("-10.00", SEK)),
+                item(b, Money.of("10.00", SEK)),
+                item(a, Money.of("-2.50", SEK)),
+                item(b, Money.of("2.50", SEK))));
+
+        Assertions.assertEquals(2, items.size());
+        Assertions.assertEquals(a, items.get(0).getId());
+        Assertions.assertEquals(Money.of("-12.50", SEK), items.get(0).getAmount());
+        Assertions.assertEquals(b, items.get(1).getId());
+        Assertions.assertEquals(Money.of("12.50", SEK), items.get(1).getAmount());
+    }
+
+    @Test
+    public void givenDistinctAccounts_whenCoalescingItems_thenExpectSameItems() {
+        List<AccountItem> items = List.of(
+                item(UUID.randomUUID(), Money.of("-10.00", SEK)),
+                item(UUID.randomUUID(), Money.of("10.00", SEK)));
+
+        Assertions.assertSame(items, DefaultTransferService.coalesceAccountItems(items));
+    }
+
+    @Test
+    public void givenBalancedLegs_whenAccountSumOverflows_thenExpectBadRequest() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        Money max = CompactMoney.toMoney(Long.MAX_VALUE, SEK);
+
+        // Interleaved legs keep the sum per currency in range
+        List<AccountItem> items = List.of(
+                item(a, max), item(b, max.negate()),
+                item(a, max), item(b, max.negate()));
+
+        DefaultTransferService.validateAccountItems(items);
+        Assertions.assertThrows(BadRequestException.class, () -> DefaultTransferService.coalesceItems(items));
+    }
+}
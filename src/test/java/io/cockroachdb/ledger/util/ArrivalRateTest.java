@@ -0,0 +1,35 @@
+package io.cockroachdb.ledger.util;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ArrivalRateTest {
+    @Test
+    public void givenProfileExpressions_whenParsing_thenExpectRates() {
+        Assertions.assertEquals(100, ArrivalRate.parse("100").ratePerSecond(Duration.ofMinutes(5)));
+        Assertions.assertEquals(50, ArrivalRate.parse("fixed:50").ratePerSecond(Duration.ZERO));
+
+        ArrivalRate ramp = ArrivalRate.parse("ramp:10:110:100s");
+        Assertions.assertEquals(10, ramp.ratePerSecond(Duration.ZERO), 0.001);
+        Assertions.assertEquals(60, ramp.ratePerSecond(Duration.ofSeconds(50)), 0.001);
+        Assertions.assertEquals(110, ramp.ratePerSecond(Duration.ofSeconds(500)), 0.001);
+
+        ArrivalRate step = ArrivalRate.parse("step:10:5:1m");
+        Assertions.assertEquals(10, step.ratePerSecond(Duration.ofSeconds(59)), 0.001);
+        Assertions.assertEquals(15, step.ratePerSecond(Duration.ofSeconds(60)), 0.001);
+        Assertions.assertEquals(20, step.ratePerSecond(Duration.ofSeconds(150)), 0.001);
+
+        ArrivalRate sine = ArrivalRate.parse("sine:100:150:40s");
+        Assertions.assertEquals(100, sine.ratePerSecond(Duration.ZERO), 0.001);
+        Assertions.assertEquals(250, sine.ratePerSecond(Duration.ofSeconds(10)), 0.001);
+        Assertions.assertEquals(0, sine.ratePerSecond(Duration.ofSeconds(30)), 0.001);
+    }
+
+    @Test
+    public void givenInvalidExpressions_whenParsing_thenExpectException() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ArrivalRate.parse("ramp:10:20"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ArrivalRate.parse("burst:10"));
+    }
+}
@@ -0,0 +1,24 @@
+package io.cockroachdb.ledger.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BackoffTest {
+    @Test
+    public void whenBackingOff_thenExpectDelaysWithinBaseAndCap() {
+        Backoff backoff = new Backoff(10, 500);
+
+        long previous = 0;
+        for (int i = 0; i < 1000; i++) {
+            long delay = backoff.nextDelayMillis();
+            Assertions.assertTrue(delay >= 10 && delay <= 500, "delay: " + delay);
+            Assertions.assertTrue(delay <= Math.max(10, previous) * 3, "delay: " + delay);
+            previous = delay;
+        }
+
+        backoff.reset();
+        Assertions.assertTrue(backoff.nextDelayMillis() <= 30);
+
+        Assertions.assertEquals(50, Backoff.decorrelatedJitter(50, 50, 1000));
+    }
+}
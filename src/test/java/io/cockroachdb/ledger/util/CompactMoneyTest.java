@@ -0,0 +1,52 @@
+package io.cockroachdb.ledger.util;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static io.cockroachdb.ledger.util.Money.EUR;
+import static io.cockroachdb.ledger.util.Money.SEK;
+import static io.cockroachdb.ledger.util.Money.of;
+
+public class CompactMoneyTest {
+    @Test
+    public void whenConvertingToMinorUnits_thenExpectExactValues() {
+        Assertions.assertEquals(12345, CompactMoney.toMinorUnits(of("123.45", SEK)));
+        Assertions.assertEquals(-5, CompactMoney.toMinorUnits(of("-0.05", SEK)));
+        Assertions.assertEquals(500, CompactMoney.toMinorUnits(of("500", Currency.getInstance("JPY"))));
+        Assertions.assertEquals(new BigDecimal("123.45"), CompactMoney.toBigDecimal(12345, SEK));
+        Assertions.assertEquals(of("-0.05", SEK), CompactMoney.toMoney(-5, SEK));
+    }
+
+    @Test
+    public void givenExcessPrecisionOrMagnitude_whenConverting_thenFail() {
+        Assertions.assertThrows(ArithmeticException.class,
+                () -> CompactMoney.toMinorUnits(new BigDecimal("1.005"), SEK));
+        Assertions.assertThrows(ArithmeticException.class,
+                () -> CompactMoney.toMinorUnits(new BigDecimal("92233720368547758.08"), SEK));
+    }
+
+    @Test
+    public void givenMultipleCurrencies_whenSumming_thenExpectZeroSumPerCurrency() {
+        CompactMoney.Checksum checksum = new CompactMoney.Checksum();
+        checksum.add(of("100.00", SEK));
+        checksum.add(of("-25.50", EUR));
+        checksum.add(of("-100.00", SEK));
+        checksum.add(of("10.00", Money.USD));
+        Assertions.assertEquals(EUR, checksum.findNonZero());
+
+        checksum.add(of("25.50", EUR));
+        checksum.add(of("-10.00", Money.USD));
+        Assertions.assertNull(checksum.findNonZero());
+        Assertions.assertEquals(0, checksum.sum(SEK));
+    }
+
+    @Test
+    public void givenLargeSums_whenOverflowing_thenFail() {
+        CompactMoney.Checksum checksum = new CompactMoney.Checksum();
+        checksum.add(SEK, Long.MAX_VALUE);
+        Assertions.assertThrows(ArithmeticException.class, () -> checksum.add(SEK, 1));
+    }
+}
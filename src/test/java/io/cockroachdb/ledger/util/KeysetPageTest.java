@@ -0,0 +1,46 @@
+package io.cockroachdb.ledger.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class KeysetPageTest {
+    @Test
+    public void givenExtraRow_whenCreatingPage_thenExpectNextCursor() {
+        List<UUID> rows = new ArrayList<>();
+        for (int i = 1; i <= 11; i++) {
+            rows.add(new UUID(0, i));
+        }
+
+        KeysetPage<UUID> page = KeysetPage.of(rows, KeysetPage.FIRST, 10, Function.identity());
+        Assertions.assertTrue(page.isFirst());
+        Assertions.assertTrue(page.hasNext());
+        Assertions.assertEquals(10, page.getNumberOfElements());
+        Assertions.assertEquals(new UUID(0, 10), page.getNext());
+        Assertions.assertEquals(-1, page.getTotal());
+    }
+
+    @Test
+    public void givenPartialRows_whenCreatingPage_thenExpectLastPage() {
+        List<UUID> rows = List.of(new UUID(0, 11), new UUID(0, 12));
+
+        KeysetPage<UUID> page = KeysetPage.of(rows, new UUID(0, 10), 10, Function.identity())
+                .withTotal(12, true);
+        Assertions.assertFalse(page.isFirst());
+        Assertions.assertFalse(page.hasNext());
+        Assertions.assertNull(page.getNext());
+        Assertions.assertEquals(2, page.getNumberOfElements());
+        Assertions.assertEquals(12, page.getTotal());
+        Assertions.assertTrue(page.isApproximate());
+    }
+
+    @Test
+    public void givenZeroSize_whenCreatingPage_thenExpectRejection() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> KeysetPage.of(List.of(new UUID(0, 1)), KeysetPage.FIRST, 0, Function.identity()));
+    }
+}
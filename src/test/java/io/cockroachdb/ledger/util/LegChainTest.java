@@ -0,0 +1,94 @@
+package io.cockroachdb.ledger.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LegChainTest {
+    private static LegChain.Link link(String before, String amount) {
+        return new LegChain.Link(new BigDecimal(before), new BigDecimal(amount));
+    }
+
+    @Test
+    public void givenShuffledLegs_whenChainIsIntact_thenExpectOpeningBalance() {
+        List<LegChain.Link> links = new ArrayList<>();
+        links.add(link("100.00", "-25.00"));
+        links.add(link("75.00", "50.000"));
+        links.add(link("125.00", "-125.00"));
+        links.add(link("0.00", "100.00"));
+        Collections.shuffle(links);
+
+        Assertions.assertEquals(0, new BigDecimal("100.00")
+                .compareTo(LegChain.openingBalance(new BigDecimal("100.00"), links)));
+    }
+
+    @Test
+    public void givenNoLegs_whenVerifying_thenExpectOpeningIsClosing() {
+        Assertions.assertEquals(0, new BigDecimal("42.50")
+                .compareTo(LegChain.openingBalance(new BigDecimal("42.50"), List.of())));
+    }
+
+    @Test
+    public void givenLostUpdate_whenVerifying_thenExpectBrokenChain() {
+        // Both legs read balance 100 and the second write overwrote the first
+        List<LegChain.Link> links = List.of(
+                link("100.00", "-10.00"),
+                link("100.00", "-20.00"));
+
+        Assertions.assertNull(LegChain.openingBalance(new BigDecimal("80.00"), links));
+    }
+
+    @Test
+    public void givenBalanceDrift_whenVerifying_thenExpectBrokenChain() {
+        List<LegChain.Link> links = List.of(
+                link("100.00", "-10.00"),
+                link("90.00", "-20.00"));
+
+        Assertions.assertNull(LegChain.openingBalance(new BigDecimal("75.00"), links));
+    }
+
+    @Test
+    public void givenArchivedPrefix_whenReplacedByResidual_thenExpectSameOpeningBalance() {
+        List<LegChain.Link> archived = List.of(
+                link("0.00", "100.00"),
+                link("100.00", "-25.00"));
+        List<LegChain.Link> live = List.of(
+                link("75.00", "50.00"),
+                link("125.00", "-125.00"));
+
+        List<LegChain.Link> residual = LegChain.residual(archived);
+        Assertions.assertEquals(1, residual.size());
+        Assertions.assertEquals(0, new BigDecimal("75.00").compareTo(residual.get(0).after()));
+
+        List<LegChain.Link> links = new ArrayList<>(live);
+        links.addAll(residual);
+
+        Assertions.assertEquals(0, BigDecimal.ZERO
+                .compareTo(LegChain.openingBalance(BigDecimal.ZERO, links)));
+    }
+
+    @Test
+    public void givenLegsArchivedOutOfOrder_whenReplacedByResidual_thenExpectSameOpeningBalance() {
+        List<LegChain.Link> archived = List.of(
+                link("0.00", "100.00"),
+                link("75.00", "50.00"));
+        List<LegChain.Link> live = List.of(
+                link("100.00", "-25.00"),
+                link("125.00", "-125.00"));
+
+        Assertions.assertEquals(2, LegChain.residual(archived).size());
+
+        List<LegChain.Link> links = new ArrayList<>(live);
+        links.addAll(LegChain.residual(archived));
+
+        Assertions.assertEquals(0, BigDecimal.ZERO
+                .compareTo(LegChain.openingBalance(BigDecimal.ZERO, links)));
+
+        links.set(0, link("100.00", "-20.00"));
+        Assertions.assertNull(LegChain.openingBalance(BigDecimal.ZERO, links));
+    }
+}
@@ -0,0 +1,41 @@
+package io.cockroachdb.ledger.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LockOrderTest {
+    @Test
+    public void givenRandomIds_whenSorting_thenExpectKeyOrder() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        ids.add(UUID.fromString("80000000-0000-0000-0000-000000000000"));
+        ids.add(UUID.fromString("7fffffff-ffff-ffff-ffff-ffffffffffff"));
+        ids.add(UUID.fromString("00000000-0000-0000-8000-000000000000"));
+
+        List<String> expected = new ArrayList<>(ids.stream().map(UUID::toString).toList());
+        Collections.sort(expected);
+
+        Assertions.assertEquals(expected, LockOrder.sorted(ids).stream().map(UUID::toString).toList());
+    }
+
+    @Test
+    public void givenMap_whenSortingByKey_thenExpectSameEntries() {
+        Map<UUID, Integer> map = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(UUID.randomUUID(), i);
+        }
+
+        Map<UUID, Integer> sorted = LockOrder.sortedByKey(map);
+        Assertions.assertEquals(map, sorted);
+        Assertions.assertEquals(LockOrder.sorted(map.keySet()), new ArrayList<>(sorted.keySet()));
+    }
+}
@@ -0,0 +1,27 @@
+package io.cockroachdb.ledger.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RetryBudgetTest {
+    @Test
+    public void whenRetriesExceedBudget_thenExpectThrottlingUntilSuccesses() {
+        RetryBudget budget = new RetryBudget(3, 0.5);
+
+        Assertions.assertTrue(budget.tryAcquire());
+        Assertions.assertTrue(budget.tryAcquire());
+        Assertions.assertTrue(budget.tryAcquire());
+        Assertions.assertFalse(budget.tryAcquire());
+
+        budget.onSuccess();
+        Assertions.assertFalse(budget.tryAcquire());
+        budget.onSuccess();
+        Assertions.assertTrue(budget.tryAcquire());
+
+        budget.release();
+        for (int i = 0; i < 100; i++) {
+            budget.onSuccess();
+        }
+        Assertions.assertEquals(3.0, budget.availableTokens(), 0.001);
+    }
+}
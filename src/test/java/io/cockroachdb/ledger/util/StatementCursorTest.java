@@ -0,0 +1,27 @@
+package io.cockroachdb.ledger.util;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StatementCursorTest {
+    @Test
+    public void givenCursor_whenEncoded_thenExpectSameCursorDecoded() {
+        StatementCursor cursor = new StatementCursor(Instant.parse("2026-03-01T12:30:45.123456Z"),
+                UUID.randomUUID(), 127);
+
+        String token = cursor.encode();
+
+        Assertions.assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+        Assertions.assertEquals(cursor, StatementCursor.decode(token));
+    }
+
+    @Test
+    public void givenMalformedToken_whenDecoded_thenExpectIllegalArgument() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> StatementCursor.decode("not a cursor"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> StatementCursor.decode(
+                new StatementCursor(Instant.EPOCH, UUID.randomUUID(), 0).encode().substring(4)));
+    }
+}
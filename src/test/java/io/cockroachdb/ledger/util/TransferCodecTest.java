@@ -0,0 +1,49 @@
+package io.cockroachdb.ledger.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static io.cockroachdb.ledger.util.Money.SEK;
+import static io.cockroachdb.ledger.util.Money.of;
+
+public class TransferCodecTest {
+    private static TransferCodec.Transfer grant(int legs) {
+        List<TransferCodec.Leg> items = new ArrayList<>();
+        for (int i = 0; i < legs; i++) {
+            items.add(new TransferCodec.Leg(UUID.randomUUID(), i, "stockholm",
+                    of(i % 2 == 0 ? "-12.50" : "12.50", SEK), of("5000.00", SEK),
+                    i == 0 ? null : "grant"));
+        }
+        return new TransferCodec.Transfer(UUID.randomUUID(), "stockholm", "Grant",
+                LocalDate.of(2026, 1, 31), LocalDate.of(2026, 2, 1), items);
+    }
+
+    @Test
+    public void whenEncodingAndDecoding_thenExpectEqualTransfer() {
+        TransferCodec.Transfer transfer = grant(128);
+
+        byte[] plain = TransferCodec.encode(transfer, false);
+        byte[] deflated = TransferCodec.encode(transfer, true);
+
+        Assertions.assertEquals(transfer, TransferCodec.decode(plain));
+        Assertions.assertEquals(transfer, TransferCodec.decode(deflated));
+        // Dominated by the account IDs
+        Assertions.assertTrue(plain.length < 128 * 32, "size: " + plain.length);
+    }
+
+    @Test
+    public void givenMalformedData_whenDecoding_thenFail() {
+        byte[] data = TransferCodec.encode(grant(2), false);
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> TransferCodec.decode(new byte[] {9, 0}));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> TransferCodec.decode(Arrays.copyOf(data, data.length - 3)));
+    }
+}
@@ -0,0 +1,63 @@
+package io.cockroachdb.ledger.util.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+    @Test
+    public void givenAnyValue_whenBucketing_thenLowerBoundWithinRelativeError() {
+        for (long v = 0; v < 10_000_000; v = v * 3 / 2 + 1) {
+            int index = LatencyHistogram.bucketIndex(v);
+            Assertions.assertTrue(index >= 0 && index < LatencyHistogram.BUCKET_COUNT);
+
+            long lower = LatencyHistogram.bucketLowerBound(index);
+            Assertions.assertTrue(lower <= v, "lower bound " + lower + " > " + v);
+            Assertions.assertTrue(v - lower <= Math.max(1, v / 32), "bucket too wide for " + v);
+        }
+        Assertions.assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void givenUniformSamples_whenTakingSnapshot_thenExpectPercentiles() {
+        AtomicLong clock = new AtomicLong(1_000_000);
+
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofSeconds(10), clock::get);
+
+        clock.addAndGet(5000);
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(Duration.ofMillis(i));
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(1000, snapshot.getCount());
+        Assertions.assertEquals(500.5, snapshot.getMeanMillis(), 0.01);
+        Assertions.assertEquals(200, snapshot.getOpsPerSec(), 0.01);
+        Assertions.assertEquals(500, snapshot.getValueAtPercentile(.5), 500 * 0.04);
+        Assertions.assertEquals(990, snapshot.getValueAtPercentile(.99), 990 * 0.04);
+        Assertions.assertEquals(999, snapshot.getValueAtPercentile(.999), 999 * 0.04);
+    }
+
+    @Test
+    public void givenOldSamples_whenWindowPasses_thenExpectExpired() {
+        AtomicLong clock = new AtomicLong(1_000_000);
+
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofSeconds(10), clock::get);
+        histogram.record(Duration.ofMillis(10));
+
+        clock.addAndGet(5000);
+        histogram.record(Duration.ofMillis(20));
+        Assertions.assertEquals(2, histogram.snapshot().getCount());
+
+        clock.addAndGet(6000);
+        Assertions.assertEquals(1, histogram.snapshot().getCount());
+        Assertions.assertEquals(20, histogram.snapshot().getValueAtPercentile(1), 20 * 0.04);
+
+        clock.addAndGet(10_000);
+        Assertions.assertEquals(0, histogram.snapshot().getCount());
+        Assertions.assertEquals(0, histogram.snapshot().getValueAtPercentile(.99));
+    }
+}
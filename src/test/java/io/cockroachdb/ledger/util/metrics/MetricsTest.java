@@ -0,0 +1,38 @@
+package io.cockroachdb.ledger.util.metrics;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MetricsTest {
+    @Test
+    public void givenQueueingDelay_whenMarkingCalls_thenExpectCorrectedResponseTime() {
+        Metrics metrics = Metrics.live();
+
+        for (int i = 0; i < 100; i++) {
+            metrics.markSuccess(Duration.ofMillis(10), Duration.ofMillis(90));
+        }
+        metrics.markFail(Duration.ofMillis(10), Duration.ofMillis(90), true);
+
+        Assertions.assertEquals(100, metrics.getSuccess());
+        Assertions.assertEquals(1, metrics.getTransientFail());
+
+        Assertions.assertEquals(100, metrics.getMeanTimeMillis(), 0.01);
+        Assertions.assertEquals(100, metrics.getP99(), 100 * 0.04);
+        Assertions.assertEquals(10, metrics.getServiceTimeMeanMillis(), 0.01);
+        Assertions.assertEquals(10, metrics.getServiceTimeP99(), 10 * 0.04);
+        Assertions.assertEquals(90, metrics.getQueueingDelayMeanMillis(), 0.01);
+        Assertions.assertEquals(90, metrics.getQueueingDelayP99(), 90 * 0.04);
+    }
+
+    @Test
+    public void givenNoQueueingDelay_whenMarkingCalls_thenExpectServiceTimeOnly() {
+        Metrics metrics = Metrics.live();
+        metrics.markSuccess(Duration.ofMillis(20));
+
+        Assertions.assertEquals(20, metrics.getP50(), 20 * 0.04);
+        Assertions.assertEquals(20, metrics.getServiceTimeP50(), 20 * 0.04);
+        Assertions.assertEquals(0, metrics.getQueueingDelayP99());
+    }
+}
@@ -0,0 +1,40 @@
+package io.cockroachdb.ledger.util.metrics;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StatementShapeRegistryTest {
+    @Test
+    public void givenRepeatedStatements_whenRecording_thenExpectDistinctShapes() {
+        StatementShapeRegistry registry = new StatementShapeRegistry(10);
+
+        for (int i = 0; i < 5; i++) {
+            registry.record("SELECT 1 FROM account WHERE id = ANY(?)");
+        }
+        registry.record("SELECT 1 FROM account WHERE id IN (?,?)");
+
+        Assertions.assertEquals(2, registry.getDistinctCount());
+
+        List<StatementShapeRegistry.Shape> top = registry.getTopShapes(1);
+        Assertions.assertEquals(1, top.size());
+        Assertions.assertEquals(5, top.get(0).executions());
+
+        registry.clear();
+        Assertions.assertEquals(0, registry.getDistinctCount());
+    }
+
+    @Test
+    public void givenTooManyShapes_whenRecording_thenExpectOverflow() {
+        StatementShapeRegistry registry = new StatementShapeRegistry(2);
+
+        registry.record("a");
+        registry.record("b");
+        registry.record("c");
+        registry.record("a");
+
+        Assertions.assertEquals(2, registry.getDistinctCount());
+        Assertions.assertEquals(1, registry.getOverflowCount());
+    }
+}